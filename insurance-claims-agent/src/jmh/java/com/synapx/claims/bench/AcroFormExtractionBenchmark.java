@@ -0,0 +1,71 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF to ClaimData for the same born-digital ACORD form, read from its AcroForm fields
+ * ({@code acroForm}) or stripped to text and matched with the field patterns ({@code text}).
+ * {@code flattened} is the same form printed to PDF, which has to take the text path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AcroFormExtractionBenchmark {
+
+    @Param({"1", "5"})
+    private int pages;
+
+    private PdfExtractor formExtractor;
+    private PdfExtractor textExtractor;
+    private FieldExtractor fieldExtractor;
+    private PdfSource fillable;
+    private PdfSource flattened;
+
+    @Setup
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        formExtractor = new PdfExtractor(properties, new SimpleMeterRegistry());
+        fieldExtractor = new FieldExtractor(new FieldPatternRegistry(), new KeywordLexicon(properties), properties);
+
+        ClaimsProperties textOnly = new ClaimsProperties();
+        textOnly.getPdf().getAcroForm().setEnabled(false);
+        textExtractor = new PdfExtractor(textOnly, new SimpleMeterRegistry());
+
+        fillable = PdfSource.of(SyntheticFnolDocuments.fillablePdf(pages, 42, false), "acord2-" + pages + ".pdf");
+        flattened = PdfSource.of(SyntheticFnolDocuments.fillablePdf(pages, 42, true), "flat-" + pages + ".pdf");
+    }
+
+    @Benchmark
+    public ClaimData acroForm() throws IOException {
+        return fieldExtractor.extractFormFields(formExtractor.extract(fillable).formFields());
+    }
+
+    @Benchmark
+    public ClaimData text() throws IOException {
+        return fieldExtractor.extractFields(textExtractor.extractText(fillable));
+    }
+
+    @Benchmark
+    public ClaimData flattened() throws IOException {
+        return fieldExtractor.extractFields(formExtractor.extract(flattened).text());
+    }
+}
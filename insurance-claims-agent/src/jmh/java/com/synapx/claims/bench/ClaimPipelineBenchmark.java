@@ -0,0 +1,123 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.service.ClaimExportService;
+import com.synapx.claims.service.ClaimPipelineMetrics;
+import com.synapx.claims.service.ClaimProcessingService;
+import com.synapx.claims.service.ClaimResultCache;
+import com.synapx.claims.service.ClaimRoutingService;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.ClaimStore;
+import com.synapx.claims.store.ExtractedTextCache;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import com.synapx.claims.validator.ClaimIndicators;
+import com.synapx.claims.validator.ClaimValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every stage of ClaimProcessingService in isolation, plus the whole pipeline, over the
+ * synthetic ACORD FNOL corpus (1-page form, 5- and 50-page packets with photo appendices).
+ * Each stage is fed the real output of the stage before it, so the per-stage numbers add
+ * up to roughly the end-to-end one. The result cache is off; every call does the full work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimPipelineBenchmark {
+
+    @Param({"1", "5", "50"})
+    private int pages;
+
+    private PdfExtractor pdfExtractor;
+    private FieldExtractor fieldExtractor;
+    private ClaimValidator claimValidator;
+    private ClaimRoutingService routingService;
+    private ClaimProcessingService processingService;
+
+    private PdfSource source;
+    private String text;
+    private ClaimData claimData;
+    private List<String> missingFields;
+    private ClaimIndicators indicators;
+
+    @Setup
+    public void setUp() throws IOException {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getCache().setEnabled(false);
+
+        FieldPatternRegistry registry = new FieldPatternRegistry();
+        KeywordLexicon lexicon = new KeywordLexicon(properties);
+        pdfExtractor = new PdfExtractor(properties, new SimpleMeterRegistry());
+        fieldExtractor = new FieldExtractor(registry, lexicon, properties);
+        ClaimStore claimStore = new ClaimStore(properties);
+        ClaimSimilarityIndex similarityIndex = new ClaimSimilarityIndex(properties, claimStore);
+        claimValidator = new ClaimValidator(lexicon, similarityIndex);
+        routingService = new ClaimRoutingService(properties);
+        processingService = new ClaimProcessingService(pdfExtractor, fieldExtractor, claimValidator,
+                routingService, new ClaimResultCache(properties, registry, lexicon, routingService),
+                new ClaimExportService(properties, new SimpleMeterRegistry()), claimStore, similarityIndex,
+                new ExtractedTextCache(properties),
+                new ClaimPipelineMetrics(new SimpleMeterRegistry()));
+
+        source = PdfSource.of(SyntheticFnolDocuments.pdf(pages, 42, true), "fnol-" + pages + ".pdf");
+        text = pdfExtractor.extractText(source);
+        claimData = fieldExtractor.extractFields(text);
+        missingFields = claimValidator.validateAndFindMissingFields(claimData);
+        indicators = claimValidator.scanIndicators(claimData);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfExtractor.shutdown();
+    }
+
+    @Benchmark
+    public String stage1ExtractText() throws IOException {
+        return pdfExtractor.extractText(source);
+    }
+
+    @Benchmark
+    public ClaimData stage2ExtractFields() {
+        return fieldExtractor.extractFields(text);
+    }
+
+    @Benchmark
+    public long stage3Validate() {
+        return claimValidator.findMissingFields(claimData);
+    }
+
+    @Benchmark
+    public ClaimIndicators stage4Indicators() {
+        return claimValidator.scanIndicators(claimData);
+    }
+
+    @Benchmark
+    public ClaimRoutingService.RoutingDecision stage5Route() {
+        return routingService.determineRouting(claimData, missingFields, indicators);
+    }
+
+    @Benchmark
+    public ClaimProcessingResponse processClaim() throws Exception {
+        return processingService.processClaim(source);
+    }
+}
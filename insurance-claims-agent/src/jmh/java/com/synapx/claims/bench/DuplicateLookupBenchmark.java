@@ -0,0 +1,96 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.ClaimStore;
+import com.synapx.claims.store.DuplicateMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate lookups against an index of {@code claims} synthetic claims. Each claim has its
+ * own policy and VIN, a date of loss in 2024, and a 25-word description drawn from a small
+ * vocabulary, so unrelated descriptions still share many 5-grams. {@code nearDuplicate}
+ * looks up an indexed claim refiled under another policy with one word changed;
+ * {@code unrelated} looks up a claim that matches nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DuplicateLookupBenchmark {
+
+    private static final String[] WORDS = {
+        "insured", "vehicle", "was", "struck", "from", "behind", "while", "stopped", "at", "a", "red",
+        "light", "on", "main", "street", "other", "driver", "fled", "scene", "rear", "bumper", "damaged",
+        "parked", "lot", "hail", "storm", "windshield", "cracked", "deer", "crossed", "highway", "swerved",
+        "into", "guardrail", "intersection", "turning", "left", "sideswiped", "mirror", "door", "dented"
+    };
+
+    @Param({"100000", "1000000"})
+    private int claims;
+
+    private ClaimSimilarityIndex index;
+    private ClaimData nearDuplicate;
+    private ClaimData unrelated;
+
+    @Setup
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getDuplicates().setEnabled(true);
+        index = new ClaimSimilarityIndex(properties, new ClaimStore(properties));
+        Random random = new Random(42);
+        String[] refiled = null;
+        for (int i = 0; i < claims; i++) {
+            String[] words = description(random);
+            index.add(claim("AUTO-" + i, "VIN" + i, date(random), String.join(" ", words)), i);
+            if (i == claims / 2) {
+                refiled = words;
+            }
+        }
+        refiled[17] = "minor";
+        nearDuplicate = claim("AUTO-X", "VIN-X", "12/31/2024", String.join(" ", refiled));
+        unrelated = claim("AUTO-Y", "VIN-Y", "12/31/2024",
+                "Kitchen pipe burst overnight flooding the basement and ruining the furnace and water heater");
+    }
+
+    @Benchmark
+    public List<DuplicateMatch> nearDuplicate() {
+        return index.findDuplicates(nearDuplicate);
+    }
+
+    @Benchmark
+    public List<DuplicateMatch> unrelated() {
+        return index.findDuplicates(unrelated);
+    }
+
+    private static String[] description(Random random) {
+        String[] words = new String[25];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = WORDS[random.nextInt(WORDS.length)];
+        }
+        return words;
+    }
+
+    private static String date(Random random) {
+        return (1 + random.nextInt(12)) + "/" + (1 + random.nextInt(28)) + "/2024";
+    }
+
+    private static ClaimData claim(String policyNumber, String vin, String date, String description) {
+        return ClaimData.builder()
+                .policyInformation(ClaimData.PolicyInformation.builder().policyNumber(policyNumber).build())
+                .incidentInformation(ClaimData.IncidentInformation.builder().date(date).description(description).build())
+                .assetDetails(ClaimData.AssetDetails.builder().assetId(vin).build())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex-per-field extraction versus the single-pass anchor scanner on multi-page FNOL text,
+ * with and without the text normalisation pass in front of them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FieldExtractorBenchmark {
+
+    @Param({"1", "5", "50"})
+    private int pages;
+
+    @Param({"REGEX", "ANCHOR"})
+    private ClaimsProperties.Extraction.Engine engine;
+
+    @Param({"true", "false"})
+    private boolean normalizeText;
+
+    private FieldExtractor extractor;
+    private String text;
+    private String textMissingLabel;
+
+    @Setup
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getExtraction().setEngine(engine);
+        properties.getExtraction().setNormalizeText(normalizeText);
+        extractor = new FieldExtractor(new FieldPatternRegistry(), new KeywordLexicon(properties), properties);
+        text = SyntheticFnolDocuments.text(pages, 42);
+        textMissingLabel = text.replace("V.I.N.", "SERIAL");
+    }
+
+    @Benchmark
+    public ClaimData extractFields() {
+        return extractor.extractFields(text);
+    }
+
+    /**
+     * Form page without a V.I.N. label, so the regex engine scans every appendix page for it
+     */
+    @Benchmark
+    public ClaimData extractFieldsWithMissingLabel() {
+        return extractor.extractFields(textMissingLabel);
+    }
+}
@@ -0,0 +1,61 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text extraction latency by page strategy:
+ * every page on one thread, only the ACORD form pages, or every page split across workers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfExtractorBenchmark {
+
+    @Param({"1", "5", "50"})
+    private int pages;
+
+    @Param({"ALL_PAGES", "FORM_PAGES", "PARALLEL_ALL_PAGES"})
+    private String strategy;
+
+    private PdfExtractor extractor;
+    private PdfSource source;
+
+    @Setup
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        if (!strategy.equals("FORM_PAGES")) {
+            properties.getPdf().setFormPageLimit(0);
+        }
+        if (strategy.equals("PARALLEL_ALL_PAGES")) {
+            properties.getPdf().getPageParallel().setEnabled(true);
+        }
+        extractor = new PdfExtractor(properties, new SimpleMeterRegistry());
+        source = PdfSource.of(SyntheticFnolDocuments.pdf(pages, 42, true), "fnol-" + pages + ".pdf");
+    }
+
+    @TearDown
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return extractor.extractText(source);
+    }
+}
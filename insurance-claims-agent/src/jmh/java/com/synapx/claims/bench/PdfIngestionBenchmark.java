@@ -0,0 +1,68 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap cost of getting an upload into PDFBox. Run with {@code -prof gc} and compare
+ * gc.alloc.rate.norm (bytes allocated per document) between ingestion modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfIngestionBenchmark {
+
+    @Param({"5", "50"})
+    private int pages;
+
+    @Param({"BUFFERED", "STREAMING", "STREAMING_MAPPED"})
+    private String ingestion;
+
+    private Path fixture;
+    private Path spoolDir;
+    private DiskBackedMultipartFile upload;
+    private PdfExtractor extractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = Files.createTempFile("fnol-" + pages + "-", ".pdf");
+        Files.write(fixture, SyntheticFnolDocuments.pdf(pages, 42, true));
+        spoolDir = Files.createTempDirectory("fnol-spool");
+        upload = new DiskBackedMultipartFile(fixture);
+
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getPdf().setSpoolDir(spoolDir);
+        properties.getPdf().setIngestion(ingestion.equals("BUFFERED")
+                ? ClaimsProperties.Pdf.Ingestion.BUFFERED
+                : ClaimsProperties.Pdf.Ingestion.STREAMING);
+        properties.getPdf().setMemoryMapped(ingestion.equals("STREAMING_MAPPED"));
+        extractor = new PdfExtractor(properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(fixture);
+        Files.deleteIfExists(spoolDir);
+    }
+
+    @Benchmark
+    public String extractUpload() throws IOException {
+        return extractor.extractTextFromPdf(upload);
+    }
+}
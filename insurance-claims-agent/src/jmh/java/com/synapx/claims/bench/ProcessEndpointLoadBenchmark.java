@@ -0,0 +1,120 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.InsuranceClaimsAgentApplication;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of POST /api/v1/claims/process with more concurrent clients than Tomcat has
+ * platform worker threads. Throughput mode gives requests/s across all clients and
+ * SampleTime gives the latency percentiles (p0.99) for each threading mode. Every client
+ * posts the same document, so the result cache is off to keep each request a full
+ * extraction, and admission control is off so the servlet threads, not the admission
+ * limit, are what queue the clients; any 429 is still counted under "rejected". The parse
+ * timeout is off as well: on a small machine 256 clients stretch a parse past it, and a
+ * 422 would then measure the CPU rather than the threading mode.
+ * VIRTUAL needs a Java 21 runtime: {@code mvn -Pbenchmark,java21 ...}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class ProcessEndpointLoadBenchmark {
+
+    private static final String BOUNDARY = "fnol-load-boundary";
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threading;
+
+    @Param({"5"})
+    private int pages;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Command-line arguments, since builder defaults would lose to application.properties
+        context = new SpringApplicationBuilder(InsuranceClaimsAgentApplication.class)
+                .run(
+                    "--server.port=0",
+                    "--logging.level.com.synapx.claims=WARN",
+                    "--claims.cache.enabled=false",
+                    "--claims.admission.enabled=false",
+                    "--claims.pdf.limits.parse-timeout=0s",
+                    "--spring.threads.virtual.enabled=" + threading.equals("VIRTUAL"));
+        int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/claims/process"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        multipartBody(SyntheticFnolDocuments.pdf(pages, 42, true))))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int processClaim(Responses responses) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        switch (response.statusCode()) {
+            case 200 -> responses.ok++;
+            case 429 -> responses.rejected++;
+            default -> throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Per-client response counts, reported next to the throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+        }
+    }
+
+    private static byte[] multipartBody(byte[] pdf) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length + 256);
+        body.write(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"fnol.pdf\"\r\n" +
+                "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(pdf);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+}
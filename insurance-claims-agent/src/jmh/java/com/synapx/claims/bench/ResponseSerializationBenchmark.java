@@ -0,0 +1,117 @@
+package com.synapx.claims.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.config.JacksonConfig;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.service.ClaimResponseWriter;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import com.synapx.claims.validator.MandatoryField;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one /process response. {@code MAP_PRETTY} is the previous path: ClaimData
+ * converted to a Map tree, then written indented. {@code COMPACT} writes the response
+ * through ClaimResponseWriter, and {@code COMPACT_BLACKBIRD} does the same with Blackbird
+ * registered. Output goes to a counting sink, so the time is serialization only. The
+ * {@code responseBytes} counter reports the size of one response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    public enum Encoding {
+        MAP_PRETTY,
+        COMPACT,
+        COMPACT_BLACKBIRD
+    }
+
+    @Param({"MAP_PRETTY", "COMPACT", "COMPACT_BLACKBIRD"})
+    private Encoding encoding;
+
+    private ObjectMapper mapper;
+    private ObjectWriter prettyWriter;
+    private ClaimResponseWriter responseWriter;
+    private ClaimProcessingResponse response;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Output {
+        public long responseBytes;
+        final CountingOutputStream sink = new CountingOutputStream();
+    }
+
+    @Setup
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getResponse().setBlackbird(encoding == Encoding.COMPACT_BLACKBIRD);
+        mapper = new JacksonConfig().objectMapper(properties);
+        prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+        responseWriter = new ClaimResponseWriter(mapper, properties);
+
+        FieldPatternRegistry registry = new FieldPatternRegistry();
+        ClaimData claimData = new FieldExtractor(registry, new KeywordLexicon(properties), properties)
+                .extractFields(SyntheticFnolDocuments.text(1, 42));
+        long missing = MandatoryField.findMissing(claimData);
+        response = ClaimProcessingResponse.builder()
+                .extractedFields(claimData)
+                .missingFields(MandatoryField.names(missing))
+                .recommendedRoute("FAST_TRACK")
+                .reasoning("Estimated damage ($12500.00) is below fast-track threshold ($25000.00)")
+                .metadata(ClaimProcessingResponse.ProcessingMetadata.builder()
+                        .processingTimestamp("2024-01-15T14:30:00")
+                        .documentType("ACORD FNOL")
+                        .confidenceScore(MandatoryField.confidenceScore(missing))
+                        .warnings(List.of())
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public long serialize(Output output) throws IOException {
+        CountingOutputStream sink = output.sink;
+        sink.count = 0;
+        if (encoding == Encoding.MAP_PRETTY) {
+            Map<?, ?> tree = mapper.convertValue(response, Map.class);
+            prettyWriter.writeValue(sink, tree);
+        } else {
+            responseWriter.write(response, false, sink);
+        }
+        output.responseBytes = sink.count;
+        return sink.count;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.synapx.claims.bench;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.service.ClaimRoutingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing decisions per second over a mix of synthetic claims that exercises every rule
+ * in the default table: missing fields, fraud, injury, fast-track, large and absent estimates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoutingRulesBenchmark {
+
+    private static final int CLAIMS = 4096;
+    private static final String[] STATES = {"IL", "CA", "TX", "FL", "NY"};
+    private static final List<String> MISSING = List.of("Policy Number", "Estimated Damage");
+
+    private ClaimRoutingService routing;
+    private ClaimData[] claims;
+    private List<String>[] missingFields;
+    private boolean[] fraud;
+    private boolean[] injury;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getRouting().setReloadInterval(Duration.ZERO);
+        routing = new ClaimRoutingService(properties);
+
+        Random random = new Random(42);
+        claims = new ClaimData[CLAIMS];
+        missingFields = new List[CLAIMS];
+        fraud = new boolean[CLAIMS];
+        injury = new boolean[CLAIMS];
+        for (int i = 0; i < CLAIMS; i++) {
+            int kind = random.nextInt(10);
+            String estimate = kind == 9 ? null : String.format("$%,d.%02d", random.nextInt(60_000), random.nextInt(100));
+            claims[i] = ClaimData.builder()
+                    .incidentInformation(ClaimData.IncidentInformation.builder()
+                            .location(ClaimData.IncidentInformation.Location.builder()
+                                    .state(STATES[random.nextInt(STATES.length)])
+                                    .build())
+                            .build())
+                    .assetDetails(ClaimData.AssetDetails.builder().estimatedDamage(estimate).build())
+                    .otherMandatoryFields(ClaimData.OtherMandatoryFields.builder().claimType("AUTOMOBILE").build())
+                    .build();
+            missingFields[i] = kind == 0 ? MISSING : List.of();
+            fraud[i] = kind == 1;
+            injury[i] = kind == 2;
+        }
+    }
+
+    @Benchmark
+    public ClaimRoutingService.RoutingDecision determineRouting() {
+        int i = next++ & (CLAIMS - 1);
+        return routing.determineRouting(claims[i], missingFields[i], fraud[i], injury[i]);
+    }
+}
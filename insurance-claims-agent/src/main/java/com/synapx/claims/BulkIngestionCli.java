@@ -0,0 +1,97 @@
+package com.synapx.claims;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.service.BulkIngestion;
+import com.synapx.claims.service.ClaimProcessingService;
+import com.synapx.claims.service.ClaimResponseWriter;
+import org.springframework.boot.Banner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs a directory of FNOL PDFs through the claim pipeline without starting the web
+ * server, for migrating a historical backlog (see {@link BulkIngestion}). Any
+ * {@code --claims.*} option overrides the application configuration as usual.
+ * <pre>
+ * java -cp insurance-claims-agent-1.0.0.jar -Dloader.main=com.synapx.claims.BulkIngestionCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher /data/fnol --out=claims.ndjson \
+ *      [--columnar=bulk-exports/] [--workers=16] [--checkpoint=claims.ndjson.done] [--watch]
+ * </pre>
+ */
+public final class BulkIngestionCli {
+
+    private BulkIngestionCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DefaultApplicationArguments arguments = new DefaultApplicationArguments(args);
+        List<String> inputs = arguments.getNonOptionArgs();
+        if (inputs.size() != 1) {
+            usage();
+        }
+        Path input = Path.of(inputs.get(0));
+        if (!Files.isDirectory(input)) {
+            System.err.println("No such directory: " + input);
+            System.exit(2);
+        }
+        Path output = Path.of(option(arguments, "out", "claims.ndjson"));
+        String columnar = option(arguments, "columnar", null);
+        BulkIngestion.Options options;
+        try {
+            options = new BulkIngestion.Options(
+                    input,
+                    output,
+                    columnar != null ? Path.of(columnar) : null,
+                    Path.of(option(arguments, "checkpoint", output + ".done")),
+                    Integer.parseInt(option(arguments, "workers",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    arguments.containsOption("watch"),
+                    Duration.ofSeconds(Long.parseLong(option(arguments, "report-interval", "5"))));
+        } catch (NumberFormatException e) {
+            usage();
+            return;
+        }
+
+        // The context is closed below, once the outputs are flushed, rather than by Spring's own hook
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InsuranceClaimsAgentApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .registerShutdownHook(false)
+                .run(args);
+        BulkIngestion.Summary summary;
+        try {
+            BulkIngestion ingestion = new BulkIngestion(
+                    context.getBean(ClaimProcessingService.class),
+                    context.getBean(ClaimResponseWriter.class),
+                    context.getBean(ClaimsProperties.class),
+                    options,
+                    System.err);
+            // Ctrl+C stops taking documents and lets those in flight be written and checkpointed
+            Runtime.getRuntime().addShutdownHook(new Thread(ingestion::stop, "bulk-ingestion-shutdown"));
+            summary = ingestion.run();
+        } finally {
+            context.close();
+        }
+        System.err.printf("%,d processed, %,d failed, %,d skipped in %ds; results in %s%n",
+                summary.processed(), summary.failed(), summary.skipped(), summary.elapsed().toSeconds(), output);
+        System.exit(0);
+    }
+
+    private static String option(DefaultApplicationArguments arguments, String name, String fallback) {
+        List<String> values = arguments.getOptionValues(name);
+        return values != null && !values.isEmpty() ? values.get(0) : fallback;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BulkIngestionCli <input-directory> [--out=<file.ndjson>] [--columnar=<directory>]");
+        System.err.println("       [--workers=<n>] [--checkpoint=<file>] [--watch] [--report-interval=<seconds>]");
+        System.exit(2);
+    }
+}
@@ -2,8 +2,10 @@ package com.synapx.claims;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class InsuranceClaimsAgentApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,250 @@
+package com.synapx.claims.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tunables for the claim processing pipeline, bound from the {@code claims.*} properties
+ */
+@Data
+@ConfigurationProperties(prefix = "claims")
+public class ClaimsProperties {
+
+    private Extraction extraction = new Extraction();
+    private Lexicon lexicon = new Lexicon();
+    private Pdf pdf = new Pdf();
+    private Batch batch = new Batch();
+    private Routing routing = new Routing();
+    private Cache cache = new Cache();
+    private Jobs jobs = new Jobs();
+    private Admission admission = new Admission();
+    private Response response = new Response();
+    private Export export = new Export();
+    private Store store = new Store();
+    private Duplicates duplicates = new Duplicates();
+    private TextCache textCache = new TextCache();
+    private Queue queue = new Queue();
+
+    @Data
+    public static class Extraction {
+        /** Engine used behind FieldExtractor.extractFields */
+        private Engine engine = Engine.REGEX;
+        /** Collapse whitespace runs and fold case into pooled buffers before fields are extracted */
+        private boolean normalizeText = true;
+        /** Normalisation buffers kept for reuse; more concurrent extractions allocate their own */
+        private int textBufferPoolSize = Runtime.getRuntime().availableProcessors();
+
+        public enum Engine {
+            /** One regex pass over the whole text per field */
+            REGEX,
+            /** Single left-to-right scan for label anchors, values read from each anchor onwards */
+            ANCHOR
+        }
+    }
+
+    @Data
+    public static class Lexicon {
+        /** JSON file of keywords per KeywordCategory (fraud, injury and claim-type terms) */
+        private String location = "classpath:keyword-lexicon.json";
+    }
+
+    @Data
+    public static class Pdf {
+        /** How uploads reach PDFBox */
+        private Ingestion ingestion = Ingestion.STREAMING;
+        /** Read spooled uploads through a memory-mapped buffer instead of a buffered file reader */
+        private boolean memoryMapped = false;
+        /** Directory uploads are moved to before parsing */
+        private Path spoolDir = Path.of(System.getProperty("java.io.tmpdir"), "claims-spool");
+        /** Largest single document accepted, whether uploaded alone or inside a batch */
+        private DataSize maxFileSize = DataSize.ofMegabytes(10);
+        /** Heap budget for PDFBox scratch buffers before they spill to temp files */
+        private DataSize scratchMainMemory = DataSize.ofMegabytes(4);
+        /** Pages of the ACORD form that are parsed; appendices beyond it are skipped (0 = all pages) */
+        private int formPageLimit = 4;
+        /** Documents parsed at once across all request and batch threads (0 = unlimited) */
+        private int maxConcurrentParses = Runtime.getRuntime().availableProcessors();
+        private PageParallel pageParallel = new PageParallel();
+        private AcroForm acroForm = new AcroForm();
+        private Limits limits = new Limits();
+
+        public enum Ingestion {
+            /** MultipartFile.getBytes() and an in-memory parse */
+            BUFFERED,
+            /** Spool the upload to disk and parse through a RandomAccessRead */
+            STREAMING
+        }
+
+        @Data
+        public static class PageParallel {
+            /** Split large documents into page ranges stripped on a worker pool */
+            private boolean enabled = false;
+            /** Documents with fewer pages to parse are stripped on the request thread */
+            private int minPages = 8;
+            /** Pages handed to one worker */
+            private int pagesPerTask = 4;
+            /** Worker threads shared by all requests */
+            private int threads = Runtime.getRuntime().availableProcessors();
+            /** Page ranges waiting for a worker before the request thread strips them itself */
+            private int queueCapacity = 64;
+        }
+
+        @Data
+        public static class AcroForm {
+            /** Read fillable ACORD forms from their AcroForm fields instead of stripping their text */
+            private boolean enabled = true;
+            /** Recognised fields that must be filled in; emptier forms go through text extraction */
+            private int minFields = 5;
+        }
+
+        @Data
+        public static class Limits {
+            /** Wall-clock budget for loading and stripping one document (0 = none) */
+            private Duration parseTimeout = Duration.ofSeconds(10);
+            /** Documents with more pages are refused before any page is read (0 = unlimited) */
+            private int maxPages = 2000;
+            /** Documents with more cross-reference entries are refused before any page is read (0 = unlimited) */
+            private int maxObjects = 500_000;
+            /** Content stream operators processed per document before it is abandoned (0 = unlimited) */
+            private long maxContentOperators = 5_000_000;
+            /** Build PDFBox's system font index at startup instead of on the first parse that needs it */
+            private boolean warmFontCache = true;
+        }
+    }
+
+    @Data
+    public static class Batch {
+        /** Worker threads shared by all batch requests */
+        private int workers = Runtime.getRuntime().availableProcessors();
+        /** Claims in flight across all batches; a spooled document, and the rest of its upload, waits for a free slot */
+        private int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        /** Whole multipart body of a batch upload, which the servlet multipart limits do not cover */
+        private DataSize maxRequestSize = DataSize.ofGigabytes(1);
+    }
+
+    @Data
+    public static class Routing {
+        /** Routing rules file (Spring resource location); the first matching rule decides the route */
+        private String rulesLocation = "classpath:routing-rules.json";
+        /** How often the rules file is checked for changes (0 = never) */
+        private Duration reloadInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Cache {
+        /** Reuse the response for a byte-identical resubmission of an FNOL document */
+        private boolean enabled = true;
+        /** Responses kept; the least recently used entry is evicted beyond this */
+        private int maxEntries = 1000;
+        /** How long a response may be served from the cache after it was computed */
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Jobs {
+        /** Worker threads processing asynchronously submitted claims */
+        private int workers = Runtime.getRuntime().availableProcessors();
+        /** Jobs waiting for a worker; submissions beyond this are rejected with 503 */
+        private int queueCapacity = 100;
+        /** How long a finished job's result can still be fetched */
+        private Duration retention = Duration.ofMinutes(15);
+        /** Longest a status request may long-poll for the job to finish */
+        private Duration maxWait = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Admission {
+        /** Shed /process requests with 429 once the adaptive concurrency limit or byte budget is reached */
+        private boolean enabled = true;
+        /** Concurrency limit before any latency has been observed */
+        private int initialLimit = 2 * Runtime.getRuntime().availableProcessors();
+        private int minLimit = 1;
+        private int maxLimit = 4 * Runtime.getRuntime().availableProcessors();
+        /** A claim slower than this lowers the limit; faster claims let it grow */
+        private Duration targetLatency = Duration.ofSeconds(5);
+        /** Factor applied to the limit after a slow claim */
+        private double backoffRatio = 0.9;
+        /** Upload bytes of the claims in progress; further claims are shed until some finish */
+        private DataSize maxInFlightBytes = DataSize.ofMegabytes(256);
+        /** Retry-After sent with a 429 */
+        private Duration retryAfter = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Response {
+        /** Indent /process responses by default; a request can still choose with ?pretty= */
+        private boolean pretty = false;
+        /** Register Jackson Blackbird, which serializes through generated lambdas instead of reflection */
+        private boolean blackbird = false;
+    }
+
+    @Data
+    public static class Export {
+        /** Append every processed claim to columnar export files for analytics */
+        private boolean enabled = false;
+        /** Directory the rolling export files are written to */
+        private Path directory = Path.of("exports");
+        /** Claims per row group; a row group is written once this many are queued */
+        private int batchSize = 1000;
+        /** Longest a queued claim waits before a smaller row group is written */
+        private Duration flushInterval = Duration.ofSeconds(5);
+        /** Claims waiting to be written; claims beyond this are dropped and counted, never blocking a request */
+        private int queueCapacity = 10_000;
+        /** Start a new file once the current one reaches this size */
+        private DataSize maxFileSize = DataSize.ofMegabytes(64);
+        /** Start a new file once the current one has been open this long */
+        private Duration rollInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Store {
+        /** Persist every processed claim to the local append-only claim store */
+        private boolean enabled = false;
+        /** Directory holding the store's log */
+        private Path directory = Path.of("claim-store");
+        /** Force each appended claim to disk before the request completes */
+        private boolean fsync = false;
+    }
+
+    @Data
+    public static class Duplicates {
+        /** Flag claims that repeat an earlier claim's policy or VIN and date of loss, or its description */
+        private boolean enabled = false;
+        /** Estimated Jaccard similarity of the descriptions at which a claim counts as a near-duplicate */
+        private double similarityThreshold = 0.8;
+        /** Descriptions shorter than this (letters, digits and single spaces) are not compared */
+        private int minDescriptionChars = 40;
+        /** Earlier claims reported per duplicate */
+        private int maxMatches = 5;
+    }
+
+    @Data
+    public static class TextCache {
+        /** Keep each document's extracted text on disk so rule changes can be replayed without PDFBox */
+        private boolean enabled = false;
+        /** Directory holding the compressed text, one file per document hash */
+        private Path directory = Path.of("text-cache");
+        /** Threads replaying cached text during a re-extraction */
+        private int reextractionWorkers = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Queue {
+        /** Consume FNOL documents from the claim queue and publish their routing decisions */
+        private boolean enabled = false;
+        /** Root of the built-in directory queue: partition-n inboxes and the decisions logs */
+        private Path directory = Path.of("claim-queue");
+        /** Partitions of the built-in directory queue */
+        private int partitions = 4;
+        /** Consumer threads; each owns a share of the partitions, so more than the partitions are idle */
+        private int workers = Runtime.getRuntime().availableProcessors();
+        /** Documents processed before their decisions are published and their offsets committed */
+        private int batchSize = 16;
+        /** Wait before polling again once every partition of a worker came back empty */
+        private Duration pollInterval = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.synapx.claims.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.queue.ClaimDecisionQueue;
+import com.synapx.claims.queue.ClaimQueue;
+import com.synapx.claims.queue.DirectoryClaimQueue;
+import com.synapx.claims.queue.DirectoryDecisionQueue;
+import com.synapx.claims.service.ClaimProcessingService;
+import com.synapx.claims.service.ClaimQueueConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Queue consumer mode, on with {@code claims.queue.enabled}. The directory queues are the
+ * defaults; a ClaimQueue or ClaimDecisionQueue bean of another kind replaces them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "claims.queue", name = "enabled", havingValue = "true")
+public class QueueConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ClaimQueue.class)
+    public DirectoryClaimQueue directoryClaimQueue(ClaimsProperties properties) throws IOException {
+        return new DirectoryClaimQueue(properties.getQueue().getDirectory(),
+                properties.getQueue().getPartitions(), properties.getPdf().isMemoryMapped());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClaimDecisionQueue.class)
+    public DirectoryDecisionQueue directoryDecisionQueue(ClaimsProperties properties,
+                                                         ObjectMapper objectMapper) throws IOException {
+        return new DirectoryDecisionQueue(properties.getQueue().getDirectory(), objectMapper);
+    }
+
+    @Bean
+    public ClaimQueueConsumer claimQueueConsumer(ClaimQueue claimQueue,
+                                                 ClaimDecisionQueue claimDecisionQueue,
+                                                 ClaimProcessingService claimProcessingService,
+                                                 ClaimsProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new ClaimQueueConsumer(claimQueue, claimDecisionQueue, claimProcessingService,
+                properties, meterRegistry);
+    }
+}
@@ -1,19 +1,53 @@
 package com.synapx.claims.controller;
 
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.dto.ClaimJobStatus;
 import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.dto.ReextractionReport;
+import com.synapx.claims.dto.StoredClaim;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.PdfLimitExceededException;
+import com.synapx.claims.service.BatchClaimProcessingService;
+import com.synapx.claims.service.ClaimAdmissionControl;
+import com.synapx.claims.service.ClaimJobService;
 import com.synapx.claims.service.ClaimProcessingService;
+import com.synapx.claims.service.ClaimResponseWriter;
+import com.synapx.claims.service.ClaimResultCache;
+import com.synapx.claims.service.ClaimRoutingService;
+import com.synapx.claims.service.ReextractionService;
+import com.synapx.claims.service.RoutingRule;
+import com.synapx.claims.store.ClaimStore;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 @Slf4j
 @RestController
@@ -22,7 +56,20 @@ import org.springframework.web.multipart.MultipartFile;
 @Tag(name = "Claims Processing", description = "Endpoints for processing insurance claim documents")
 public class ClaimProcessingController {
 
+    static final String CACHE_HEADER = "X-Claim-Cache";
+    private static final int JOB_RETRY_AFTER_SECONDS = 5;
+
     private final ClaimProcessingService claimProcessingService;
+    private final ClaimAdmissionControl claimAdmissionControl;
+    private final BatchClaimProcessingService batchClaimProcessingService;
+    private final ClaimJobService claimJobService;
+    private final FieldPatternRegistry fieldPatternRegistry;
+    private final ClaimResultCache claimResultCache;
+    private final ClaimRoutingService claimRoutingService;
+    private final ClaimStore claimStore;
+    private final ReextractionService reextractionService;
+    private final ClaimsProperties claimsProperties;
+    private final ClaimResponseWriter claimResponseWriter;
 
     @PostMapping(value = "/process", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
@@ -36,30 +83,51 @@ public class ClaimProcessingController {
                 content = @Content(schema = @Schema(implementation = ClaimProcessingResponse.class))
             ),
             @ApiResponse(responseCode = "400", description = "Invalid file or bad request"),
+            @ApiResponse(responseCode = "413", description = "File exceeds the maximum document size"),
+            @ApiResponse(responseCode = "422", description = "Document exceeds a PDF parse limit (time, pages, objects or content size)"),
+            @ApiResponse(responseCode = "429", description = "Too many claims in progress; retry after the Retry-After delay"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
         }
     )
-    public ResponseEntity<?> processClaim(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> processClaim(@RequestParam("file") MultipartFile file,
+                                          @Parameter(description = "Indent the JSON (default: claims.response.pretty)")
+                                          @RequestParam(value = "pretty", required = false) Boolean pretty) {
         log.info("Received claim processing request for file: {}", file.getOriginalFilename());
         
         try {
             // Validate file
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("File is empty"));
+            ResponseEntity<ErrorResponse> invalid = validateUpload(file);
+            if (invalid != null) {
+                return invalid;
             }
             
-            if (!isPdfFile(file)) {
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("Only PDF files are supported"));
+            // Shed the claim rather than overload the parsers
+            ClaimAdmissionControl.Permit permit = claimAdmissionControl.tryAcquire(file.getSize());
+            if (permit == null) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, claimAdmissionControl.getRetryAfter().toSeconds())))
+                    .body(new ErrorResponse("Too many claims in progress; retry later"));
             }
             
             // Process claim
-            ClaimProcessingResponse response = claimProcessingService.processClaim(file);
+            ClaimProcessingResponse response;
+            try (permit) {
+                response = claimProcessingService.processClaim(file);
+            }
             
             log.info("Successfully processed claim. Route: {}", response.getRecommendedRoute());
-            return ResponseEntity.ok(response);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            if (response.getMetadata() != null && response.getMetadata().getCacheHit() != null) {
+                ok.header(CACHE_HEADER, response.getMetadata().getCacheHit() ? "HIT" : "MISS");
+            }
+            if (claimResponseWriter.isPretty(pretty)) {
+                return ok.contentType(MediaType.APPLICATION_JSON).body(claimResponseWriter.toBytes(response, true));
+            }
+            return ok.body(response);
             
+        } catch (PdfLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse("Document exceeds the " + e.getLimit().tag() + " limit: " + e.getMessage()));
         } catch (Exception e) {
             log.error("Error processing claim: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -67,12 +135,272 @@ public class ClaimProcessingController {
         }
     }
     
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Submit FNOL Document for Asynchronous Processing",
+        description = "Queue a document and return a job id immediately; fetch the result from GET /jobs/{id}.",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Job queued",
+                content = @Content(schema = @Schema(implementation = ClaimJobStatus.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid file or bad request"),
+            @ApiResponse(responseCode = "413", description = "File exceeds the maximum document size"),
+            @ApiResponse(responseCode = "503", description = "Job queue is full; retry later")
+        }
+    )
+    public ResponseEntity<?> submitJob(@RequestParam("file") MultipartFile file) {
+        log.info("Received asynchronous claim job for file: {}", file.getOriginalFilename());
+        
+        ResponseEntity<ErrorResponse> invalid = validateUpload(file);
+        if (invalid != null) {
+            return invalid;
+        }
+        
+        try {
+            ClaimJobService.ClaimJob job = claimJobService.submit(file);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/claims/jobs/" + job.getId()))
+                .body(job.toStatus());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(JOB_RETRY_AFTER_SECONDS))
+                .body(new ErrorResponse("Job queue is full (" + claimJobService.getQueueDepth() + " waiting); retry later"));
+        } catch (Exception e) {
+            log.error("Error queuing claim job: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Error queuing claim: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/jobs/{id}")
+    @Operation(
+        summary = "Claim Job Status",
+        description = "Current state of an asynchronous job, with the ClaimProcessingResponse once it has completed. " +
+                     "With 'wait' (seconds) the request long-polls until the job finishes or the wait runs out."
+    )
+    public DeferredResult<ResponseEntity<?>> jobStatus(@PathVariable String id,
+                                                       @RequestParam(value = "wait", defaultValue = "0") long waitSeconds) {
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>();
+        Optional<ClaimJobService.ClaimJob> found = claimJobService.find(id);
+        if (found.isEmpty()) {
+            deferred.setResult(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Unknown job: " + id)));
+            return deferred;
+        }
+        
+        ClaimJobService.ClaimJob job = found.get();
+        long maxWait = claimsProperties.getJobs().getMaxWait().toMillis();
+        long wait = Math.min(Math.max(0, waitSeconds) * 1000, maxWait);
+        if (job.isDone() || wait == 0) {
+            deferred.setResult(ResponseEntity.ok(job.toStatus()));
+            return deferred;
+        }
+        
+        // Long-poll without holding a servlet thread: answer when the job finishes or the wait expires
+        DeferredResult<ResponseEntity<?>> longPoll = new DeferredResult<>(wait);
+        longPoll.onTimeout(() -> longPoll.setResult(ResponseEntity.ok(job.toStatus())));
+        job.getResult().whenComplete((response, error) -> longPoll.setResult(ResponseEntity.ok(job.toStatus())));
+        return longPoll;
+    }
+    
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Process FNOL Batch",
+        description = "Upload many FNOL documents as repeated 'files' parts or as a zip archive. " +
+                     "Each document is processed on a bounded worker pool and its result is streamed " +
+                     "back as one NDJSON line as soon as it finishes; lines carry the document's index.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "One NDJSON line per document"),
+            @ApiResponse(responseCode = "400", description = "Missing multipart boundary"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds claims.batch.max-request-size")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> processBatch(HttpServletRequest request) {
+        return streamBatch(request);
+    }
+    
+    @PostMapping(value = "/batch/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Process FNOL Batch While Uploading",
+        description = "Same as /batch, which also parses the multipart body as it arrives: each document " +
+                     "is processed as soon as its part has been received, and its NDJSON line may be sent " +
+                     "before the upload has finished.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "One NDJSON line per document"),
+            @ApiResponse(responseCode = "400", description = "Missing multipart boundary"),
+            @ApiResponse(responseCode = "413", description = "Upload exceeds claims.batch.max-request-size")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> processBatchStream(HttpServletRequest request) {
+        return streamBatch(request);
+    }
+    
+    /**
+     * Read a batch upload ourselves rather than through the servlet multipart limits, which
+     * stay sized for a single document; claims.batch.max-request-size caps the body instead
+     */
+    private ResponseEntity<StreamingResponseBody> streamBatch(HttpServletRequest request) {
+        String boundary = multipartBoundary(request.getContentType());
+        if (boundary == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Content-Type has no multipart boundary");
+        }
+        long maxBytes = batchClaimProcessingService.getMaxRequestBytes();
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Batch upload exceeds the maximum size of " + maxBytes + " bytes");
+        }
+        log.info("Received batch claim processing request");
+        
+        StreamingResponseBody body = out ->
+            batchClaimProcessingService.processMultipart(request.getInputStream(), boundary, ndjsonLines(out));
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Health Check", description = "Check if the service is running")
     public ResponseEntity<HealthResponse> healthCheck() {
         return ResponseEntity.ok(new HealthResponse("UP", "Claims Processing Service is running"));
     }
     
+    @GetMapping("/extraction/stats")
+    @Operation(summary = "Extraction Rule Statistics",
+               description = "Per-field match/miss counts and timing for the compiled extraction rules")
+    public ResponseEntity<List<FieldPatternRegistry.FieldStats>> extractionStats() {
+        return ResponseEntity.ok(fieldPatternRegistry.getStats());
+    }
+    
+    @GetMapping("/routing/rules")
+    @Operation(summary = "Routing Rules", description = "Routing rules currently in effect, in evaluation order")
+    public ResponseEntity<List<RoutingRule>> routingRules() {
+        return ResponseEntity.ok(claimRoutingService.getRules());
+    }
+    
+    @PostMapping("/routing/reload")
+    @Operation(summary = "Reload Routing Rules",
+               description = "Re-read the routing rules file now instead of waiting for the next reload interval")
+    public ResponseEntity<?> reloadRoutingRules() {
+        try {
+            boolean changed = claimRoutingService.reload();
+            return ResponseEntity.ok(new ReloadResponse(changed, claimRoutingService.getRules().size()));
+        } catch (RuntimeException e) {
+            log.error("Routing rules reload failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Routing rules not reloaded: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/reextract")
+    @Operation(
+        summary = "Re-extract Cached Claims",
+        description = "Replay every document in the text cache through the current extraction and routing " +
+                     "rules, without parsing any PDF, and report the claims whose route changed.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Re-extraction finished",
+                content = @Content(schema = @Schema(implementation = ReextractionReport.class))),
+            @ApiResponse(responseCode = "404", description = "Text cache is disabled"),
+            @ApiResponse(responseCode = "409", description = "A re-extraction is already running")
+        }
+    )
+    public ResponseEntity<?> reextract(
+            @Parameter(description = "Changed claims listed in the report")
+            @RequestParam(defaultValue = "1000") int limit) throws IOException, InterruptedException {
+        if (!reextractionService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Text cache is disabled (claims.text-cache.enabled=false)"));
+        }
+        if (limit < 0) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("limit must not be negative"));
+        }
+        try {
+            return ResponseEntity.ok(reextractionService.reextract(limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Result Cache Statistics",
+               description = "Size, hit/miss counts and evictions of the content-addressed result cache")
+    public ResponseEntity<ClaimResultCache.CacheStats> cacheStats() {
+        return ResponseEntity.ok(claimResultCache.getStats());
+    }
+    
+    @GetMapping("/store/{id}")
+    @Operation(summary = "Stored Claim", description = "A processed claim from the local claim store, by id")
+    public ResponseEntity<?> storedClaim(@PathVariable long id) throws IOException {
+        if (!claimStore.isEnabled()) {
+            return storeDisabled();
+        }
+        Optional<StoredClaim> claim = claimStore.get(id);
+        return claim.<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Unknown claim: " + id)));
+    }
+    
+    @GetMapping("/store")
+    @Operation(summary = "Find Stored Claims",
+               description = "Stored claims matching exactly one of policyNumber, vin, plateNumber or incidentDate, " +
+                             "oldest first. Values are matched ignoring case and whitespace; dates may be " +
+                             "MM/DD/YYYY or YYYY-MM-DD.")
+    public ResponseEntity<?> findStoredClaims(@RequestParam(required = false) String policyNumber,
+                                              @RequestParam(required = false) String vin,
+                                              @RequestParam(required = false) String plateNumber,
+                                              @RequestParam(required = false) String incidentDate,
+                                              @RequestParam(defaultValue = "100") int limit) throws IOException {
+        if (!claimStore.isEnabled()) {
+            return storeDisabled();
+        }
+        Map<ClaimStore.Key, String> criteria = new EnumMap<>(ClaimStore.Key.class);
+        criteria.put(ClaimStore.Key.POLICY_NUMBER, policyNumber);
+        criteria.put(ClaimStore.Key.VIN, vin);
+        criteria.put(ClaimStore.Key.PLATE_NUMBER, plateNumber);
+        criteria.put(ClaimStore.Key.INCIDENT_DATE, incidentDate);
+        criteria.values().removeIf(Objects::isNull);
+        if (criteria.size() != 1 || limit < 1) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Give exactly one of policyNumber, vin, plateNumber or incidentDate, and a positive limit"));
+        }
+        Map.Entry<ClaimStore.Key, String> criterion = criteria.entrySet().iterator().next();
+        return ResponseEntity.ok(claimStore.find(criterion.getKey(), criterion.getValue(), limit));
+    }
+    
+    @GetMapping("/store/stats")
+    @Operation(summary = "Claim Store Statistics", description = "Claims, log size and index sizes of the local claim store")
+    public ResponseEntity<ClaimStore.StoreStats> storeStats() throws IOException {
+        return ResponseEntity.ok(claimStore.getStats());
+    }
+    
+    private ResponseEntity<?> storeDisabled() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponse("Claim store is disabled (claims.store.enabled=false)"));
+    }
+    
+    /**
+     * Reject empty, non-PDF or oversized uploads; null when the upload is acceptable
+     */
+    private ResponseEntity<ErrorResponse> validateUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("File is empty"));
+        }
+        
+        if (!isPdfFile(file)) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Only PDF files are supported"));
+        }
+        
+        if (file.getSize() > claimsProperties.getPdf().getMaxFileSize().toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(new ErrorResponse("File exceeds the maximum size of " + claimsProperties.getPdf().getMaxFileSize()));
+        }
+        return null;
+    }
+    
     private boolean isPdfFile(MultipartFile file) {
         String contentType = file.getContentType();
         String filename = file.getOriginalFilename();
@@ -81,7 +409,33 @@ public class ClaimProcessingController {
                (filename != null && filename.toLowerCase().endsWith(".pdf"));
     }
     
+    /**
+     * Write each batch result as one NDJSON line and flush it, so the client sees it immediately
+     */
+    private Consumer<BatchClaimResult> ndjsonLines(OutputStream out) {
+        return result -> {
+            try {
+                claimResponseWriter.writeLine(result, out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+    
+    private static String multipartBoundary(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+        if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary == null || boundary.isEmpty() ? null : boundary;
+    }
+    
     // Inner classes for responses
     private record ErrorResponse(String error) {}
     private record HealthResponse(String status, String message) {}
+    private record ReloadResponse(boolean changed, int rules) {}
 }
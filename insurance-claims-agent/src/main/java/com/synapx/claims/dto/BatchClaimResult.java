@@ -0,0 +1,32 @@
+package com.synapx.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One NDJSON line of a batch response, written as soon as its claim finishes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchClaimResult {
+
+    /** Position of the document in the upload, so out-of-order lines can be matched back */
+    private int index;
+    private String filename;
+    private Status status;
+    private ClaimProcessingResponse result;
+    private String error;
+    private long elapsedMillis;
+
+    public enum Status {
+        PROCESSED,
+        FAILED,
+        SKIPPED
+    }
+}
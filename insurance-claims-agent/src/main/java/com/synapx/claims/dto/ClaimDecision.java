@@ -0,0 +1,28 @@
+package com.synapx.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Routing decision for one document consumed from the claim queue. Delivery is at least
+ * once, so a document may be decided more than once; the key identifies it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClaimDecision {
+
+    private int partition;
+    private long offset;
+    private String key;
+    /** PROCESSED or FAILED; a document that cannot be processed is decided FAILED rather than retried */
+    private BatchClaimResult.Status status;
+    private ClaimProcessingResponse result;
+    private String error;
+    private long elapsedMillis;
+}
@@ -0,0 +1,33 @@
+package com.synapx.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of an asynchronously submitted claim; carries the result once the job has completed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClaimJobStatus {
+
+    private String jobId;
+    private String filename;
+    private Status status;
+    private String submittedAt;
+    private String completedAt;
+    private ClaimProcessingResponse result;
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -10,12 +10,13 @@ import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ClaimProcessingResponse {
     
-    private Map<String, Object> extractedFields;
+    /** Serialized as-is, without an intermediate Map tree */
+    private ClaimData extractedFields;
     private List<String> missingFields;
     private String recommendedRoute;
     private String reasoning;
@@ -24,7 +25,7 @@ public class ClaimProcessingResponse {
     private ProcessingMetadata metadata;
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ProcessingMetadata {
@@ -32,5 +33,11 @@ public class ClaimProcessingResponse {
         private String documentType;
         private Integer confidenceScore;
         private List<String> warnings;
+        /** Set when the result cache is enabled; true if this response was served from it */
+        private Boolean cacheHit;
+        /** How the fields were obtained: "acroform", "text", or "text_cache" for text reused from the text cache */
+        private String extractionPath;
+        /** Milliseconds spent in each pipeline stage of this request, in order, plus "total" */
+        private Map<String, Double> stageTimingsMillis;
     }
 }
@@ -0,0 +1,48 @@
+package com.synapx.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of replaying every cached document through the current extraction and routing
+ * rules, compared with the route each claim was given when it was first processed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReextractionReport {
+
+    private String startedAt;
+    private long elapsedMillis;
+    private String extractionFingerprint;
+    private String routingFingerprint;
+    private int documents;
+    private int unchanged;
+    private int changed;
+    private int failed;
+    /** Changed claims per "FROM_ROUTE -> TO_ROUTE" */
+    private Map<String, Integer> transitions;
+    /** The changed claims, up to the requested limit */
+    private List<RouteChange> changes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteChange {
+        private String documentHash;
+        private String filename;
+        private String processedAt;
+        private String previousRoute;
+        private String route;
+        private String reasoning;
+    }
+}
@@ -0,0 +1,30 @@
+package com.synapx.claims.dto;
+
+import com.synapx.claims.model.ClaimData;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A processed claim as kept in the local claim store
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredClaim {
+
+    /** Position of the claim in the store's log; stable for the life of the store */
+    private long id;
+    private String storedAt;
+    private String filename;
+    private String recommendedRoute;
+    private String reasoning;
+    private List<String> missingFields;
+    private ClaimData claim;
+    /** Hex SHA-256 of the submitted document; absent on claims stored before it was recorded */
+    private String documentHash;
+}
@@ -0,0 +1,31 @@
+package com.synapx.claims.export;
+
+/**
+ * Layout of the claim export files ({@code *.claims}). A file is a header followed by
+ * row groups, each written in one append:
+ * <pre>
+ * file      := MAGIC version:u8 rowGroup*
+ * rowGroup  := bodyLength:i32 body
+ * body      := rows:i32 column*            (in {@link #COLUMNS} order)
+ * string    := dictSize:i32 utf8*dictSize code:i32*rows   (code -1 = null)
+ * i64 / f64 := value*rows
+ * </pre>
+ * Strings are dictionary-encoded per row group, so repeated values such as routes,
+ * states and claim types cost four bytes per row. A row group cut short by a crash is
+ * ignored by the reader.
+ */
+public final class ClaimColumnFile {
+
+    public static final String EXTENSION = ".claims";
+    static final byte[] MAGIC = {'C', 'L', 'M', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+
+    /** Column names in file order, matching the components of {@link ClaimExportRecord} */
+    public static final String[] COLUMNS = {
+            "processedAt", "policyNumber", "policyholderName", "incidentDate", "incidentState",
+            "claimType", "assetType", "assetId", "estimatedDamage", "route", "missingFields"
+    };
+
+    private ClaimColumnFile() {
+    }
+}
@@ -0,0 +1,155 @@
+package com.synapx.claims.export;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads {@link ClaimColumnFile} files a row group at a time, as column arrays
+ */
+public final class ClaimColumnReader {
+
+    private ClaimColumnReader() {
+    }
+
+    /**
+     * The export files under a directory in name (creation) order, or the file itself
+     */
+    public static List<Path> files(Path location) throws IOException {
+        if (!Files.isDirectory(location)) {
+            return List.of(location);
+        }
+        try (Stream<Path> files = Files.list(location)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(ClaimColumnFile.EXTENSION))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Hand every complete row group of the file to the consumer. A trailing row group that
+     * was only partly written is skipped.
+     */
+    public static void scan(Path file, Consumer<RowGroup> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            byte[] magic = in.readNBytes(ClaimColumnFile.MAGIC.length);
+            if (!Arrays.equals(magic, ClaimColumnFile.MAGIC)) {
+                throw new IOException(file + " is not a claim export file");
+            }
+            int version = in.readUnsignedByte();
+            if (version != ClaimColumnFile.VERSION) {
+                throw new IOException(file + " has unsupported export version " + version);
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException end) {
+                    return;
+                }
+                byte[] body = in.readNBytes(length);
+                if (body.length < length) {
+                    return;
+                }
+                consumer.accept(RowGroup.read(new DataInputStream(new ByteArrayInputStream(body))));
+            }
+        }
+    }
+
+    /**
+     * One row group; each array holds a column, indexed by row
+     */
+    public record RowGroup(int rows,
+                           long[] processedAt,
+                           String[] policyNumber,
+                           String[] policyholderName,
+                           String[] incidentDate,
+                           String[] incidentState,
+                           String[] claimType,
+                           String[] assetType,
+                           String[] assetId,
+                           double[] estimatedDamage,
+                           String[] route,
+                           long[] missingFields) {
+
+        public ClaimExportRecord record(int row) {
+            return new ClaimExportRecord(processedAt[row], policyNumber[row], policyholderName[row],
+                    incidentDate[row], incidentState[row], claimType[row], assetType[row], assetId[row],
+                    estimatedDamage[row], route[row], missingFields[row]);
+        }
+
+        /**
+         * A string column by name, for grouping
+         */
+        public String[] strings(String column) {
+            return switch (column) {
+                case "policyNumber" -> policyNumber;
+                case "policyholderName" -> policyholderName;
+                case "incidentDate" -> incidentDate;
+                case "incidentState" -> incidentState;
+                case "claimType" -> claimType;
+                case "assetType" -> assetType;
+                case "assetId" -> assetId;
+                case "route" -> route;
+                default -> throw new IllegalArgumentException("Not a string column: " + column);
+            };
+        }
+
+        private static RowGroup read(DataInputStream in) throws IOException {
+            int rows = in.readInt();
+            return new RowGroup(rows,
+                    readLongs(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readStrings(in, rows),
+                    readDoubles(in, rows),
+                    readStrings(in, rows),
+                    readLongs(in, rows));
+        }
+
+        private static long[] readLongs(DataInputStream in, int rows) throws IOException {
+            long[] values = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                values[i] = in.readLong();
+            }
+            return values;
+        }
+
+        private static double[] readDoubles(DataInputStream in, int rows) throws IOException {
+            double[] values = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                values[i] = in.readDouble();
+            }
+            return values;
+        }
+
+        /**
+         * Rows share the dictionary's String instances
+         */
+        private static String[] readStrings(DataInputStream in, int rows) throws IOException {
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            }
+            String[] values = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                int code = in.readInt();
+                values[i] = code < 0 ? null : dictionary[code];
+            }
+            return values;
+        }
+    }
+}
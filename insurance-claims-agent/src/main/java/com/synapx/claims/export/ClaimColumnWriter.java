@@ -0,0 +1,167 @@
+package com.synapx.claims.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Appends claims to rolling {@link ClaimColumnFile} files in a directory. Each call to
+ * {@link #write} becomes one row group; a new file is started once the current one
+ * reaches the size limit or has been open for the roll interval. Not thread-safe: one
+ * writer owns a directory.
+ */
+public final class ClaimColumnWriter implements Closeable {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final long rollIntervalMillis;
+    private final ByteArrayOutputStream rowGroup = new ByteArrayOutputStream(64 * 1024);
+
+    private DataOutputStream out;
+    private Path current;
+    private long currentBytes;
+    private long openedAt;
+    private int sequence;
+
+    public ClaimColumnWriter(Path directory, long maxFileBytes, Duration rollInterval) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxFileBytes = maxFileBytes;
+        this.rollIntervalMillis = rollInterval.toMillis();
+    }
+
+    /**
+     * Append the claims as one row group and flush it to the file
+     */
+    public void write(List<ClaimExportRecord> claims) throws IOException {
+        if (claims.isEmpty()) {
+            return;
+        }
+        rowGroup.reset();
+        DataOutputStream body = new DataOutputStream(rowGroup);
+        body.writeInt(claims.size());
+        writeLongs(body, claims, ClaimExportRecord::processedAt);
+        writeStrings(body, claims, ClaimExportRecord::policyNumber);
+        writeStrings(body, claims, ClaimExportRecord::policyholderName);
+        writeStrings(body, claims, ClaimExportRecord::incidentDate);
+        writeStrings(body, claims, ClaimExportRecord::incidentState);
+        writeStrings(body, claims, ClaimExportRecord::claimType);
+        writeStrings(body, claims, ClaimExportRecord::assetType);
+        writeStrings(body, claims, ClaimExportRecord::assetId);
+        writeDoubles(body, claims, ClaimExportRecord::estimatedDamage);
+        writeStrings(body, claims, ClaimExportRecord::route);
+        writeLongs(body, claims, ClaimExportRecord::missingFields);
+        body.flush();
+
+        rollIfNeeded(Integer.BYTES + rowGroup.size());
+        out.writeInt(rowGroup.size());
+        rowGroup.writeTo(out);
+        out.flush();
+        currentBytes += Integer.BYTES + rowGroup.size();
+    }
+
+    /**
+     * File currently appended to, or null before the first write
+     */
+    public Path getCurrentFile() {
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void rollIfNeeded(int nextBytes) throws IOException {
+        long now = System.currentTimeMillis();
+        boolean full = currentBytes + nextBytes > maxFileBytes && currentBytes > ClaimColumnFile.MAGIC.length + 1;
+        if (out != null && !full && now - openedAt < rollIntervalMillis) {
+            return;
+        }
+        close();
+        current = createFile(FILE_TIME.format(Instant.ofEpochMilli(now)));
+        // FileOutputStream rather than a channel stream: an interrupted writer must not close the file
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(current.toFile()), 64 * 1024));
+        out.write(ClaimColumnFile.MAGIC);
+        out.writeByte(ClaimColumnFile.VERSION);
+        currentBytes = ClaimColumnFile.MAGIC.length + 1;
+        openedAt = now;
+    }
+
+    /**
+     * Names only have second resolution, and a writer started in the same second (after a
+     * restart, or alongside another on the same directory) may already hold a sequence
+     * number, so take the next one that is free
+     */
+    private Path createFile(String timestamp) throws IOException {
+        while (true) {
+            Path file = directory.resolve("claims-" + timestamp + "-" + (sequence++) + ClaimColumnFile.EXTENSION);
+            try {
+                return Files.createFile(file);
+            } catch (FileAlreadyExistsException e) {
+                // Taken; try the next sequence number
+            }
+        }
+    }
+
+    private static void writeLongs(DataOutputStream body, List<ClaimExportRecord> claims,
+                                   ToLongFunction<ClaimExportRecord> column) throws IOException {
+        for (ClaimExportRecord claim : claims) {
+            body.writeLong(column.applyAsLong(claim));
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream body, List<ClaimExportRecord> claims,
+                                     ToDoubleFunction<ClaimExportRecord> column) throws IOException {
+        for (ClaimExportRecord claim : claims) {
+            body.writeDouble(column.applyAsDouble(claim));
+        }
+    }
+
+    /**
+     * Dictionary, then one code per row
+     */
+    private static void writeStrings(DataOutputStream body, List<ClaimExportRecord> claims,
+                                     Function<ClaimExportRecord, String> column) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[] codes = new int[claims.size()];
+        for (int i = 0; i < codes.length; i++) {
+            String value = column.apply(claims.get(i));
+            codes[i] = value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+        }
+        String[] values = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> values[code] = value);
+
+        body.writeInt(values.length);
+        for (String value : values) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            body.writeInt(utf8.length);
+            body.write(utf8);
+        }
+        for (int code : codes) {
+            body.writeInt(code);
+        }
+    }
+}
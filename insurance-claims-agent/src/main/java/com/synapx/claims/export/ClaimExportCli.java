@@ -0,0 +1,102 @@
+package com.synapx.claims.export;
+
+import com.synapx.claims.validator.MandatoryField;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scans claim export files without starting the application. It prints claim counts and
+ * damage statistics per group (route by default) and how often each mandatory field was
+ * missing.
+ * <pre>
+ * java -cp insurance-claims-agent-1.0.0.jar -Dloader.main=com.synapx.claims.export.ClaimExportCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher exports/ --group-by claimType
+ * </pre>
+ */
+public final class ClaimExportCli {
+
+    private ClaimExportCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && !(args.length == 3 && args[1].equals("--group-by"))) {
+            System.err.println("Usage: ClaimExportCli <export-file-or-directory> [--group-by <column>]");
+            System.err.println("Columns: route, claimType, incidentState, assetType, policyNumber, ...");
+            System.exit(2);
+        }
+        Path location = Path.of(args[0]);
+        if (!Files.exists(location)) {
+            System.err.println("No such file or directory: " + location);
+            System.exit(2);
+        }
+        String groupBy = args.length == 3 ? args[2] : "route";
+
+        Summary summary = new Summary();
+        List<Path> files = ClaimColumnReader.files(location);
+        for (Path file : files) {
+            ClaimColumnReader.scan(file, rowGroup -> summary.add(rowGroup, groupBy));
+        }
+        summary.print(System.out, groupBy, files.size());
+    }
+
+    static final class Summary {
+        final Map<String, Group> groups = new TreeMap<>();
+        final long[] missingCounts = new long[MandatoryField.values().length];
+        long claims;
+        long rowGroups;
+
+        void add(ClaimColumnReader.RowGroup rowGroup, String groupBy) {
+            String[] keys = rowGroup.strings(groupBy);
+            double[] damage = rowGroup.estimatedDamage();
+            long[] missing = rowGroup.missingFields();
+            for (int row = 0; row < rowGroup.rows(); row++) {
+                String key = keys[row] != null ? keys[row] : "(none)";
+                groups.computeIfAbsent(key, k -> new Group()).add(damage[row]);
+                for (long bits = missing[row]; bits != 0; bits &= bits - 1) {
+                    missingCounts[Long.numberOfTrailingZeros(bits)]++;
+                }
+            }
+            claims += rowGroup.rows();
+            rowGroups++;
+        }
+
+        void print(PrintStream out, String groupBy, int files) {
+            out.printf("%d claims in %d row groups across %d file(s)%n%n", claims, rowGroups, files);
+            out.printf("%-28s %10s %8s %10s %16s %14s %14s%n",
+                    groupBy, "claims", "share", "estimated", "total damage", "mean damage", "max damage");
+            groups.forEach((key, group) -> out.printf("%-28s %10d %7.2f%% %10d %16.2f %14.2f %14.2f%n",
+                    key, group.claims, 100.0 * group.claims / Math.max(1, claims), group.estimated,
+                    group.total, group.estimated > 0 ? group.total / group.estimated : 0.0,
+                    group.estimated > 0 ? group.max : 0.0));
+
+            out.printf("%n%-28s %10s%n", "missing field", "claims");
+            for (MandatoryField field : MandatoryField.values()) {
+                if (missingCounts[field.ordinal()] > 0) {
+                    out.printf("%-28s %10d%n", field.getDisplayName(), missingCounts[field.ordinal()]);
+                }
+            }
+        }
+    }
+
+    static final class Group {
+        long claims;
+        long estimated;
+        double total;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double damage) {
+            claims++;
+            if (!Double.isNaN(damage)) {
+                estimated++;
+                total += damage;
+                max = Math.max(max, damage);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.synapx.claims.export;
+
+/**
+ * One processed claim as exported for analytics. Strings may be null; estimatedDamage is
+ * NaN when the claim carried no estimate; missingFields is the MandatoryField bit set.
+ */
+public record ClaimExportRecord(long processedAt,
+                                String policyNumber,
+                                String policyholderName,
+                                String incidentDate,
+                                String incidentState,
+                                String claimType,
+                                String assetType,
+                                String assetId,
+                                double estimatedDamage,
+                                String route,
+                                long missingFields) {
+}
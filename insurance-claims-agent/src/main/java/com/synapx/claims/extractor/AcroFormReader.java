@@ -0,0 +1,136 @@
+package com.synapx.claims.extractor;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDCheckBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTerminalField;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the fill-in fields of a born-digital ACORD 2 form straight from its AcroForm
+ * dictionary. No content stream is parsed and no pattern is matched, so a fillable
+ * form costs a fraction of a PDFTextStripper pass. Scanned documents have no AcroForm,
+ * and flattened ones keep the dictionary but no fields; both return null so the caller
+ * falls back to text extraction. So does a form with fewer than {@code minFields}
+ * recognised fields filled in, which is either blank or not an ACORD form.
+ */
+public class AcroFormReader {
+
+    private final Map<String, FieldKey> fields = new HashMap<>();
+    private final Map<String, FieldKey> rangeEnds = new HashMap<>();
+    private final int minFields;
+
+    public AcroFormReader(int minFields) {
+        this.minFields = minFields;
+
+        // Policy Information
+        register(FieldKey.POLICY_NUMBER, "Policy_PolicyNumberIdentifier_A");
+        register(FieldKey.POLICYHOLDER_NAME, "NamedInsured_FullName_A");
+        registerRange(FieldKey.EFFECTIVE_DATES, "Policy_EffectiveDate_A", "Policy_ExpirationDate_A");
+        register(FieldKey.CARRIER_NAIC_CODE, "Insurer_NAICCode_A");
+
+        // Incident Information
+        register(FieldKey.INCIDENT_DATE, "Loss_IncidentDate_A");
+        register(FieldKey.INCIDENT_TIME, "Loss_IncidentTime_A");
+        register(FieldKey.INCIDENT_DESCRIPTION, "Loss_IncidentDescription_A");
+        register(FieldKey.LOCATION_STREET, "LossLocation_PhysicalAddress_LineOne_A");
+        register(FieldKey.LOCATION_CITY, "LossLocation_PhysicalAddress_CityName_A");
+        register(FieldKey.LOCATION_STATE, "LossLocation_PhysicalAddress_StateOrProvinceCode_A");
+        register(FieldKey.LOCATION_ZIP, "LossLocation_PhysicalAddress_PostalCode_A");
+        register(FieldKey.LOCATION_COUNTRY, "LossLocation_PhysicalAddress_CountryCode_A");
+        register(FieldKey.LOCATION_DESCRIPTION, "LossLocation_LocationDescription_A");
+
+        // Involved Parties
+        register(FieldKey.CLAIMANT_NAME, "Contact_FullName_A");
+        register(FieldKey.CLAIMANT_PRIMARY_PHONE, "Contact_PrimaryPhoneNumber_A");
+        register(FieldKey.CLAIMANT_PRIMARY_EMAIL, "Contact_PrimaryEmailAddress_A");
+
+        // Asset Details
+        register(FieldKey.VEHICLE_YEAR, "Vehicle_ModelYear_A");
+        register(FieldKey.VEHICLE_MAKE, "Vehicle_ManufacturersName_A");
+        register(FieldKey.VEHICLE_MODEL, "Vehicle_ModelName_A");
+        register(FieldKey.VEHICLE_BODY_TYPE, "Vehicle_BodyCode_A");
+        register(FieldKey.VEHICLE_PLATE_NUMBER, "Vehicle_Registration_LicensePlateIdentifier_A");
+        register(FieldKey.VEHICLE_PLATE_STATE, "Vehicle_Registration_StateOrProvinceCode_A");
+        register(FieldKey.VIN, "Vehicle_VINIdentifier_A");
+        register(FieldKey.DAMAGE_DESCRIPTION, "Vehicle_DamageDescription_A");
+        register(FieldKey.ESTIMATE_AMOUNT, "Vehicle_EstimatedDamageAmount_A");
+
+        // Other Mandatory Fields
+        register(FieldKey.REPORT_NUMBER, "Loss_ReportNumberIdentifier_A");
+        register(FieldKey.POLICE_OR_FIRE_CONTACTED, "Loss_AuthorityContactedIndicator_A");
+    }
+
+    /**
+     * Field values keyed the way text extraction keys them, or null if the document has no usable form
+     */
+    public Map<FieldKey, String> read(PDDocument document) throws IOException {
+        // No fixup: building missing appearance streams is work a read never needs
+        PDAcroForm form = document.getDocumentCatalog().getAcroForm(null);
+        if (form == null || form.getFields().isEmpty() || form.xfaIsDynamic()) {
+            return null;
+        }
+
+        Map<FieldKey, String> values = new EnumMap<>(FieldKey.class);
+        Map<FieldKey, String> ends = new EnumMap<>(FieldKey.class);
+        for (PDField field : form.getFieldTree()) {
+            if (!(field instanceof PDTerminalField)) {
+                continue;
+            }
+            String name = field.getPartialName();
+            FieldKey key = fields.get(name);
+            FieldKey endKey = key == null ? rangeEnds.get(name) : null;
+            if (key == null && endKey == null) {
+                continue;
+            }
+            String value = value(field);
+            if (value == null) {
+                continue;
+            }
+            if (key != null) {
+                values.putIfAbsent(key, key == FieldKey.ESTIMATE_AMOUNT ? stripCurrency(value) : value);
+            } else {
+                ends.putIfAbsent(endKey, value);
+            }
+        }
+        ends.forEach((key, end) -> values.merge(key, end, (start, to) -> start + " to " + to));
+
+        return values.size() >= minFields ? values : null;
+    }
+
+    private void register(FieldKey key, String name) {
+        fields.put(name, key);
+    }
+
+    /**
+     * Two fields filling one value as "start to end", e.g. the policy period
+     */
+    private void registerRange(FieldKey key, String start, String end) {
+        fields.put(start, key);
+        rangeEnds.put(end, key);
+    }
+
+    private static String value(PDField field) {
+        if (field instanceof PDCheckBox checkBox) {
+            return checkBox.isChecked() ? "Y" : "N";
+        }
+        String value = field.getValueAsString();
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Match what the text rule captures: the amount without its currency sign
+     */
+    private static String stripCurrency(String amount) {
+        return amount.startsWith("$") ? amount.substring(1).trim() : amount;
+    }
+}
@@ -0,0 +1,241 @@
+package com.synapx.claims.extractor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Single-pass extraction engine for ACORD FNOL text.
+ * The text is walked once, left to right. At each position whose characters start a
+ * label anchor (POLICY NUMBER, DATE OF LOSS, V.I.N., ...) the still-unresolved rules for
+ * that anchor are matched from there. The walk stops as soon as every field is resolved,
+ * so a complete form page never pays for its appendices. Because every match of a rule
+ * must start with its anchor's prefix, the first successful position is the same one a
+ * whole-text find() would return. The match may run to the end of the text, as find()'s
+ * may, so long values such as the accident description are captured in full. On
+ * {@link NormalizedText} the anchor prefixes are compared against its lower-cased view.
+ */
+public class AnchorScanner {
+
+    private final List<FieldPatternRegistry.FieldRule> rules;
+    private final AnchorPrefix[] prefixes;
+    private final int[][] rulesByFirstChar = new int[128][];
+
+    public AnchorScanner(FieldPatternRegistry registry) {
+        this.rules = new ArrayList<>(registry.getRules());
+        this.prefixes = new AnchorPrefix[rules.size()];
+
+        for (int i = 0; i < rules.size(); i++) {
+            AnchorPrefix prefix = AnchorPrefix.parse(rules.get(i).getAnchor());
+            prefixes[i] = prefix;
+            index(prefix.first(), i);
+            index(Character.toLowerCase(prefix.first()), i);
+        }
+    }
+
+    /**
+     * Extract every registered field; fields without a match are absent from the result
+     */
+    public Map<FieldKey, String> extract(CharSequence text) {
+        int ruleCount = rules.size();
+        Matcher[] matchers = new Matcher[ruleCount];
+        boolean[] resolved = new boolean[ruleCount];
+        String[] found = new String[ruleCount];
+        long[] nanos = new long[ruleCount];
+        int unresolved = ruleCount;
+        int length = text.length();
+        // Resolved rules are dropped from this per-call copy so the walk gets cheaper as it goes
+        int[][] active = rulesByFirstChar.clone();
+        char[] folded = text instanceof NormalizedText normalized ? normalized.folded : null;
+
+        for (int position = 0; position < length && unresolved > 0; position++) {
+            char c = folded != null ? folded[position] : text.charAt(position);
+            int[] candidates = c < 128 ? active[c] : null;
+            if (candidates == null) {
+                continue;
+            }
+            for (int rule : candidates) {
+                if (resolved[rule] || !(folded != null
+                        ? prefixes[rule].matchesFolded(folded, length, position)
+                        : prefixes[rule].matches(text, position))) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                resolved[rule] = matchAt(rule, matchers, found, text, position, length);
+                nanos[rule] += System.nanoTime() - start;
+                if (resolved[rule]) {
+                    unresolved--;
+                    char first = prefixes[rule].first();
+                    active[first] = withoutResolved(active[first], resolved);
+                    active[Character.toLowerCase(first)] = active[first];
+                }
+            }
+        }
+
+        Map<FieldKey, String> values = new EnumMap<>(FieldKey.class);
+        for (int i = 0; i < ruleCount; i++) {
+            FieldPatternRegistry.FieldRule rule = rules.get(i);
+            rule.record(found[i] != null, nanos[i]);
+            if (found[i] != null) {
+                values.put(rule.getField(), found[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Match a rule at an anchor position; the first successful position resolves the
+     * rule even when its capture is empty, exactly as find() would
+     */
+    private boolean matchAt(int rule, Matcher[] matchers, String[] found,
+                            CharSequence text, int position, int length) {
+        FieldPatternRegistry.FieldRule fieldRule = rules.get(rule);
+        Matcher matcher = matchers[rule];
+        if (matcher == null) {
+            matcher = fieldRule.getPattern().matcher(text);
+            matchers[rule] = matcher;
+        }
+        matcher.region(position, length);
+        if (!matcher.lookingAt()) {
+            return false;
+        }
+        String captured = matcher.group(fieldRule.getGroup());
+        found[rule] = captured != null ? captured.trim() : null;
+        return true;
+    }
+
+    private static int[] withoutResolved(int[] candidates, boolean[] resolved) {
+        int remaining = 0;
+        for (int rule : candidates) {
+            if (!resolved[rule]) {
+                remaining++;
+            }
+        }
+        if (remaining == 0) {
+            return null;
+        }
+        int[] filtered = new int[remaining];
+        int next = 0;
+        for (int rule : candidates) {
+            if (!resolved[rule]) {
+                filtered[next++] = rule;
+            }
+        }
+        return filtered;
+    }
+
+    private void index(char c, int rule) {
+        if (c >= 128) {
+            throw new IllegalArgumentException("Anchor must start with an ASCII character: " + c);
+        }
+        int[] current = rulesByFirstChar[c];
+        if (current == null) {
+            rulesByFirstChar[c] = new int[] {rule};
+        } else if (current[current.length - 1] != rule) {
+            int[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = rule;
+            rulesByFirstChar[c] = grown;
+        }
+    }
+
+    /**
+     * Cheap pre-check for the leading literal part of an anchor regex, upper-cased.
+     * Escaped and optional characters ({@code \.?}, {@code S?}) are understood; parsing
+     * stops at the first construct it cannot check exactly, so it never rejects a real match.
+     */
+    static final class AnchorPrefix {
+        private static final String META = "\\.?*+[](){}|^$";
+
+        private final char[] chars;
+        private final char[] lower;
+        private final boolean[] optional;
+
+        private AnchorPrefix(char[] chars, boolean[] optional) {
+            this.chars = chars;
+            this.optional = optional;
+            this.lower = new char[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                lower[i] = Character.toLowerCase(chars[i]);
+            }
+        }
+
+        static AnchorPrefix parse(String anchor) {
+            StringBuilder chars = new StringBuilder();
+            List<Boolean> optional = new ArrayList<>();
+            int i = 0;
+            while (i < anchor.length()) {
+                char c = anchor.charAt(i);
+                int next = i + 1;
+                if (c == '\\' && next < anchor.length() && !Character.isLetterOrDigit(anchor.charAt(next))) {
+                    c = anchor.charAt(next);
+                    next++;
+                } else if (META.indexOf(c) >= 0) {
+                    break;
+                }
+                if (next < anchor.length() && "*+{".indexOf(anchor.charAt(next)) >= 0) {
+                    break;
+                }
+                // A greedy optional char followed by the same char could skip a real match
+                if (!optional.isEmpty() && optional.get(optional.size() - 1)
+                        && Character.toUpperCase(c) == chars.charAt(chars.length() - 1)) {
+                    break;
+                }
+                boolean isOptional = next < anchor.length() && anchor.charAt(next) == '?';
+                chars.append(Character.toUpperCase(c));
+                optional.add(isOptional);
+                i = isOptional ? next + 1 : next;
+            }
+            if (chars.length() == 0 || optional.get(0)) {
+                throw new IllegalArgumentException("Anchor must start with a literal character: " + anchor);
+            }
+            boolean[] flags = new boolean[optional.size()];
+            for (int k = 0; k < flags.length; k++) {
+                flags[k] = optional.get(k);
+            }
+            return new AnchorPrefix(chars.toString().toCharArray(), flags);
+        }
+
+        char first() {
+            return chars[0];
+        }
+
+        /**
+         * Whether the text at {@code position} starts with this prefix; the first char
+         * has already been matched through the first-char index
+         */
+        boolean matches(CharSequence text, int position) {
+            int length = text.length();
+            int at = position + 1;
+            for (int i = 1; i < chars.length; i++) {
+                if (at < length && equalsIgnoreCase(text.charAt(at), chars[i])) {
+                    at++;
+                } else if (!optional[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@link #matches} against lower-cased text, comparing chars directly
+         */
+        boolean matchesFolded(char[] folded, int length, int position) {
+            int at = position + 1;
+            for (int i = 1; i < lower.length; i++) {
+                if (at < length && folded[at] == lower[i]) {
+                    at++;
+                } else if (!optional[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equalsIgnoreCase(char c, char upper) {
+            return c == upper || Character.toUpperCase(c) == upper;
+        }
+    }
+}
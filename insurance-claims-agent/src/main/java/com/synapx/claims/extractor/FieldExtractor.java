@@ -1,72 +1,129 @@
 package com.synapx.claims.extractor;
 
+import com.synapx.claims.config.ClaimsProperties;
 import com.synapx.claims.model.ClaimData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Slf4j
 @Component
 public class FieldExtractor {
 
+    private final FieldPatternRegistry patternRegistry;
+    private final ClaimsProperties.Extraction.Engine engine;
+    private final AnchorScanner anchorScanner;
+    private final KeywordLexicon lexicon;
+    private final TextNormalizer normalizer;
+
+    public FieldExtractor(FieldPatternRegistry patternRegistry, KeywordLexicon lexicon, ClaimsProperties properties) {
+        this.patternRegistry = patternRegistry;
+        this.lexicon = lexicon;
+        this.engine = properties.getExtraction().getEngine();
+        this.anchorScanner = new AnchorScanner(patternRegistry);
+        this.normalizer = properties.getExtraction().isNormalizeText()
+                ? new TextNormalizer(properties.getExtraction().getTextBufferPoolSize())
+                : null;
+        log.info("Field extraction engine: {}{}", engine, normalizer != null ? " over normalised text" : "");
+    }
+
     /**
-     * Extract claim data from raw text using pattern matching
+     * Extract claim data from raw text using pattern matching. Unless disabled, the text is
+     * normalised first and every pattern and lexicon scan runs over the normalised view.
      */
     public ClaimData extractFields(String text) {
         log.info("Extracting fields from text of length: {}", text.length());
         
-        ClaimData claimData = ClaimData.builder()
-                .policyInformation(extractPolicyInformation(text))
-                .incidentInformation(extractIncidentInformation(text))
-                .involvedParties(extractInvolvedParties(text))
-                .assetDetails(extractAssetDetails(text))
-                .otherMandatoryFields(extractOtherMandatoryFields(text))
-                .build();
+        if (normalizer == null) {
+            return extract(text);
+        }
+        try (NormalizedText normalized = normalizer.normalize(text)) {
+            return extract(normalized);
+        }
+    }
+
+    private ClaimData extract(CharSequence text) {
+        Map<FieldKey, String> values = engine == ClaimsProperties.Extraction.Engine.ANCHOR
+                ? anchorScanner.extract(text)
+                : extractWithRegex(text);
         
+        ClaimData claimData = build(values, determineClaimType(text));
+
         log.info("Field extraction completed");
         return claimData;
     }
+
+    /**
+     * Build claim data from values already read out of ACORD form fields; the claim type
+     * comes from the lexicon over the values, as there is no form text to scan
+     */
+    public ClaimData extractFormFields(Map<FieldKey, String> values) {
+        return build(values, determineClaimType(String.join("\n", values.values())));
+    }
+
+    private ClaimData build(Map<FieldKey, String> values, String claimType) {
+        return ClaimData.builder()
+                .policyInformation(buildPolicyInformation(values))
+                .incidentInformation(buildIncidentInformation(values))
+                .involvedParties(buildInvolvedParties(values))
+                .assetDetails(buildAssetDetails(values))
+                .otherMandatoryFields(buildOtherMandatoryFields(values, claimType))
+                .build();
+    }
     
-    private ClaimData.PolicyInformation extractPolicyInformation(String text) {
+    /**
+     * One full-text search per field
+     */
+    private Map<FieldKey, String> extractWithRegex(CharSequence text) {
+        Map<FieldKey, String> values = new EnumMap<>(FieldKey.class);
+        for (FieldKey field : FieldKey.values()) {
+            String value = patternRegistry.extract(field, text);
+            if (value != null) {
+                values.put(field, value);
+            }
+        }
+        return values;
+    }
+
+    private ClaimData.PolicyInformation buildPolicyInformation(Map<FieldKey, String> values) {
         return ClaimData.PolicyInformation.builder()
-                .policyNumber(extractPattern(text, "POLICY NUMBER[:\\s]*(\\S+)", 1))
-                .policyholderName(extractPattern(text, "NAME OF INSURED[^\\n]*\\n[^\\n]*\\n?\\s*([A-Za-z\\s,]+?)(?:\\s{2,}|\\n)", 1))
-                .effectiveDates(extractPattern(text, "EFFECTIVE DATES?[:\\s]*([\\d/\\-]+(?:\\s*(?:to|-)\\s*[\\d/\\-]+)?)", 1))
-                .carrierNaicCode(extractPattern(text, "CARRIER NAIC CODE[:\\s]*(\\S+)", 1))
+                .policyNumber(values.get(FieldKey.POLICY_NUMBER))
+                .policyholderName(values.get(FieldKey.POLICYHOLDER_NAME))
+                .effectiveDates(values.get(FieldKey.EFFECTIVE_DATES))
+                .carrierNaicCode(values.get(FieldKey.CARRIER_NAIC_CODE))
                 .build();
     }
     
-    private ClaimData.IncidentInformation extractIncidentInformation(String text) {
+    private ClaimData.IncidentInformation buildIncidentInformation(Map<FieldKey, String> values) {
         ClaimData.IncidentInformation.Location location = ClaimData.IncidentInformation.Location.builder()
-                .street(extractPattern(text, "STREET[:\\s]*([^\\n]+?)(?:\\s{2,}|\\n)", 1))
-                .city(extractPattern(text, "CITY[,\\s]*([A-Za-z\\s]+?)(?:,|\\s{2,})", 1))
-                .state(extractPattern(text, "STATE[:\\s]*([A-Z]{2})", 1))
-                .zip(extractPattern(text, "ZIP[:\\s]*(\\d{5}(?:-\\d{4})?)", 1))
-                .country(extractPattern(text, "COUNTRY[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|\\n)", 1))
-                .descriptionIfNotSpecific(extractPattern(text, "DESCRIBE LOCATION[^\\n]*\\n([^\\n]+)", 1))
+                .street(values.get(FieldKey.LOCATION_STREET))
+                .city(values.get(FieldKey.LOCATION_CITY))
+                .state(values.get(FieldKey.LOCATION_STATE))
+                .zip(values.get(FieldKey.LOCATION_ZIP))
+                .country(values.get(FieldKey.LOCATION_COUNTRY))
+                .descriptionIfNotSpecific(values.get(FieldKey.LOCATION_DESCRIPTION))
                 .build();
         
         return ClaimData.IncidentInformation.builder()
-                .date(extractPattern(text, "DATE OF LOSS[^\\d]*(\\d{1,2}[/\\-]\\d{1,2}[/\\-]\\d{2,4})", 1))
-                .time(extractPattern(text, "TIME[:\\s]*(\\d{1,2}:\\d{2}\\s*(?:AM|PM)?)", 1))
+                .date(values.get(FieldKey.INCIDENT_DATE))
+                .time(values.get(FieldKey.INCIDENT_TIME))
                 .location(location)
-                .description(extractPattern(text, "DESCRIPTION OF ACCIDENT[^\\n]*\\n([^\\n]+(?:\\n[^\\n]+)?)", 1))
+                .description(values.get(FieldKey.INCIDENT_DESCRIPTION))
                 .build();
     }
     
-    private ClaimData.InvolvedParties extractInvolvedParties(String text) {
+    private ClaimData.InvolvedParties buildInvolvedParties(Map<FieldKey, String> values) {
         ClaimData.InvolvedParties.Party.ContactDetails claimantContact = 
             ClaimData.InvolvedParties.Party.ContactDetails.builder()
-                .primaryPhone(extractPattern(text, "PHONE.*?PRIMARY[^\\d]*(\\d{3}[\\-\\s]?\\d{3}[\\-\\s]?\\d{4})", 1))
-                .primaryEmail(extractPattern(text, "PRIMARY E-MAIL[^\\n]*\\n?\\s*([\\w._%+-]+@[\\w.-]+\\.[A-Za-z]{2,})", 1))
+                .primaryPhone(values.get(FieldKey.CLAIMANT_PRIMARY_PHONE))
+                .primaryEmail(values.get(FieldKey.CLAIMANT_PRIMARY_EMAIL))
                 .build();
         
         ClaimData.InvolvedParties.Party claimant = ClaimData.InvolvedParties.Party.builder()
-                .name(extractPattern(text, "NAME OF CONTACT[^\\n]*\\n?\\s*([A-Za-z\\s,]+?)(?:\\s{2,}|\\n)", 1))
+                .name(values.get(FieldKey.CLAIMANT_NAME))
                 .contactDetails(claimantContact)
                 .build();
         
@@ -76,70 +133,51 @@ public class FieldExtractor {
                 .build();
     }
     
-    private ClaimData.AssetDetails extractAssetDetails(String text) {
+    private ClaimData.AssetDetails buildAssetDetails(Map<FieldKey, String> values) {
         ClaimData.AssetDetails.VehicleDetails vehicleDetails = 
             ClaimData.AssetDetails.VehicleDetails.builder()
-                .year(extractPattern(text, "YEAR[:\\s]*(\\d{4})", 1))
-                .make(extractPattern(text, "MAKE[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|VEH|\\n)", 1))
-                .model(extractPattern(text, "MODEL[:\\s]*([A-Za-z0-9\\s]+?)(?:\\s{2,}|BODY|\\n)", 1))
-                .bodyType(extractPattern(text, "BODY[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|TYPE|\\n)", 1))
-                .plateNumber(extractPattern(text, "PLATE NUMBER[:\\s]*(\\S+)", 1))
-                .state(extractPattern(text, "PLATE NUMBER[^\\n]*STATE[:\\s]*([A-Z]{2})", 1))
+                .year(values.get(FieldKey.VEHICLE_YEAR))
+                .make(values.get(FieldKey.VEHICLE_MAKE))
+                .model(values.get(FieldKey.VEHICLE_MODEL))
+                .bodyType(values.get(FieldKey.VEHICLE_BODY_TYPE))
+                .plateNumber(values.get(FieldKey.VEHICLE_PLATE_NUMBER))
+                .state(values.get(FieldKey.VEHICLE_PLATE_STATE))
                 .build();
         
-        String vin = extractPattern(text, "V\\.?I\\.?N\\.?[:\\s]*(\\w{17})", 1);
-        
         return ClaimData.AssetDetails.builder()
                 .assetType("VEHICLE")
-                .assetId(vin)
+                .assetId(values.get(FieldKey.VIN))
                 .vehicleDetails(vehicleDetails)
-                .damageDescription(extractPattern(text, "DESCRIBE DAMAGE[^\\n]*\\n([^\\n]+(?:\\n[^\\n]+)?)", 1))
-                .estimatedDamage(extractPattern(text, "ESTIMATE AMOUNT[:\\s]*\\$?([\\d,]+(?:\\.\\d{2})?)", 1))
+                .damageDescription(values.get(FieldKey.DAMAGE_DESCRIPTION))
+                .estimatedDamage(values.get(FieldKey.ESTIMATE_AMOUNT))
                 .build();
     }
     
-    private ClaimData.OtherMandatoryFields extractOtherMandatoryFields(String text) {
-        String claimType = determineClaimType(text);
-        
+    private ClaimData.OtherMandatoryFields buildOtherMandatoryFields(Map<FieldKey, String> values, String claimType) {
+        // ESTIMATE AMOUNT feeds both estimatedDamage and initialEstimate
         return ClaimData.OtherMandatoryFields.builder()
                 .claimType(claimType)
-                .initialEstimate(extractPattern(text, "ESTIMATE AMOUNT[:\\s]*\\$?([\\d,]+(?:\\.\\d{2})?)", 1))
-                .reportNumber(extractPattern(text, "REPORT NUMBER[:\\s]*(\\S+)", 1))
-                .policeOrFireDepartmentContacted(extractPattern(text, "POLICE OR FIRE DEPARTMENT CONTACTED[:\\s]*([YN])", 1))
+                .initialEstimate(values.get(FieldKey.ESTIMATE_AMOUNT))
+                .reportNumber(values.get(FieldKey.REPORT_NUMBER))
+                .policeOrFireDepartmentContacted(values.get(FieldKey.POLICE_OR_FIRE_CONTACTED))
                 .attachments(new ArrayList<>())
                 .build();
     }
     
-    private String determineClaimType(String text) {
-        String textLower = text.toLowerCase();
-        
-        if (textLower.contains("injury") || textLower.contains("injured")) {
+    /**
+     * One lexicon pass over the whole text; the highest-precedence claim type found wins
+     */
+    private String determineClaimType(CharSequence text) {
+        int found = lexicon.categories(text);
+
+        if ((found & KeywordCategory.CLAIM_TYPE_INJURY.mask()) != 0) {
             return "INJURY";
-        } else if (textLower.contains("automobile") || textLower.contains("vehicle") || textLower.contains("collision")) {
+        } else if ((found & KeywordCategory.CLAIM_TYPE_AUTOMOBILE.mask()) != 0) {
             return "AUTOMOBILE";
-        } else if (textLower.contains("property")) {
+        } else if ((found & KeywordCategory.CLAIM_TYPE_PROPERTY.mask()) != 0) {
             return "PROPERTY";
         }
         
         return "GENERAL";
     }
-    
-    /**
-     * Extract text using regex pattern
-     */
-    private String extractPattern(String text, String regex, int group) {
-        try {
-            Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-            Matcher matcher = pattern.matcher(text);
-            
-            if (matcher.find()) {
-                String result = matcher.group(group);
-                return result != null ? result.trim() : null;
-            }
-        } catch (Exception e) {
-            log.debug("Pattern not found: {}", regex);
-        }
-        
-        return null;
-    }
 }
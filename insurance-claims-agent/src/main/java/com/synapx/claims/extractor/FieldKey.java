@@ -0,0 +1,44 @@
+package com.synapx.claims.extractor;
+
+/**
+ * Target ClaimData fields that are populated by extraction rules
+ */
+public enum FieldKey {
+
+    // Policy Information
+    POLICY_NUMBER,
+    POLICYHOLDER_NAME,
+    EFFECTIVE_DATES,
+    CARRIER_NAIC_CODE,
+
+    // Incident Information
+    INCIDENT_DATE,
+    INCIDENT_TIME,
+    INCIDENT_DESCRIPTION,
+    LOCATION_STREET,
+    LOCATION_CITY,
+    LOCATION_STATE,
+    LOCATION_ZIP,
+    LOCATION_COUNTRY,
+    LOCATION_DESCRIPTION,
+
+    // Involved Parties
+    CLAIMANT_NAME,
+    CLAIMANT_PRIMARY_PHONE,
+    CLAIMANT_PRIMARY_EMAIL,
+
+    // Asset Details
+    VEHICLE_YEAR,
+    VEHICLE_MAKE,
+    VEHICLE_MODEL,
+    VEHICLE_BODY_TYPE,
+    VEHICLE_PLATE_NUMBER,
+    VEHICLE_PLATE_STATE,
+    VIN,
+    DAMAGE_DESCRIPTION,
+    ESTIMATE_AMOUNT,
+
+    // Other Mandatory Fields
+    REPORT_NUMBER,
+    POLICE_OR_FIRE_CONTACTED
+}
@@ -0,0 +1,222 @@
+package com.synapx.claims.extractor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of extraction rules, compiled once at startup and keyed by target field.
+ * A rule is an ACORD label anchor followed by a value expression; the full pattern is
+ * anchor + value, so it can be searched for anywhere or matched at a known anchor offset.
+ * Each rule keeps match/miss counters and timing so slow or dead rules are visible.
+ */
+@Slf4j
+@Component
+public class FieldPatternRegistry {
+
+    static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.MULTILINE;
+
+    private final Map<FieldKey, FieldRule> rules = new EnumMap<>(FieldKey.class);
+    private final String fingerprint;
+
+    public FieldPatternRegistry() {
+        // Policy Information
+        register(FieldKey.POLICY_NUMBER, "POLICY NUMBER", "[:\\s]*(\\S+)", 1);
+        register(FieldKey.POLICYHOLDER_NAME, "NAME OF INSURED", "[^\\n]*\\n[^\\n]*\\n?\\s*([A-Za-z\\s,]+?)(?:\\s{2,}|\\n)", 1);
+        register(FieldKey.EFFECTIVE_DATES, "EFFECTIVE DATES?", "[:\\s]*([\\d/\\-]+(?:\\s*(?:to|-)\\s*[\\d/\\-]+)?)", 1);
+        register(FieldKey.CARRIER_NAIC_CODE, "CARRIER NAIC CODE", "[:\\s]*(\\S+)", 1);
+
+        // Incident Information
+        register(FieldKey.INCIDENT_DATE, "DATE OF LOSS", "[^\\d]*(\\d{1,2}[/\\-]\\d{1,2}[/\\-]\\d{2,4})", 1);
+        register(FieldKey.INCIDENT_TIME, "TIME", "[:\\s]*(\\d{1,2}:\\d{2}\\s*(?:AM|PM)?)", 1);
+        register(FieldKey.INCIDENT_DESCRIPTION, "DESCRIPTION OF ACCIDENT", "[^\\n]*\\n([^\\n]+(?:\\n[^\\n]+)?)", 1);
+        register(FieldKey.LOCATION_STREET, "STREET", "[:\\s]*([^\\n]+?)(?:\\s{2,}|\\n)", 1);
+        register(FieldKey.LOCATION_CITY, "CITY", "[,\\s]*([A-Za-z\\s]+?)(?:,|\\s{2,})", 1);
+        register(FieldKey.LOCATION_STATE, "STATE", "[:\\s]*([A-Z]{2})", 1);
+        register(FieldKey.LOCATION_ZIP, "ZIP", "[:\\s]*(\\d{5}(?:-\\d{4})?)", 1);
+        register(FieldKey.LOCATION_COUNTRY, "COUNTRY", "[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|\\n)", 1);
+        register(FieldKey.LOCATION_DESCRIPTION, "DESCRIBE LOCATION", "[^\\n]*\\n([^\\n]+)", 1);
+
+        // Involved Parties
+        register(FieldKey.CLAIMANT_NAME, "NAME OF CONTACT", "[^\\n]*\\n?\\s*([A-Za-z\\s,]+?)(?:\\s{2,}|\\n)", 1);
+        register(FieldKey.CLAIMANT_PRIMARY_PHONE, "PHONE", ".*?PRIMARY[^\\d]*(\\d{3}[\\-\\s]?\\d{3}[\\-\\s]?\\d{4})", 1);
+        register(FieldKey.CLAIMANT_PRIMARY_EMAIL, "PRIMARY E-MAIL", "[^\\n]*?\\n?\\s*(?<![\\w.%+-])([\\w._%+-]+@[\\w.-]+\\.[A-Za-z]{2,})", 1);
+
+        // Asset Details
+        register(FieldKey.VEHICLE_YEAR, "YEAR", "[:\\s]*(\\d{4})", 1);
+        register(FieldKey.VEHICLE_MAKE, "MAKE", "[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|VEH|\\n)", 1);
+        register(FieldKey.VEHICLE_MODEL, "MODEL", "[:\\s]*([A-Za-z0-9\\s]+?)(?:\\s{2,}|BODY|\\n)", 1);
+        register(FieldKey.VEHICLE_BODY_TYPE, "BODY", "[:\\s]*([A-Za-z\\s]+?)(?:\\s{2,}|TYPE|\\n)", 1);
+        register(FieldKey.VEHICLE_PLATE_NUMBER, "PLATE NUMBER", "[:\\s]*(\\S+)", 1);
+        register(FieldKey.VEHICLE_PLATE_STATE, "PLATE NUMBER", "[^\\n]*STATE[:\\s]*([A-Z]{2})", 1);
+        register(FieldKey.VIN, "V\\.?I\\.?N\\.?", "[:\\s]*(\\w{17})", 1);
+        register(FieldKey.DAMAGE_DESCRIPTION, "DESCRIBE DAMAGE", "[^\\n]*\\n([^\\n]+(?:\\n[^\\n]+)?)", 1);
+        register(FieldKey.ESTIMATE_AMOUNT, "ESTIMATE AMOUNT", "[:\\s]*\\$?([\\d,]+(?:\\.\\d{2})?)", 1);
+
+        // Other Mandatory Fields
+        register(FieldKey.REPORT_NUMBER, "REPORT NUMBER", "[:\\s]*(\\S+)", 1);
+        register(FieldKey.POLICE_OR_FIRE_CONTACTED, "POLICE OR FIRE DEPARTMENT CONTACTED", "[:\\s]*([YN])", 1);
+
+        fingerprint = computeFingerprint();
+        log.info("Compiled {} field extraction rules (fingerprint {})", rules.size(), fingerprint.substring(0, 12));
+    }
+
+    /**
+     * Apply the rule registered for a field and return the trimmed capture, or null on a miss
+     */
+    public String extract(FieldKey field, CharSequence text) {
+        FieldRule rule = rules.get(field);
+        if (rule == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        String result = null;
+        try {
+            Matcher matcher = rule.pattern.matcher(text);
+            if (matcher.find()) {
+                String value = matcher.group(rule.group);
+                result = value != null ? value.trim() : null;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Pattern failed for {}: {}", field, e.getMessage());
+        }
+        rule.record(result != null, System.nanoTime() - start);
+        return result;
+    }
+
+    public Collection<FieldRule> getRules() {
+        return Collections.unmodifiableCollection(rules.values());
+    }
+
+    /**
+     * Snapshot of per-field match/miss counts and timing
+     */
+    public List<FieldStats> getStats() {
+        List<FieldStats> stats = new ArrayList<>(rules.size());
+        for (FieldRule rule : rules.values()) {
+            stats.add(rule.snapshot());
+        }
+        return stats;
+    }
+
+    public void resetStats() {
+        rules.values().forEach(FieldRule::reset);
+    }
+
+    public FieldRule getRule(FieldKey field) {
+        return rules.get(field);
+    }
+
+    /**
+     * SHA-256 over every rule's field, pattern and group; changes whenever a rule does,
+     * so results extracted under other rules can be recognised as stale
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    private String computeFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (FieldRule rule : rules.values()) {
+                digest.update((rule.field.name() + '\0' + rule.pattern.pattern() + '\0' + rule.group + '\n')
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void register(FieldKey field, String anchor, String value, int group) {
+        rules.put(field, new FieldRule(field, anchor, Pattern.compile(anchor + value, FLAGS), group));
+    }
+
+    /**
+     * A compiled extraction rule and its runtime counters
+     */
+    public static final class FieldRule {
+        private final FieldKey field;
+        private final String anchor;
+        private final Pattern pattern;
+        private final int group;
+
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        FieldRule(FieldKey field, String anchor, Pattern pattern, int group) {
+            this.field = field;
+            this.anchor = anchor;
+            this.pattern = pattern;
+            this.group = group;
+        }
+
+        public FieldKey getField() {
+            return field;
+        }
+
+        /**
+         * Regex (without capturing groups) for the label the value follows
+         */
+        public String getAnchor() {
+            return anchor;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        public int getGroup() {
+            return group;
+        }
+
+        void record(boolean matched, long nanos) {
+            (matched ? matches : misses).increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void reset() {
+            matches.reset();
+            misses.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+
+        FieldStats snapshot() {
+            long hits = matches.sum();
+            long miss = misses.sum();
+            long calls = hits + miss;
+            long nanos = totalNanos.sum();
+            return new FieldStats(
+                field.name(),
+                pattern.pattern(),
+                hits,
+                miss,
+                calls == 0 ? 0.0 : nanos / 1_000.0 / calls,
+                maxNanos.get() / 1_000.0,
+                nanos / 1_000_000.0
+            );
+        }
+    }
+
+    public record FieldStats(String field, String pattern, long matches, long misses,
+                             double avgMicros, double maxMicros, double totalMillis) {}
+}
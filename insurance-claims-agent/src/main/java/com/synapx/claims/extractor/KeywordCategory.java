@@ -0,0 +1,21 @@
+package com.synapx.claims.extractor;
+
+/**
+ * Lexicon categories a keyword can belong to; each maps to one bit of a category mask
+ */
+public enum KeywordCategory {
+
+    /** Fraud indicators in the incident description */
+    FRAUD,
+    /** Injury terms in the incident description */
+    INJURY,
+
+    // Claim type, decided from the whole document text in this order of precedence
+    CLAIM_TYPE_INJURY,
+    CLAIM_TYPE_AUTOMOBILE,
+    CLAIM_TYPE_PROPERTY;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
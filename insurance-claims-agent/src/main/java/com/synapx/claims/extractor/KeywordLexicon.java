@@ -0,0 +1,110 @@
+package com.synapx.claims.extractor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.config.ClaimsProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fraud, injury and claim-type keywords loaded from {@code claims.lexicon.location} and
+ * compiled into one shared {@link KeywordMatcher}, so every keyword check in the pipeline
+ * is a single case-insensitive pass over the text.
+ */
+@Slf4j
+@Component
+public class KeywordLexicon {
+
+    private static final TypeReference<Map<KeywordCategory, List<String>>> LEXICON_TYPE = new TypeReference<>() {};
+
+    private final KeywordMatcher matcher;
+    private final String fingerprint;
+
+    public KeywordLexicon(ClaimsProperties properties) {
+        String location = properties.getLexicon().getLocation();
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        byte[] content;
+        try (InputStream in = resource.getInputStream()) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read keyword lexicon from " + location, e);
+        }
+
+        Map<KeywordCategory, List<String>> lexicon;
+        try {
+            lexicon = new ObjectMapper().readValue(content, LEXICON_TYPE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid keyword lexicon in " + location + ": " + e.getMessage(), e);
+        }
+
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        lexicon.forEach((category, terms) -> terms.forEach(term -> keywords.merge(term, category.mask(), (a, b) -> a | b)));
+        this.matcher = new KeywordMatcher(keywords);
+        this.fingerprint = sha256(content);
+        log.info("Compiled keyword lexicon: {} keywords, {} automaton states", matcher.size(), matcher.stateCount());
+    }
+
+    /**
+     * Mask of every category with at least one keyword in the text
+     */
+    public int categories(CharSequence text) {
+        return matcher.categories(text);
+    }
+
+    public boolean containsAny(CharSequence text, KeywordCategory category) {
+        return text != null && matcher.containsAny(text, category.mask());
+    }
+
+    /**
+     * Every keyword of the given categories in the text, in order of where it ends.
+     * A keyword listed under several requested categories is reported once per category.
+     */
+    public List<KeywordMatch> find(CharSequence text, KeywordCategory... categories) {
+        List<KeywordMatch> matches = new ArrayList<>();
+        if (text == null) {
+            return matches;
+        }
+        int mask = 0;
+        for (KeywordCategory category : categories) {
+            mask |= category.mask();
+        }
+        int requested = mask;
+        matcher.scan(text, requested, (keyword, start, end) -> {
+            int hits = matcher.categoryMask(keyword) & requested;
+            for (KeywordCategory category : categories) {
+                if ((hits & category.mask()) != 0) {
+                    matches.add(new KeywordMatch(matcher.keyword(keyword), category, start, end));
+                }
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * SHA-256 of the lexicon file; results classified under another lexicon are stale
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.synapx.claims.extractor;
+
+/**
+ * One lexicon keyword found in a text, as the lowercase lexicon entry and its char offsets
+ */
+public record KeywordMatch(String keyword, KeywordCategory category, int start, int end) {
+}
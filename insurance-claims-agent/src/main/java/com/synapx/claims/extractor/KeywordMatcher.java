@@ -0,0 +1,236 @@
+package com.synapx.claims.extractor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed keyword set. Every keyword carries
+ * a bit mask of the categories it belongs to. The automaton is compiled to a dense DFA
+ * over the characters that occur in keywords, so a scan is one table lookup per input
+ * character, reads the text in place, and allocates nothing. Keywords match as substrings,
+ * as String.contains would.
+ */
+public final class KeywordMatcher {
+
+    /**
+     * Receives each match; start and end are char offsets into the scanned text
+     */
+    @FunctionalInterface
+    public interface MatchSink {
+        void match(int keyword, int start, int end);
+    }
+
+    private final String[] keywords;
+    private final int[] keywordMasks;
+    /** Character class per (lowercased) char; 0 for chars that occur in no keyword */
+    private final char[] charClasses;
+    private final int classCount;
+    /** Next state for state * classCount + class */
+    private final int[] transitions;
+    /** Categories of every keyword ending at a state, including suffix matches */
+    private final int[] stateMasks;
+    /** Keywords ending at state s are outputs[outputStart[s] .. outputStart[s + 1]) */
+    private final int[] outputStart;
+    private final int[] outputs;
+
+    /**
+     * @param keywords keyword to category mask; keywords are matched ignoring case
+     */
+    public KeywordMatcher(Map<String, Integer> keywords) {
+        Map<String, Integer> normalised = new LinkedHashMap<>();
+        keywords.forEach((keyword, mask) -> {
+            String lowered = lower(keyword.trim());
+            if (!lowered.isEmpty()) {
+                normalised.merge(lowered, mask, (a, b) -> a | b);
+            }
+        });
+        this.keywords = normalised.keySet().toArray(new String[0]);
+        this.keywordMasks = normalised.values().stream().mapToInt(Integer::intValue).toArray();
+
+        // Character classes
+        this.charClasses = new char[Character.MAX_VALUE + 1];
+        int classes = 1;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = (char) classes++;
+                }
+            }
+        }
+        this.classCount = classes;
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ownOutputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        ownOutputs.add(new ArrayList<>());
+        for (int id = 0; id < this.keywords.length; id++) {
+            int state = 0;
+            String keyword = this.keywords[id];
+            for (int i = 0; i < keyword.length(); i++) {
+                int cls = charClasses[keyword.charAt(i)];
+                Integer next = children.get(state).get(cls);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    ownOutputs.add(new ArrayList<>());
+                    children.get(state).put(cls, next);
+                }
+                state = next;
+            }
+            ownOutputs.get(state).add(id);
+        }
+
+        // Failure links in BFS order, folded into a full transition table
+        int states = children.size();
+        this.transitions = new int[states * classCount];
+        this.stateMasks = new int[states];
+        int[] fail = new int[states];
+        List<List<Integer>> allOutputs = new ArrayList<>(states);
+        for (int s = 0; s < states; s++) {
+            allOutputs.add(null);
+        }
+        allOutputs.set(0, ownOutputs.get(0));
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : children.get(0).entrySet()) {
+            transitions[edge.getKey()] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        for (int s : children.get(0).values()) {
+            allOutputs.set(s, ownOutputs.get(s));
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = allOutputs.get(state);
+            for (int o : out) {
+                stateMasks[state] |= keywordMasks[o];
+            }
+            for (int cls = 1; cls < classCount; cls++) {
+                Integer child = children.get(state).get(cls);
+                if (child == null) {
+                    transitions[state * classCount + cls] = transitions[fail[state] * classCount + cls];
+                    continue;
+                }
+                transitions[state * classCount + cls] = child;
+                int childFail = transitions[fail[state] * classCount + cls];
+                fail[child] = childFail;
+                List<Integer> childOutputs = new ArrayList<>(ownOutputs.get(child));
+                childOutputs.addAll(allOutputs.get(childFail));
+                allOutputs.set(child, childOutputs);
+                queue.add(child);
+            }
+        }
+
+        // Flatten outputs
+        this.outputStart = new int[states + 1];
+        int total = 0;
+        for (int s = 0; s < states; s++) {
+            outputStart[s] = total;
+            total += allOutputs.get(s) != null ? allOutputs.get(s).size() : 0;
+        }
+        outputStart[states] = total;
+        this.outputs = new int[total];
+        for (int s = 0; s < states; s++) {
+            List<Integer> out = allOutputs.get(s);
+            for (int i = 0; out != null && i < out.size(); i++) {
+                outputs[outputStart[s] + i] = out.get(i);
+            }
+        }
+    }
+
+    /**
+     * Union of the categories of every keyword that occurs in the text
+     */
+    public int categories(CharSequence text) {
+        if (text instanceof NormalizedText normalized) {
+            return categories(normalized.folded, normalized.length());
+        }
+        int state = 0;
+        int seen = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + charClasses[Character.toLowerCase(text.charAt(i))]];
+            seen |= stateMasks[state];
+        }
+        return seen;
+    }
+
+    /**
+     * Scan text that is already lower-cased, such as the folded view of normalised text
+     */
+    private int categories(char[] folded, int length) {
+        int state = 0;
+        int seen = 0;
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * classCount + charClasses[folded[i]]];
+            seen |= stateMasks[state];
+        }
+        return seen;
+    }
+
+    /**
+     * Whether any keyword in the given categories occurs; stops at the first one
+     */
+    public boolean containsAny(CharSequence text, int categoryMask) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + charClasses[Character.toLowerCase(text.charAt(i))]];
+            if ((stateMasks[state] & categoryMask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Report every occurrence of a keyword in the given categories, in order of its end offset
+     */
+    public void scan(CharSequence text, int categoryMask, MatchSink sink) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + charClasses[Character.toLowerCase(text.charAt(i))]];
+            if ((stateMasks[state] & categoryMask) == 0) {
+                continue;
+            }
+            for (int o = outputStart[state]; o < outputStart[state + 1]; o++) {
+                int keyword = outputs[o];
+                if ((keywordMasks[keyword] & categoryMask) != 0) {
+                    sink.match(keyword, i + 1 - keywords[keyword].length(), i + 1);
+                }
+            }
+        }
+    }
+
+    public String keyword(int id) {
+        return keywords[id];
+    }
+
+    public int categoryMask(int id) {
+        return keywordMasks[id];
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public int stateCount() {
+        return stateMasks.length;
+    }
+
+    /**
+     * Per-char lowercasing, the same mapping the scan applies, so offsets stay aligned
+     */
+    private static String lower(String keyword) {
+        char[] chars = keyword.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
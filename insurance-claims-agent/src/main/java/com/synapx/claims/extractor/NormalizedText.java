@@ -0,0 +1,77 @@
+package com.synapx.claims.extractor;
+
+/**
+ * Extracted text after {@link TextNormalizer}, held in pooled buffers. Alongside the text
+ * it keeps a lower-cased copy with the same offsets, so case-insensitive matchers compare
+ * chars directly instead of folding every char they read. Values read from it through
+ * {@link #subSequence} or {@link #toString} are copies and stay valid after {@link #close},
+ * which hands the buffers back for the next document.
+ */
+public final class NormalizedText implements CharSequence, AutoCloseable {
+
+    private final TextNormalizer owner;
+    char[] chars;
+    char[] folded;
+    int length;
+    boolean released;
+
+    NormalizedText(TextNormalizer owner, int capacity) {
+        this.owner = owner;
+        this.chars = new char[capacity];
+        this.folded = new char[capacity];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    /**
+     * The lower-cased char at the given offset, as Character.toLowerCase would return it
+     */
+    public char foldedCharAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return folded[index];
+    }
+
+    @Override
+    public String subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+        }
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Return the buffers to the pool; the text must not be read afterwards
+     */
+    @Override
+    public void close() {
+        owner.release(this);
+    }
+
+    /**
+     * Make room for at least the given number of chars, discarding the contents
+     */
+    void ensureCapacity(int capacity) {
+        if (chars.length < capacity) {
+            chars = new char[capacity];
+            folded = new char[capacity];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.synapx.claims.extractor;
+
+import java.util.Map;
+
+/**
+ * What PdfExtractor read from a document: the AcroForm field values of a fillable ACORD
+ * form, or the stripped text of anything else. Exactly one of the two is set.
+ */
+public record PdfContent(String text, Map<FieldKey, String> formFields) {
+
+    public static PdfContent text(String text) {
+        return new PdfContent(text, null);
+    }
+
+    public static PdfContent form(Map<FieldKey, String> formFields) {
+        return new PdfContent(null, formFields);
+    }
+
+    public boolean isForm() {
+        return formFields != null;
+    }
+}
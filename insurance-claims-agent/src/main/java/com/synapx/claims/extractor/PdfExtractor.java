@@ -1,48 +1,401 @@
 package com.synapx.claims.extractor;
 
+import com.synapx.claims.config.ClaimsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 public class PdfExtractor {
 
+    private final ClaimsProperties.Pdf properties;
+    private final RandomAccessStreamCache.StreamCacheCreateFunction scratchCache;
+    private final ExecutorService pageWorkers;
+    private final Semaphore parsePermits;
+    private final AcroFormReader acroFormReader;
+    private final BlockingQueue<LimitedTextStripper> strippers;
+    private final Map<PdfLimitExceededException.Limit, Counter> aborted = new EnumMap<>(PdfLimitExceededException.Limit.class);
+
+    public PdfExtractor(ClaimsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getPdf();
+        // Scratch buffers stay on-heap up to the budget, then spill to temp files
+        this.scratchCache = MemoryUsageSetting
+                .setupMixed(this.properties.getScratchMainMemory().toBytes())
+                .streamCache;
+        this.pageWorkers = this.properties.getPageParallel().isEnabled()
+                ? createPageWorkers(this.properties.getPageParallel())
+                : null;
+        this.parsePermits = this.properties.getMaxConcurrentParses() > 0
+                ? new Semaphore(this.properties.getMaxConcurrentParses(), true)
+                : null;
+        this.acroFormReader = this.properties.getAcroForm().isEnabled()
+                ? new AcroFormReader(this.properties.getAcroForm().getMinFields())
+                : null;
+        // Enough idle strippers for every parse slot and page worker to pick one up
+        int concurrency = this.properties.getMaxConcurrentParses() > 0
+                ? this.properties.getMaxConcurrentParses()
+                : Runtime.getRuntime().availableProcessors();
+        if (pageWorkers != null) {
+            concurrency += this.properties.getPageParallel().getThreads();
+        }
+        this.strippers = new ArrayBlockingQueue<>(concurrency);
+        for (PdfLimitExceededException.Limit limit : PdfLimitExceededException.Limit.values()) {
+            aborted.put(limit, Counter.builder("claims.pdf.aborted")
+                    .description("Documents abandoned for exceeding a claims.pdf.limits limit")
+                    .tag("limit", limit.tag())
+                    .register(meterRegistry));
+        }
+        if (this.properties.getLimits().isWarmFontCache()) {
+            warmFontCache();
+        }
+    }
+
+    /**
+     * Read the form fields of a fillable ACORD form, or the text of any other PDF file
+     */
+    public PdfContent extract(MultipartFile file) throws IOException {
+        log.info("Extracting content from PDF: {}", file.getOriginalFilename());
+
+        if (properties.getIngestion() == ClaimsProperties.Pdf.Ingestion.BUFFERED) {
+            return extract(PdfSource.of(file.getBytes(), file.getOriginalFilename()));
+        }
+
+        try (PdfSource source = open(file)) {
+            return extract(source);
+        }
+    }
+
+    /**
+     * Read the AcroForm fields of a born-digital ACORD form without stripping any text.
+     * Scanned and flattened documents, and forms left mostly blank, fall back to
+     * {@link #extractText(PdfSource)}'s text extraction on the same parse.
+     */
+    public PdfContent extract(PdfSource source) throws IOException {
+        return read(source, acroFormReader != null);
+    }
+
     /**
      * Extract text content from PDF file
      */
     public String extractTextFromPdf(MultipartFile file) throws IOException {
         log.info("Extracting text from PDF: {}", file.getOriginalFilename());
-        
-        try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-            
-            log.info("Successfully extracted {} characters from PDF", text.length());
-            return text;
-        } catch (IOException e) {
-            log.error("Error extracting text from PDF: {}", e.getMessage());
-            throw new IOException("Failed to extract text from PDF: " + e.getMessage(), e);
+
+        if (properties.getIngestion() == ClaimsProperties.Pdf.Ingestion.BUFFERED) {
+            return extractTextFromPdf(file.getBytes());
+        }
+
+        try (PdfSource source = open(file)) {
+            return extractText(source);
         }
     }
-    
+
     /**
      * Extract text from byte array
      */
     public String extractTextFromPdf(byte[] pdfBytes) throws IOException {
         log.info("Extracting text from PDF byte array");
-        
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        return extractText(PdfSource.of(pdfBytes, "bytes"));
+    }
+
+    /**
+     * Extract text from a PDF source without materialising it on the heap.
+     * Only the ACORD form pages are parsed unless the form page limit is disabled.
+     * Parsing is CPU-bound, so callers wait for one of a fixed number of parse slots;
+     * with virtual threads this keeps thousands of requests from oversubscribing the cores.
+     */
+    public String extractText(PdfSource source) throws IOException {
+        return read(source, false).text();
+    }
+
+    private PdfContent read(PdfSource source, boolean readForm) throws IOException {
+        if (parsePermits == null) {
+            return parse(source, readForm);
+        }
+
+        try {
+            parsePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting to parse " + source.getName(), e);
+        }
+        try {
+            return parse(source, readForm);
+        } finally {
+            parsePermits.release();
+        }
+    }
+
+    private PdfContent parse(PdfSource source, boolean readForm) throws IOException {
+        ParseBudget budget = new ParseBudget(properties.getLimits(), source.getName());
+        try (PDDocument document = load(source)) {
+            checkSize(document, budget);
+            if (readForm) {
+                Map<FieldKey, String> formFields = acroFormReader.read(document);
+                if (formFields != null) {
+                    log.info("Read {} ACORD form fields without text extraction", formFields.size());
+                    return PdfContent.form(formFields);
+                }
+            }
+
+            int pageCount = document.getNumberOfPages();
+            int lastPage = properties.getFormPageLimit() > 0
+                    ? Math.min(pageCount, properties.getFormPageLimit())
+                    : pageCount;
+
+            String text = pageWorkers != null && lastPage >= properties.getPageParallel().getMinPages()
+                    ? stripParallel(source, document, lastPage, budget)
+                    : strip(document, 1, lastPage, budget);
+
+            log.info("Successfully extracted {} characters from {} of {} pages", text.length(), lastPage, pageCount);
+            return PdfContent.text(text);
+        } catch (PdfLimitExceededException e) {
+            aborted.get(e.getLimit()).increment();
+            log.warn("Abandoned PDF {}: {}", source.getName(), e.getMessage());
+            throw e;
         } catch (IOException e) {
-            log.error("Error extracting text from PDF bytes: {}", e.getMessage());
+            log.error("Error extracting text from PDF {}: {}", source.getName(), e.getMessage());
             throw new IOException("Failed to extract text from PDF: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Spool an upload to disk so it can be parsed through a file-backed reader, or copy it
+     * onto the heap with BUFFERED ingestion. The caller must close the returned source to
+     * remove the spooled file.
+     */
+    public PdfSource open(MultipartFile file) throws IOException {
+        if (properties.getIngestion() == ClaimsProperties.Pdf.Ingestion.BUFFERED) {
+            return PdfSource.of(file.getBytes(), file.getOriginalFilename());
+        }
+        return PdfSource.spool(file, properties.getSpoolDir(), properties.isMemoryMapped());
+    }
+
+    /**
+     * Spool a stream such as a zip entry to disk, enforcing the per-document size limit.
+     * The caller must close the returned source to remove the spooled file.
+     */
+    public PdfSource open(InputStream in, String name) throws IOException {
+        return PdfSource.spool(in, name, properties.getSpoolDir(), properties.isMemoryMapped(),
+                properties.getMaxFileSize().toBytes());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pageWorkers != null) {
+            pageWorkers.shutdownNow();
+        }
+    }
+
+    /**
+     * Split pages 1..lastPage into ranges. PDDocument is not thread-safe, so every
+     * worker loads its own copy from the source; the first range reuses the document
+     * already open on the calling thread. Ranges are reassembled in page order and share
+     * the document's parse budget.
+     */
+    private String stripParallel(PdfSource source, PDDocument document, int lastPage,
+                                 ParseBudget budget) throws IOException {
+        int pagesPerTask = Math.max(1, properties.getPageParallel().getPagesPerTask());
+        List<Future<String>> ranges = new ArrayList<>();
+        for (int start = 1 + pagesPerTask; start <= lastPage; start += pagesPerTask) {
+            int from = start;
+            int to = Math.min(lastPage, start + pagesPerTask - 1);
+            ranges.add(pageWorkers.submit(() -> {
+                try (PDDocument copy = load(source)) {
+                    return strip(copy, from, to, budget);
+                }
+            }));
+        }
+
+        StringBuilder text = new StringBuilder();
+        boolean complete = false;
+        try {
+            text.append(strip(document, 1, Math.min(lastPage, pagesPerTask), budget));
+            for (Future<String> range : ranges) {
+                text.append(range.get());
+            }
+            complete = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during page-parallel extraction", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+        } finally {
+            if (!complete) {
+                // Whichever range failed, including the first one on this thread, the rest are abandoned
+                ranges.forEach(range -> range.cancel(true));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Strip a page range with a pooled stripper. A stripper that failed part-way may hold
+     * state from the aborted document, so it is dropped rather than returned.
+     */
+    private String strip(PDDocument document, int startPage, int endPage, ParseBudget budget) throws IOException {
+        LimitedTextStripper stripper = strippers.poll();
+        if (stripper == null) {
+            stripper = new LimitedTextStripper();
+        }
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        stripper.budget = budget;
+        stripper.uncharged = 0;
+        String text = stripper.getText(document);
+        stripper.budget = null;
+        strippers.offer(stripper);
+        return text;
+    }
+
+    /**
+     * Refuse a document whose page tree or cross-reference table is beyond the limits
+     * before any content stream is read
+     */
+    private static void checkSize(PDDocument document, ParseBudget budget) throws IOException {
+        budget.checkDeadline();
+        ClaimsProperties.Pdf.Limits limits = budget.limits;
+        int pages = document.getNumberOfPages();
+        if (limits.getMaxPages() > 0 && pages > limits.getMaxPages()) {
+            throw new PdfLimitExceededException(PdfLimitExceededException.Limit.PAGES,
+                    budget.document + " has " + pages + " pages; the limit is " + limits.getMaxPages());
+        }
+        int objects = document.getDocument().getXrefTable().size();
+        if (limits.getMaxObjects() > 0 && objects > limits.getMaxObjects()) {
+            throw new PdfLimitExceededException(PdfLimitExceededException.Limit.OBJECTS,
+                    budget.document + " has " + objects + " objects; the limit is " + limits.getMaxObjects());
+        }
+    }
+
+    /**
+     * Resolve the system font index in the background. PDFBox builds it on first use, so
+     * otherwise the first document with a non-embedded font waits for a full font scan.
+     */
+    private static void warmFontCache() {
+        Thread warmer = new Thread(() -> {
+            long start = System.nanoTime();
+            FontMappers.instance().getFontBoxFont("Helvetica", null);
+            log.info("System font index ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }, "pdf-font-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Load a document; PDFBox closes the reader with the document, but not when parsing fails
+     */
+    private PDDocument load(PdfSource source) throws IOException {
+        RandomAccessRead read = source.openRead();
+        try {
+            return Loader.loadPDF(read, scratchCache);
+        } catch (IOException | RuntimeException e) {
+            read.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Bounded pool; when the queue is full the request thread strips the range itself
+     */
+    private static ExecutorService createPageWorkers(ClaimsProperties.Pdf.PageParallel config) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                config.getThreads(), config.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-page-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Parse deadline and content operator budget of one document, shared by its page ranges
+     */
+    private static final class ParseBudget {
+        private final ClaimsProperties.Pdf.Limits limits;
+        private final String document;
+        /** Whether there is a deadline at all; nanoTime() may be negative, so no sentinel value works */
+        private final boolean timed;
+        private final long deadlineNanos;
+        private final AtomicLong operators = new AtomicLong();
+
+        ParseBudget(ClaimsProperties.Pdf.Limits limits, String document) {
+            this.limits = limits;
+            this.document = document;
+            this.timed = !limits.getParseTimeout().isZero();
+            this.deadlineNanos = timed ? System.nanoTime() + limits.getParseTimeout().toNanos() : 0;
+        }
+
+        void checkDeadline() throws PdfLimitExceededException {
+            if (timed && System.nanoTime() - deadlineNanos > 0) {
+                throw new PdfLimitExceededException(PdfLimitExceededException.Limit.DEADLINE,
+                        document + " was not parsed within " + limits.getParseTimeout().toMillis() + " ms");
+            }
+        }
+
+        void charge(int count) throws PdfLimitExceededException {
+            long total = operators.addAndGet(count);
+            if (limits.getMaxContentOperators() > 0 && total > limits.getMaxContentOperators()) {
+                throw new PdfLimitExceededException(PdfLimitExceededException.Limit.OPERATORS,
+                        document + " has more than " + limits.getMaxContentOperators() + " content stream operators");
+            }
+            checkDeadline();
+        }
+    }
+
+    /**
+     * Reusable stripper that charges every content stream operator to the document's budget
+     */
+    private static final class LimitedTextStripper extends PDFTextStripper {
+        private static final int CHARGE_EVERY = 256;
+
+        private ParseBudget budget;
+        private int uncharged;
+
+        LimitedTextStripper() throws IOException {
+            super();
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if (++uncharged == CHARGE_EVERY) {
+                uncharged = 0;
+                budget.charge(CHARGE_EVERY);
+            }
+            super.processOperator(operator, operands);
+        }
+    }
 }
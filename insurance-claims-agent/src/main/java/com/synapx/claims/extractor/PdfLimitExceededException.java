@@ -0,0 +1,32 @@
+package com.synapx.claims.extractor;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * A document was abandoned because it exceeded one of the {@code claims.pdf.limits};
+ * the message names the limit and the document
+ */
+public class PdfLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Limit {
+        DEADLINE, PAGES, OBJECTS, OPERATORS;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Limit limit;
+
+    public PdfLimitExceededException(Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+}
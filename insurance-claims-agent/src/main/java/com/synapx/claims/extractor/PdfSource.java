@@ -0,0 +1,195 @@
+package com.synapx.claims.extractor;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A PDF document that PDFBox can read without the caller holding the whole file on-heap.
+ * Every {@link #openRead()} returns an independent reader, so a source can be parsed
+ * more than once or by several workers.
+ */
+public interface PdfSource extends Closeable {
+
+    String getName();
+
+    long getSize() throws IOException;
+
+    RandomAccessRead openRead() throws IOException;
+
+    InputStream openStream() throws IOException;
+
+    /**
+     * Hex SHA-256 of the document bytes, streamed so the document is never held on-heap
+     */
+    default String sha256() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = openStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    static PdfSource of(byte[] bytes, String name) {
+        return new BytesSource(bytes, name);
+    }
+
+    /**
+     * File-backed source read through a small sliding buffer
+     */
+    static PdfSource of(Path path) {
+        return new FileSource(path, path.getFileName().toString(), false, false);
+    }
+
+    /**
+     * File-backed source read through a memory-mapped buffer (off-heap)
+     */
+    static PdfSource mapped(Path path) {
+        return new FileSource(path, path.getFileName().toString(), true, false);
+    }
+
+    /**
+     * Move an upload into {@code spoolDir} and read it from there. transferTo(File) goes
+     * through Part.write, which renames a disk-backed multipart part into place, so the
+     * upload is neither copied nor read onto the heap (transferTo(Path) would stream-copy
+     * it). The spooled file is deleted when the source is closed.
+     */
+    static PdfSource spool(MultipartFile file, Path spoolDir, boolean memoryMapped) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path spooled = Files.createTempFile(spoolDir, "upload-", ".pdf");
+        try {
+            file.transferTo(spooled.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : spooled.getFileName().toString();
+        return new FileSource(spooled, name, memoryMapped, true);
+    }
+
+    /**
+     * Copy a stream (e.g. a zip entry) into {@code spoolDir}, failing once more than
+     * {@code maxBytes} have been read. The spooled file is deleted when the source is closed.
+     */
+    static PdfSource spool(InputStream in, String name, Path spoolDir, boolean memoryMapped, long maxBytes) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path spooled = Files.createTempFile(spoolDir, "entry-", ".pdf");
+        try (OutputStream out = Files.newOutputStream(spooled)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IOException(name + " exceeds the maximum size of " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return new FileSource(spooled, name, memoryMapped, true);
+    }
+
+    final class BytesSource implements PdfSource {
+        private final byte[] bytes;
+        private final String name;
+
+        private BytesSource(byte[] bytes, String name) {
+            this.bytes = bytes;
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() {
+            return bytes.length;
+        }
+
+        @Override
+        public RandomAccessRead openRead() {
+            return new RandomAccessReadBuffer(bytes);
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    final class FileSource implements PdfSource {
+        private final Path path;
+        private final String name;
+        private final boolean memoryMapped;
+        private final boolean deleteOnClose;
+
+        private FileSource(Path path, String name, boolean memoryMapped, boolean deleteOnClose) {
+            this.path = path;
+            this.name = name;
+            this.memoryMapped = memoryMapped;
+            this.deleteOnClose = deleteOnClose;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() throws IOException {
+            return Files.size(path);
+        }
+
+        @Override
+        public RandomAccessRead openRead() throws IOException {
+            return memoryMapped
+                    ? new RandomAccessReadMemoryMappedFile(path)
+                    : new RandomAccessReadBufferedFile(path);
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (deleteOnClose) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.synapx.claims.extractor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Normalises PDFTextStripper output before fields are extracted from it, in one pass:
+ * <ul>
+ *   <li>{@code \r\n}, {@code \r} and the Unicode line and paragraph separators become {@code \n}</li>
+ *   <li>tabs, no-break and other Unicode spaces become plain spaces; soft hyphens and
+ *       zero-width spaces are dropped</li>
+ *   <li>a run of two or more spaces becomes exactly two, the column gap the field
+ *       patterns end values at, and a single space stays single</li>
+ *   <li>spaces at the end of a line are dropped</li>
+ * </ul>
+ * Field patterns end values at the same places on the normalised text, but the {@code \s}
+ * runs they backtrack over are at most two long, and multi-line values no longer carry
+ * trailing spaces or tabs. The lower-cased copy is filled in the same pass. Buffers are
+ * pooled, so steady-state extraction allocates no text copies; buffers grown past
+ * {@link #MAX_POOLED_CHARS} for an unusually long document are dropped instead of kept.
+ */
+public class TextNormalizer {
+
+    static final int MAX_POOLED_CHARS = 1 << 20;
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private final BlockingQueue<NormalizedText> pool;
+
+    public TextNormalizer(int poolSize) {
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    /**
+     * Normalise the text into pooled buffers; close the result once values have been read from it
+     */
+    public NormalizedText normalize(CharSequence text) {
+        NormalizedText normalized = pool.poll();
+        if (normalized == null) {
+            normalized = new NormalizedText(this, Math.max(INITIAL_CAPACITY, text.length()));
+        } else {
+            normalized.ensureCapacity(text.length());
+        }
+        normalized.released = false;
+
+        // Copy the text in bulk, then compact it in place: the write index never passes the read index
+        char[] chars = normalized.chars;
+        char[] folded = normalized.folded;
+        int end = text.length();
+        copy(text, chars, end);
+        int length = 0;
+        int spaces = 0;
+        for (int i = 0; i < end; i++) {
+            char c = chars[i];
+            if (c > ' ' && c < 127) {
+                if (spaces > 0) {
+                    length = writeSpaces(chars, folded, length, spaces);
+                    spaces = 0;
+                }
+                chars[length] = c;
+                folded[length++] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            } else if (c == ' ' || c == '\t' || c == '\f' || c == '\u000B') {
+                spaces++;
+            } else if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                if (c == '\r' && i + 1 < end && chars[i + 1] == '\n') {
+                    continue;
+                }
+                // Spaces before a line end are dropped
+                spaces = 0;
+                chars[length] = '\n';
+                folded[length++] = '\n';
+            } else if (Character.isSpaceChar(c)) {
+                spaces++;
+            } else if (c != '\u00AD' && c != '\u200B') {
+                if (spaces > 0) {
+                    length = writeSpaces(chars, folded, length, spaces);
+                    spaces = 0;
+                }
+                chars[length] = c;
+                folded[length++] = Character.toLowerCase(c);
+            }
+        }
+        normalized.length = length;
+        return normalized;
+    }
+
+    void release(NormalizedText normalized) {
+        if (normalized.released) {
+            return;
+        }
+        normalized.released = true;
+        if (normalized.chars.length <= MAX_POOLED_CHARS) {
+            pool.offer(normalized);
+        }
+    }
+
+    /**
+     * A run of spaces becomes one space, or two for a run of two or more
+     */
+    private static int writeSpaces(char[] chars, char[] folded, int length, int spaces) {
+        chars[length] = ' ';
+        folded[length++] = ' ';
+        if (spaces > 1) {
+            chars[length] = ' ';
+            folded[length++] = ' ';
+        }
+        return length;
+    }
+
+    private static void copy(CharSequence text, char[] target, int length) {
+        if (text instanceof String string) {
+            string.getChars(0, length, target, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                target[i] = text.charAt(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.synapx.claims.queue;
+
+import com.synapx.claims.dto.ClaimDecision;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for the routing decisions of consumed claims. A publish must be durable when
+ * it returns, because the input offsets are committed right after it.
+ */
+public interface ClaimDecisionQueue {
+
+    void publish(int partition, List<ClaimDecision> decisions) throws IOException;
+}
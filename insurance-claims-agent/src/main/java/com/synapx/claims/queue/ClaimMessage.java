@@ -0,0 +1,9 @@
+package com.synapx.claims.queue;
+
+import com.synapx.claims.extractor.PdfSource;
+
+/**
+ * One document polled from a {@link ClaimQueue}. The offset orders messages within their
+ * partition; the key identifies the document across redeliveries.
+ */
+public record ClaimMessage(int partition, long offset, String key, PdfSource document) {}
@@ -0,0 +1,31 @@
+package com.synapx.claims.queue;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Partitioned source of FNOL documents, consumed the way a Kafka consumer reads a topic.
+ * Messages of a partition are delivered in order and stay in the queue until their offset
+ * is committed; a consumer that fails before committing rewinds and sees them again, so
+ * every document is processed at least once. Each partition is polled by one thread at a time.
+ */
+public interface ClaimQueue {
+
+    int partitions();
+
+    /**
+     * Up to {@code maxMessages} messages of the partition following the last one delivered
+     * (empty when there are none)
+     */
+    List<ClaimMessage> poll(int partition, int maxMessages) throws IOException;
+
+    /**
+     * Remove every delivered message of the partition up to and including {@code offset}
+     */
+    void commit(int partition, long offset) throws IOException;
+
+    /**
+     * Deliver the partition's uncommitted messages again on the next poll
+     */
+    void rewind(int partition);
+}
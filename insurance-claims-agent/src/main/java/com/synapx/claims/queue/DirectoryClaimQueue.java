@@ -0,0 +1,115 @@
+package com.synapx.claims.queue;
+
+import com.synapx.claims.extractor.PdfSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link ClaimQueue} over local directories, for running the consumer without a broker.
+ * Partition {@code n} is the directory {@code partition-n} under the root; every
+ * {@code *.pdf} file in it is a message, delivered in file name order. Producers should
+ * write under another extension and rename to {@code .pdf} once the file is complete.
+ * A commit moves the files into the partition's {@code committed} directory. Offsets are
+ * assigned as files are delivered and restart from 0 with the process, so uncommitted
+ * files are simply delivered again after a restart. Each poll lists the directory, which
+ * suits local testing rather than very deep backlogs.
+ */
+public class DirectoryClaimQueue implements ClaimQueue {
+
+    static final String COMMITTED = "committed";
+
+    private final Partition[] partitions;
+    private final boolean memoryMapped;
+
+    public DirectoryClaimQueue(Path root, int partitions, boolean memoryMapped) throws IOException {
+        this.partitions = new Partition[Math.max(1, partitions)];
+        for (int i = 0; i < this.partitions.length; i++) {
+            Path directory = partitionDirectory(root, i);
+            Files.createDirectories(directory.resolve(COMMITTED));
+            this.partitions[i] = new Partition(directory);
+        }
+        this.memoryMapped = memoryMapped;
+    }
+
+    public static Path partitionDirectory(Path root, int partition) {
+        return root.resolve("partition-" + partition);
+    }
+
+    @Override
+    public int partitions() {
+        return partitions.length;
+    }
+
+    @Override
+    public List<ClaimMessage> poll(int partition, int maxMessages) throws IOException {
+        Partition state = partitions[partition];
+        synchronized (state) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(state.directory)) {
+                files = listing
+                        .filter(file -> file.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                        .filter(file -> !state.delivered.contains(file))
+                        .filter(Files::isRegularFile)
+                        .sorted()
+                        .limit(maxMessages)
+                        .toList();
+            }
+            List<ClaimMessage> messages = new ArrayList<>(files.size());
+            for (Path file : files) {
+                long offset = state.nextOffset++;
+                state.delivered.add(file);
+                state.pending.put(offset, file);
+                PdfSource document = memoryMapped ? PdfSource.mapped(file) : PdfSource.of(file);
+                messages.add(new ClaimMessage(partition, offset, file.getFileName().toString(), document));
+            }
+            return messages;
+        }
+    }
+
+    @Override
+    public void commit(int partition, long offset) throws IOException {
+        Partition state = partitions[partition];
+        synchronized (state) {
+            NavigableMap<Long, Path> committed = state.pending.headMap(offset, true);
+            for (Map.Entry<Long, Path> entry = committed.firstEntry(); entry != null; entry = committed.firstEntry()) {
+                Path file = entry.getValue();
+                Files.move(file, state.directory.resolve(COMMITTED).resolve(file.getFileName()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                committed.remove(entry.getKey());
+                state.delivered.remove(file);
+            }
+        }
+    }
+
+    @Override
+    public void rewind(int partition) {
+        Partition state = partitions[partition];
+        synchronized (state) {
+            state.pending.clear();
+            state.delivered.clear();
+        }
+    }
+
+    private static final class Partition {
+        private final Path directory;
+        /** Delivered and not yet committed, by offset */
+        private final NavigableMap<Long, Path> pending = new TreeMap<>();
+        private final Set<Path> delivered = new HashSet<>();
+        private long nextOffset;
+
+        private Partition(Path directory) {
+            this.directory = directory;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.synapx.claims.queue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.synapx.claims.dto.ClaimDecision;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link ClaimDecisionQueue} that appends decisions as NDJSON lines to
+ * {@code decisions/partition-n.ndjson} under the queue root, one log per input partition.
+ * Every publish is forced to disk before it returns, once per micro-batch.
+ */
+public class DirectoryDecisionQueue implements ClaimDecisionQueue {
+
+    private final Path directory;
+    private final ObjectWriter line;
+
+    public DirectoryDecisionQueue(Path root, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(root.resolve("decisions"));
+        this.line = objectMapper.writerFor(ClaimDecision.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public Path log(int partition) {
+        return directory.resolve("partition-" + partition + ".ndjson");
+    }
+
+    @Override
+    public void publish(int partition, List<ClaimDecision> decisions) throws IOException {
+        if (decisions.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (ClaimDecision decision : decisions) {
+            line.writeValue(lines, decision);
+            lines.write('\n');
+        }
+        // One writer per partition, so appends to a log never interleave
+        try (FileChannel channel = FileChannel.open(log(partition),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Runs many FNOL documents through {@link ClaimProcessingService} on a shared worker pool.
+ * Each document is spooled as it arrives and then waits for an in-flight slot, so a large
+ * upload is read no faster than the workers can process it, with at most one spooled
+ * document per batch waiting. Results reach the sink in completion order.
+ * With {@code spring.threads.virtual.enabled} every document gets its own virtual thread;
+ * the in-flight limit and PdfExtractor's parse slots still bound the work.
+ */
+@Slf4j
+@Service
+public class BatchClaimProcessingService {
+
+    private final ClaimProcessingService claimProcessingService;
+    private final PdfExtractor pdfExtractor;
+    private final Semaphore inFlight;
+    private final long maxRequestBytes;
+    private final Executor workers;
+
+    public BatchClaimProcessingService(ClaimProcessingService claimProcessingService,
+                                       PdfExtractor pdfExtractor,
+                                       ClaimsProperties properties,
+                                       Environment environment) {
+        this.claimProcessingService = claimProcessingService;
+        this.pdfExtractor = pdfExtractor;
+        ClaimsProperties.Batch batch = properties.getBatch();
+        this.inFlight = new Semaphore(Math.max(1, batch.getMaxInFlight()));
+        this.maxRequestBytes = batch.getMaxRequestSize().toBytes();
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        this.workers = virtual
+                ? new VirtualThreadTaskExecutor("claim-batch-")
+                : createPlatformWorkers(batch.getWorkers());
+        log.info("Batch workers: {}", virtual ? "virtual threads" : batch.getWorkers() + " platform threads");
+    }
+
+    /**
+     * Largest multipart body {@link #processMultipart} reads before giving up
+     */
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    /**
+     * Process every PDF file part of a multipart/form-data body read straight from the
+     * request, and every PDF entry of any zip archive part. Each document is spooled as
+     * soon as it has arrived and processed once a slot is free, while later parts are
+     * still uploading; form fields without a filename are ignored. Each document is capped
+     * at claims.pdf.max-file-size and the whole body at claims.batch.max-request-size.
+     */
+    public BatchSummary processMultipart(InputStream body, String boundary, Consumer<BatchClaimResult> sink) throws IOException {
+        Batch batch = new Batch(sink);
+        MultipartStreamReader parts = new MultipartStreamReader(new LimitedInputStream(body, maxRequestBytes), boundary);
+        try {
+            for (MultipartStreamReader.Part part; !batch.aborted && (part = parts.next()) != null; ) {
+                String name = part.filename();
+                if (name == null) {
+                    continue;
+                }
+                if (isZip(name, part.contentType())) {
+                    submitEntries(batch, part.body());
+                } else if (!isPdf(name, part.contentType())) {
+                    batch.skip(name, "Only PDF files are supported");
+                } else {
+                    InputStream in = part.body();
+                    batch.submit(name, () -> pdfExtractor.open(in, name));
+                }
+            }
+        } catch (InterruptedException e) {
+            batch.abort("interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.await();
+        }
+        return batch.summary();
+    }
+
+    /**
+     * Submit every PDF entry of a zip archive, reading the archive only as fast as
+     * in-flight slots free up. The archive stream is left open for the next part.
+     */
+    private void submitEntries(Batch batch, InputStream archive) throws IOException, InterruptedException {
+        ZipInputStream zip = new ZipInputStream(archive);
+        for (ZipEntry entry; !batch.aborted && (entry = zip.getNextEntry()) != null; ) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            String name = entry.getName();
+            if (!isPdf(name, null)) {
+                batch.skip(name, "Only PDF files are supported");
+            } else {
+                batch.submit(name, () -> pdfExtractor.open(zip, name));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ExecutorService createPlatformWorkers(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "claim-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static boolean isZip(String filename, String contentType) {
+        return "application/zip".equals(contentType) || "application/x-zip-compressed".equals(contentType) ||
+               (filename != null && filename.toLowerCase().endsWith(".zip"));
+    }
+
+    private static boolean isPdf(String filename, String contentType) {
+        return "application/pdf".equals(contentType) ||
+               (filename != null && filename.toLowerCase().endsWith(".pdf"));
+    }
+
+    public record BatchSummary(int total, int processed, int failed, int skipped, long elapsedMillis) {}
+
+    @FunctionalInterface
+    private interface SourceOpener {
+        PdfSource open() throws IOException;
+    }
+
+    /**
+     * State of one batch request. Sink calls are serialised; once the sink fails
+     * (typically the client went away) no further documents are read.
+     */
+    private final class Batch {
+        private final Consumer<BatchClaimResult> sink;
+        private final Phaser pending = new Phaser(1);
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private int nextIndex;
+        private volatile boolean aborted;
+
+        private Batch(Consumer<BatchClaimResult> sink) {
+            this.sink = sink;
+        }
+
+        void skip(String name, String reason) {
+            skipped.incrementAndGet();
+            emit(BatchClaimResult.builder()
+                .index(nextIndex++)
+                .filename(name)
+                .status(BatchClaimResult.Status.SKIPPED)
+                .error(reason)
+                .build());
+        }
+
+        /**
+         * Spool the document on the calling thread, wait for a slot, then hand it to a worker.
+         * The slot is only taken once the upload has been read, so a slow client does not
+         * hold one while its bytes trickle in.
+         */
+        void submit(String name, SourceOpener opener) throws InterruptedException {
+            int index = nextIndex++;
+            long start = System.nanoTime();
+            PdfSource source;
+            try {
+                source = opener.open();
+            } catch (IOException | RuntimeException e) {
+                fail(index, name, e, start);
+                return;
+            }
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                closeQuietly(source);
+                throw e;
+            }
+
+            pending.register();
+            try {
+                workers.execute(() -> process(index, source, start));
+            } catch (RejectedExecutionException e) {
+                closeQuietly(source);
+                inFlight.release();
+                pending.arriveAndDeregister();
+                fail(index, name, e, start);
+            }
+        }
+
+        private void process(int index, PdfSource source, long start) {
+            try (source) {
+                ClaimProcessingResponse response = claimProcessingService.processClaim(source);
+                processed.incrementAndGet();
+                emit(BatchClaimResult.builder()
+                    .index(index)
+                    .filename(source.getName())
+                    .status(BatchClaimResult.Status.PROCESSED)
+                    .result(response)
+                    .elapsedMillis(elapsedMillis(start))
+                    .build());
+            } catch (Exception e) {
+                log.error("Error processing batch document {}: {}", source.getName(), e.getMessage());
+                fail(index, source.getName(), e, start);
+            } finally {
+                inFlight.release();
+                pending.arriveAndDeregister();
+            }
+        }
+
+        private void fail(int index, String name, Exception e, long start) {
+            failed.incrementAndGet();
+            emit(BatchClaimResult.builder()
+                .index(index)
+                .filename(name)
+                .status(BatchClaimResult.Status.FAILED)
+                .error("Error processing claim: " + e.getMessage())
+                .elapsedMillis(elapsedMillis(start))
+                .build());
+        }
+
+        private synchronized void emit(BatchClaimResult result) {
+            if (aborted) {
+                return;
+            }
+            try {
+                sink.accept(result);
+            } catch (RuntimeException e) {
+                abort(e.getMessage());
+            }
+        }
+
+        void abort(String reason) {
+            if (!aborted) {
+                aborted = true;
+                log.warn("Abandoning batch after {} document(s): {}", nextIndex, reason);
+            }
+        }
+
+        /**
+         * Block until every submitted document has finished, so the sink is never
+         * called after the batch returns
+         */
+        BatchSummary await() {
+            pending.arriveAndAwaitAdvance();
+            BatchSummary summary = summary();
+            log.info("Batch completed: {}", summary);
+            return summary;
+        }
+
+        BatchSummary summary() {
+            return new BatchSummary(nextIndex, processed.get(), failed.get(), skipped.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Fails the read that goes past the limit, so an oversized upload ends the batch
+     * instead of filling the spool directory
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long total;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            total += n;
+            if (total > maxBytes) {
+                throw new IOException("Batch upload exceeds the maximum size of " + maxBytes + " bytes");
+            }
+        }
+    }
+
+    private static void closeQuietly(PdfSource source) {
+        try {
+            source.close();
+        } catch (IOException e) {
+            log.warn("Could not remove spooled document {}: {}", source.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.export.ClaimColumnWriter;
+import com.synapx.claims.export.ClaimExportRecord;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.validator.MandatoryField;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Ingests FNOL PDFs that are already on disk, such as a historical backlog being migrated.
+ * Every {@code *.pdf} under the input directory is memory-mapped and run through
+ * {@link ClaimProcessingService} on a fork-join pool, with at most four documents per
+ * worker in flight so a deep tree is never queued up front. Results are appended to an
+ * NDJSON file as {@link BatchClaimResult} lines keyed by relative path and, optionally,
+ * to columnar export files. Once their output is flushed, the relative paths of finished
+ * documents are appended to a checkpoint file, and a rerun skips every path listed there,
+ * so an interrupted run resumes where it stopped. A document finished after the last
+ * flush is processed again, so a path can appear twice in the output. In watch mode the
+ * tree keeps being watched for new documents after the initial walk until {@link #stop()}.
+ */
+@Slf4j
+public class BulkIngestion {
+
+    /**
+     * @param columnar directory for columnar export files, or null for NDJSON only
+     */
+    public record Options(Path input, Path output, Path columnar, Path checkpoint, int workers,
+                          boolean watch, Duration reportInterval) {
+    }
+
+    public record Summary(long processed, long failed, long skipped, Duration elapsed) {
+    }
+
+    private final ClaimProcessingService claimProcessingService;
+    private final ClaimResponseWriter responseWriter;
+    private final ClaimsProperties.Export export;
+    private final Options options;
+    private final PrintStream report;
+
+    private final Set<String> done = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private volatile boolean walked;
+    private volatile boolean stopping;
+    private volatile WatchService watcher;
+    private volatile IOException outputFailure;
+    private long startedAt;
+    private long lastReportAt;
+    private long lastReportDone;
+
+    // Output state, guarded by this
+    private OutputStream ndjson;
+    private OutputStream checkpoint;
+    private ClaimColumnWriter columns;
+    private final List<ClaimExportRecord> rows = new ArrayList<>();
+    private final StringBuilder unflushed = new StringBuilder();
+    private int unflushedCount;
+
+    public BulkIngestion(ClaimProcessingService claimProcessingService,
+                         ClaimResponseWriter responseWriter,
+                         ClaimsProperties properties,
+                         Options options,
+                         PrintStream report) {
+        this.claimProcessingService = claimProcessingService;
+        this.responseWriter = responseWriter;
+        this.export = properties.getExport();
+        this.options = options;
+        this.report = report;
+        this.maxInFlight = Math.max(1, options.workers()) * 4;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Walk (and in watch mode, watch) the input directory until every document has been
+     * processed and flushed, or until {@link #stop()}
+     */
+    public Summary run() throws IOException, InterruptedException {
+        startedAt = lastReportAt = System.nanoTime();
+        loadCheckpoint();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, options.workers()),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bulk-ingestion-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (OutputStream ndjsonOut = new BufferedOutputStream(append(options.output()), 256 * 1024);
+             OutputStream checkpointOut = append(options.checkpoint());
+             ClaimColumnWriter columnWriter = options.columnar() != null
+                     ? new ClaimColumnWriter(options.columnar(), export.getMaxFileSize().toBytes(), export.getRollInterval())
+                     : null) {
+            synchronized (this) {
+                ndjson = ndjsonOut;
+                checkpoint = checkpointOut;
+                columns = columnWriter;
+            }
+            long interval = Math.max(1, options.reportInterval().toMillis());
+            reporter.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+            try {
+                if (options.watch()) {
+                    // Registered before the walk, so a document created while walking is not missed
+                    watcher = options.input().getFileSystem().newWatchService();
+                }
+
+                walk(options.input(), pool);
+                walked = true;
+                if (options.watch()) {
+                    watch(pool);
+                }
+
+                // Wait for everything in flight, then write out what is still buffered
+                inFlight.acquire(maxInFlight);
+                inFlight.release(maxInFlight);
+                flush();
+            } finally {
+                // No report may flush into the outputs once they are closed
+                reporter.shutdownNow();
+                reporter.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+            closeWatcher();
+            finished.countDown();
+        }
+        if (outputFailure != null) {
+            throw outputFailure;
+        }
+        report.println(progress());
+        return new Summary(processed.get(), failed.get(), skipped.get(),
+                Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Stop taking new documents and wait for those in flight to be written and checkpointed
+     */
+    public void stop() {
+        stopping = true;
+        closeWatcher();
+        try {
+            finished.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeWatcher() {
+        WatchService service = watcher;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("Could not close the directory watch: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void loadCheckpoint() throws IOException {
+        if (Files.exists(options.checkpoint())) {
+            try (Stream<String> lines = Files.lines(options.checkpoint(), StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isEmpty()).forEach(done::add);
+            }
+            log.info("Resuming: {} document(s) already listed in {}", done.size(), options.checkpoint());
+        }
+    }
+
+    private static OutputStream append(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Submit every document under the directory, registering each directory with the watch
+     * service first in watch mode
+     */
+    private void walk(Path directory, ForkJoinPool pool) throws IOException, InterruptedException {
+        InterruptedException[] interrupted = new InterruptedException[1];
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (watcher != null) {
+                    try {
+                        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE);
+                    } catch (ClosedWatchServiceException e) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (stopping) {
+                    return FileVisitResult.TERMINATE;
+                }
+                if (attrs.isRegularFile() && isPdf(file)) {
+                    try {
+                        submit(file, pool);
+                    } catch (InterruptedException e) {
+                        interrupted[0] = e;
+                        return FileVisitResult.TERMINATE;
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                log.warn("Skipping {}: {}", file, e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (interrupted[0] != null) {
+            throw interrupted[0];
+        }
+    }
+
+    /**
+     * Producers should write elsewhere (or under another extension) and rename documents
+     * into the tree, so a document is never read half-written
+     */
+    private void watch(ForkJoinPool pool) throws IOException, InterruptedException {
+        while (!stopping) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    walk(options.input(), pool);
+                    continue;
+                }
+                Path created = directory.resolve((Path) event.context());
+                if (Files.isDirectory(created)) {
+                    walk(created, pool);
+                } else if (isPdf(created) && Files.isRegularFile(created)) {
+                    submit(created, pool);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private static boolean isPdf(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".pdf");
+    }
+
+    private void submit(Path file, ForkJoinPool pool) throws InterruptedException {
+        String key = options.input().relativize(file).toString().replace(File.separatorChar, '/');
+        // Outside watch mode the walk visits each file once, so only watch mode needs to remember them
+        if (options.watch() ? !done.add(key) : done.contains(key)) {
+            skipped.incrementAndGet();
+            return;
+        }
+        inFlight.acquire();
+        int index = sequence.getAndIncrement();
+        pool.execute(() -> {
+            try {
+                complete(process(file, key, index), key);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private BatchClaimResult process(Path file, String key, int index) {
+        long start = System.nanoTime();
+        BatchClaimResult.BatchClaimResultBuilder result = BatchClaimResult.builder()
+                .index(index)
+                .filename(key);
+        try (PdfSource document = PdfSource.mapped(file)) {
+            result.status(BatchClaimResult.Status.PROCESSED).result(claimProcessingService.processClaim(document));
+        } catch (Exception e) {
+            log.error("Error processing {}: {}", key, e.getMessage());
+            result.status(BatchClaimResult.Status.FAILED).error("Error processing claim: " + e.getMessage());
+        }
+        return result.elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).build();
+    }
+
+    private void complete(BatchClaimResult result, String key) {
+        try {
+            // Serialised outside the lock; only the append is ordered
+            ByteArrayOutputStream line = new ByteArrayOutputStream(4096);
+            responseWriter.writeLine(result, line);
+            synchronized (this) {
+                line.writeTo(ndjson);
+                if (columns != null && result.getStatus() == BatchClaimResult.Status.PROCESSED) {
+                    rows.add(ClaimExportService.toRecord(result.getResult(),
+                            MandatoryField.findMissing(result.getResult().getExtractedFields())));
+                }
+                unflushed.append(key).append('\n');
+                if (++unflushedCount >= export.getBatchSize()) {
+                    flush();
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        (result.getStatus() == BatchClaimResult.Status.PROCESSED ? processed : failed).incrementAndGet();
+    }
+
+    /**
+     * Results first, then the checkpoint, so the checkpoint never lists a document whose
+     * result could still be lost
+     */
+    private synchronized void flush() throws IOException {
+        if (unflushedCount == 0) {
+            return;
+        }
+        ndjson.flush();
+        if (columns != null && !rows.isEmpty()) {
+            columns.write(rows);
+            rows.clear();
+        }
+        checkpoint.write(unflushed.toString().getBytes(StandardCharsets.UTF_8));
+        checkpoint.flush();
+        unflushed.setLength(0);
+        unflushedCount = 0;
+    }
+
+    private void tick() {
+        try {
+            flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+        report.println(progress());
+    }
+
+    /**
+     * Results can no longer be written: stop taking documents, and fail the run once
+     * those in flight are done
+     */
+    private void fail(IOException e) {
+        if (outputFailure == null) {
+            outputFailure = e;
+            log.error("Could not write results; stopping: {}", e.getMessage());
+        }
+        stopping = true;
+        closeWatcher();
+    }
+
+    /**
+     * One progress line: documents done, overall and recent throughput, and the time left
+     * for what has been found so far
+     */
+    synchronized String progress() {
+        long now = System.nanoTime();
+        long completed = processed.get() + failed.get();
+        long found = sequence.get();
+        double overall = completed / Math.max(1e-9, (now - startedAt) / 1e9);
+        double recent = (completed - lastReportDone) / Math.max(1e-9, (now - lastReportAt) / 1e9);
+        lastReportAt = now;
+        lastReportDone = completed;
+
+        StringBuilder line = new StringBuilder(128);
+        line.append(String.format("%,d of %,d%s done (%,d failed, %,d skipped) | %.1f docs/s, %.1f recently",
+                completed, found, walked ? "" : "+", failed.get(), skipped.get(), overall, recent));
+        long remaining = found - completed;
+        if (!walked) {
+            line.append(" | walking ").append(options.input());
+        } else if (remaining > 0) {
+            double rate = recent > 0 ? recent : overall;
+            line.append(" | ETA ").append(rate > 0 ? duration((long) (remaining / rate)) : "unknown");
+        } else if (options.watch() && !stopping) {
+            line.append(" | watching ").append(options.input());
+        }
+        return line.toString();
+    }
+
+    private static String duration(long seconds) {
+        if (seconds >= 3600) {
+            return String.format("%dh %02dm", seconds / 3600, seconds % 3600 / 60);
+        }
+        return seconds >= 60 ? String.format("%dm %02ds", seconds / 60, seconds % 60) : seconds + "s";
+    }
+}
@@ -0,0 +1,177 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for /process. A claim is admitted only while fewer than the current
+ * concurrency limit are in progress and their uploads total no more than
+ * {@code claims.admission.max-in-flight-bytes}. Anything beyond that is shed: the caller
+ * answers 429 at once instead of queueing another PDFBox parse behind the ones already
+ * overloading the JVM. A single claim is always admitted when nothing is in flight, so an
+ * upload larger than the byte budget is slow rather than refused.
+ * <p>
+ * The limit adapts AIMD-style to processing latency. A claim that took longer than
+ * {@code target-latency} cuts the limit by {@code backoff-ratio}. A fast claim that
+ * finished while the limit was at least half used raises it by one. The limit stays
+ * between {@code min-limit} and {@code max-limit}.
+ */
+@Slf4j
+@Component
+public class ClaimAdmissionControl {
+
+    private static final String SHED_CONCURRENCY = "concurrency";
+    private static final String SHED_BYTES = "bytes";
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final long maxInFlightBytes;
+    private final Duration retryAfter;
+    private final LongSupplier clock;
+
+    private double limit;
+    private int inFlight;
+    private long inFlightBytes;
+
+    private final Counter admitted;
+    private final Counter shedConcurrency;
+    private final Counter shedBytes;
+
+    @Autowired
+    public ClaimAdmissionControl(ClaimsProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ClaimAdmissionControl(ClaimsProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        ClaimsProperties.Admission config = properties.getAdmission();
+        this.enabled = config.isEnabled();
+        this.minLimit = Math.max(1, config.getMinLimit());
+        this.maxLimit = Math.max(minLimit, config.getMaxLimit());
+        this.limit = Math.min(maxLimit, Math.max(minLimit, config.getInitialLimit()));
+        this.targetLatencyNanos = config.getTargetLatency().toNanos();
+        this.backoffRatio = config.getBackoffRatio();
+        this.maxInFlightBytes = config.getMaxInFlightBytes().toBytes();
+        this.retryAfter = config.getRetryAfter();
+        this.clock = clock;
+
+        Gauge.builder("claims.admission.limit", this, ClaimAdmissionControl::getLimit)
+                .description("Claims /process currently admits at once")
+                .register(meterRegistry);
+        Gauge.builder("claims.admission.inflight", this, ClaimAdmissionControl::getInFlight)
+                .description("Claims admitted and still in progress")
+                .register(meterRegistry);
+        Gauge.builder("claims.admission.inflight.bytes", this, ClaimAdmissionControl::getInFlightBytes)
+                .description("Upload bytes of the claims in progress")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.admitted = Counter.builder("claims.admission.admitted")
+                .description("Claims admitted to processing")
+                .register(meterRegistry);
+        this.shedConcurrency = shedCounter(meterRegistry, SHED_CONCURRENCY);
+        this.shedBytes = shedCounter(meterRegistry, SHED_BYTES);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * How long a shed caller should wait before retrying
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Admit a claim with an upload of the given size; null when it is shed. The permit must be closed
+     * once the claim is finished.
+     */
+    public synchronized Permit tryAcquire(long bytes) {
+        if (!enabled) {
+            return new Permit(0, 0, 0);
+        }
+        if (inFlight > 0) {
+            if (inFlight >= (int) limit) {
+                shedConcurrency.increment();
+                return null;
+            }
+            if (inFlightBytes + bytes > maxInFlightBytes) {
+                shedBytes.increment();
+                return null;
+            }
+        }
+        inFlight++;
+        inFlightBytes += bytes;
+        admitted.increment();
+        return new Permit(bytes, inFlight, clock.getAsLong());
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized long getInFlightBytes() {
+        return inFlightBytes;
+    }
+
+    private synchronized void release(Permit permit) {
+        inFlight--;
+        inFlightBytes -= permit.bytes;
+        long latency = clock.getAsLong() - permit.startNanos;
+        if (latency > targetLatencyNanos) {
+            double reduced = Math.max(minLimit, limit * backoffRatio);
+            if ((int) reduced < (int) limit) {
+                log.warn("Claim took {} ms; lowering the admission limit to {}", latency / 1_000_000, (int) reduced);
+            }
+            limit = reduced;
+        } else if (2 * permit.inFlightAtStart >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("claims.admission.shed")
+                .description("Claims refused with 429 because the service was at its admission limit")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A claim's slot; closing it frees the slot and feeds its latency into the limit
+     */
+    public final class Permit implements AutoCloseable {
+        private final long bytes;
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean closed;
+
+        private Permit(long bytes, int inFlightAtStart, long startNanos) {
+            this.bytes = bytes;
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (enabled && !closed) {
+                closed = true;
+                release(this);
+            }
+        }
+    }
+}
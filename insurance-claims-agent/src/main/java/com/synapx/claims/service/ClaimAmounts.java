@@ -0,0 +1,99 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.model.ClaimData;
+
+/**
+ * Allocation-free parsing and formatting of the dollar amounts routing works with
+ */
+final class ClaimAmounts {
+
+    /** Digits a long mantissa holds exactly; longer amounts fall back to Double.parseDouble */
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                                                   1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private ClaimAmounts() {
+    }
+
+    /**
+     * Estimated damage, falling back to the initial estimate; 0 when neither is present or
+     * the amount that is present cannot be read
+     */
+    static double estimatedDamage(ClaimData claimData) {
+        if (claimData.getAssetDetails() != null && claimData.getAssetDetails().getEstimatedDamage() != null) {
+            return parseAmount(claimData.getAssetDetails().getEstimatedDamage());
+        }
+        if (claimData.getOtherMandatoryFields() != null && claimData.getOtherMandatoryFields().getInitialEstimate() != null) {
+            return parseAmount(claimData.getOtherMandatoryFields().getInitialEstimate());
+        }
+        return 0.0;
+    }
+
+    /**
+     * Read an amount such as "$12,500.00": every character other than digits and '.' is
+     * ignored. Returns 0 when no number remains (no digits, or more than one '.').
+     */
+    static double parseAmount(CharSequence text) {
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    return parseSlow(text);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.') {
+                if (decimals >= 0) {
+                    return 0.0;
+                }
+                decimals = 0;
+            }
+        }
+        if (digits == 0) {
+            return 0.0;
+        }
+        // Exact mantissa divided by an exact power of ten rounds the same way parseDouble does
+        return decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+    }
+
+    /**
+     * Append an amount with two decimals, as {@code String.format("%.2f")} would
+     */
+    static void appendAmount(StringBuilder out, double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || Math.abs(amount) >= 1e15) {
+            out.append(String.format("%.2f", amount));
+            return;
+        }
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        out.append(cents / 100).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private static double parseSlow(CharSequence text) {
+        StringBuilder cleaned = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                cleaned.append(c);
+            }
+        }
+        try {
+            return Double.parseDouble(cleaned.toString());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.export.ClaimColumnWriter;
+import com.synapx.claims.export.ClaimExportRecord;
+import com.synapx.claims.model.ClaimData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports processed claims to rolling columnar files (see {@link ClaimColumnWriter}) for
+ * analytics. The request thread only offers the claim to a bounded queue; a single
+ * background thread drains it and writes a row group per batch, or whatever has queued
+ * once the flush interval passes. When the queue is full the claim is dropped and counted
+ * rather than slowing the request down.
+ */
+@Slf4j
+@Service
+public class ClaimExportService {
+
+    private final boolean enabled;
+    private final BlockingQueue<ClaimExportRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ClaimColumnWriter writer;
+    private final Thread exporter;
+    private volatile boolean running = true;
+
+    private final Counter exported;
+    private final Counter dropped;
+
+    public ClaimExportService(ClaimsProperties properties, MeterRegistry meterRegistry) {
+        ClaimsProperties.Export config = properties.getExport();
+        this.enabled = config.isEnabled();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+
+        Gauge.builder("claims.export.queue.depth", queue, BlockingQueue::size)
+                .description("Processed claims waiting to be written to the export files")
+                .register(meterRegistry);
+        this.exported = Counter.builder("claims.export.written")
+                .description("Claims written to the export files")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("claims.export.dropped")
+                .description("Claims not exported because the export queue was full")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            this.writer = null;
+            this.exporter = null;
+            return;
+        }
+        try {
+            this.writer = new ClaimColumnWriter(config.getDirectory(),
+                    config.getMaxFileSize().toBytes(), config.getRollInterval());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export directory " + config.getDirectory(), e);
+        }
+        this.exporter = new Thread(this::run, "claim-export");
+        exporter.setDaemon(true);
+        exporter.start();
+        log.info("Exporting processed claims to {}", config.getDirectory().toAbsolutePath());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a freshly processed claim for export; never blocks
+     */
+    public void export(ClaimProcessingResponse response, long missingFields) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(toRecord(response, missingFields))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Write what is still queued and close the current file
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        exporter.interrupt();
+        try {
+            exporter.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close export file {}: {}", writer.getCurrentFile(), e.getMessage());
+        }
+    }
+
+    private void run() {
+        List<ClaimExportRecord> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (running || !queue.isEmpty()) {
+            try {
+                ClaimExportRecord next = running
+                        ? queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                        : queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // shutdown: fall through and write what has been collected
+            }
+            boolean due = System.nanoTime() - deadline >= 0;
+            if (batch.size() >= batchSize || ((due || !running) && !batch.isEmpty())) {
+                write(batch);
+            }
+            if (due || batch.isEmpty()) {
+                deadline = System.nanoTime() + flushIntervalNanos;
+            }
+        }
+        write(batch);
+    }
+
+    private void write(List<ClaimExportRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(batch);
+            exported.increment(batch.size());
+        } catch (IOException e) {
+            dropped.increment(batch.size());
+            log.error("Dropped {} claim(s) that could not be written to {}: {}",
+                    batch.size(), writer.getCurrentFile(), e.getMessage());
+        }
+        batch.clear();
+    }
+
+    static ClaimExportRecord toRecord(ClaimProcessingResponse response, long missingFields) {
+        ClaimData claim = response.getExtractedFields();
+        ClaimData.PolicyInformation policy = claim.getPolicyInformation();
+        ClaimData.IncidentInformation incident = claim.getIncidentInformation();
+        ClaimData.AssetDetails asset = claim.getAssetDetails();
+        ClaimData.OtherMandatoryFields other = claim.getOtherMandatoryFields();
+        boolean hasEstimate = (asset != null && asset.getEstimatedDamage() != null)
+                || (other != null && other.getInitialEstimate() != null);
+
+        return new ClaimExportRecord(
+                System.currentTimeMillis(),
+                policy != null ? policy.getPolicyNumber() : null,
+                policy != null ? policy.getPolicyholderName() : null,
+                incident != null ? incident.getDate() : null,
+                incident != null && incident.getLocation() != null ? incident.getLocation().getState() : null,
+                other != null ? other.getClaimType() : null,
+                asset != null ? asset.getAssetType() : null,
+                asset != null ? asset.getAssetId() : null,
+                hasEstimate ? ClaimAmounts.estimatedDamage(claim) : Double.NaN,
+                response.getRecommendedRoute(),
+                missingFields);
+    }
+}
@@ -0,0 +1,209 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimJobStatus;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts claims for background processing so the HTTP request returns as soon as the
+ * upload is spooled. Jobs run on a fixed pool behind a bounded queue; when the queue is
+ * full a submission is rejected rather than queued without limit. Finished jobs stay
+ * fetchable for the retention period.
+ */
+@Slf4j
+@Service
+public class ClaimJobService {
+
+    private final ClaimProcessingService claimProcessingService;
+    private final PdfExtractor pdfExtractor;
+    private final ThreadPoolExecutor workers;
+    private final long retentionMillis;
+    private final Map<String, ClaimJob> jobs = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+    private final Counter completed;
+    private final Counter failed;
+
+    public ClaimJobService(ClaimProcessingService claimProcessingService,
+                           PdfExtractor pdfExtractor,
+                           ClaimsProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.claimProcessingService = claimProcessingService;
+        this.pdfExtractor = pdfExtractor;
+        ClaimsProperties.Jobs config = properties.getJobs();
+        this.retentionMillis = config.getRetention().toMillis();
+
+        int threads = Math.max(1, config.getWorkers());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "claim-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("claims.jobs.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Claim jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("claims.jobs.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Claim jobs being processed")
+                .register(meterRegistry);
+        Gauge.builder("claims.jobs.retained", jobs, Map::size)
+                .description("Claim jobs queued, running or kept for result retrieval")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("claims.jobs.rejected")
+                .description("Claim jobs rejected because the queue was full")
+                .register(meterRegistry);
+        this.completed = Counter.builder("claims.jobs.finished").tag("status", "completed").register(meterRegistry);
+        this.failed = Counter.builder("claims.jobs.finished").tag("status", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Spool the upload and queue it. Throws {@link RejectedExecutionException} when the
+     * queue is full; the spooled copy is removed in that case.
+     */
+    public ClaimJob submit(MultipartFile file) throws IOException {
+        purgeExpired();
+
+        PdfSource source = pdfExtractor.open(file);
+        ClaimJob job = new ClaimJob(UUID.randomUUID().toString(), source.getName());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, source));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            closeQuietly(source);
+            rejected.increment();
+            log.warn("Rejecting claim job for {}: {} job(s) already queued", job.filename, workers.getQueue().size());
+            throw e;
+        }
+        log.info("Queued claim job {} for {}", job.id, job.filename);
+        return job;
+    }
+
+    public Optional<ClaimJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(ClaimJob job, PdfSource source) {
+        job.status = ClaimJobStatus.Status.RUNNING;
+        try {
+            ClaimProcessingResponse response = claimProcessingService.processClaim(source);
+            job.finish(ClaimJobStatus.Status.COMPLETED, response, null);
+            completed.increment();
+            job.result.complete(response);
+        } catch (Exception e) {
+            log.error("Claim job {} failed: {}", job.id, e.getMessage());
+            job.finish(ClaimJobStatus.Status.FAILED, null, "Error processing claim: " + e.getMessage());
+            failed.increment();
+            job.result.complete(null);
+        } finally {
+            closeQuietly(source);
+        }
+    }
+
+    /**
+     * Drop finished jobs whose retention has run out
+     */
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.toEpochMilli() < cutoff);
+    }
+
+    private static void closeQuietly(PdfSource source) {
+        try {
+            source.close();
+        } catch (IOException e) {
+            log.warn("Could not remove spooled document {}: {}", source.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * One submitted claim. {@link #getResult()} completes when the job finishes, with the
+     * response or with null if processing failed.
+     */
+    public static final class ClaimJob {
+        private final String id;
+        private final String filename;
+        private final Instant submittedAt = Instant.now();
+        private final CompletableFuture<ClaimProcessingResponse> result = new CompletableFuture<>();
+        private volatile ClaimJobStatus.Status status = ClaimJobStatus.Status.QUEUED;
+        private volatile ClaimProcessingResponse response;
+        private volatile Instant completedAt;
+        private volatile String error;
+
+        private ClaimJob(String id, String filename) {
+            this.id = id;
+            this.filename = filename;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public CompletableFuture<ClaimProcessingResponse> getResult() {
+            return result;
+        }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        public ClaimJobStatus toStatus() {
+            return ClaimJobStatus.builder()
+                    .jobId(id)
+                    .filename(filename)
+                    .status(status)
+                    .submittedAt(submittedAt.toString())
+                    .completedAt(completedAt != null ? completedAt.toString() : null)
+                    .result(response)
+                    .error(error)
+                    .build();
+        }
+
+        /**
+         * Publish the outcome before the status, so a poll that sees a final status also sees its result
+         */
+        private void finish(ClaimJobStatus.Status status, ClaimProcessingResponse response, String error) {
+            this.response = response;
+            this.error = error;
+            this.completedAt = Instant.now();
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation for ClaimProcessingService. Every pipeline stage feeds a
+ * {@code claims.pipeline.stage} timer with percentile histograms; every finished claim
+ * counts its route and each missing field. The end-to-end {@code claims.pipeline} timer is
+ * tagged with the extraction path, so AcroForm-read forms can be compared with text-extracted
+ * ones. A {@link Trace} also keeps the stage timings of one request so they can be returned
+ * in the response metadata.
+ */
+@Component
+public class ClaimPipelineMetrics {
+
+    public static final String CACHE_LOOKUP = "cache_lookup";
+    public static final String PDF_EXTRACTION = "pdf_extraction";
+    public static final String ACROFORM_EXTRACTION = "acroform_extraction";
+    public static final String FIELD_EXTRACTION = "field_extraction";
+    public static final String VALIDATION = "validation";
+    public static final String INDICATOR_SCAN = "indicator_scan";
+    public static final String ROUTING = "routing";
+    public static final String RESPONSE_BUILD = "response_build";
+    public static final String TOTAL = "total";
+
+    public static final String PATH_ACROFORM = "acroform";
+    public static final String PATH_TEXT = "text";
+    public static final String PATH_TEXT_CACHE = "text_cache";
+    private static final String PATH_NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> pipelineTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> missingFieldCounters = new ConcurrentHashMap<>();
+
+    public ClaimPipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Trace startTrace() {
+        return new Trace();
+    }
+
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("claims.pipeline.stage")
+                .description("Time spent in one stage of claim processing")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Timer pipelineTimer(String cache, String extraction) {
+        return pipelineTimers.computeIfAbsent(cache + '/' + extraction, name -> Timer.builder("claims.pipeline")
+                .description("End-to-end claim processing time")
+                .tag("cache", cache)
+                .tag("extraction", extraction)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private void countOutcome(ClaimProcessingResponse response) {
+        if (response.getRecommendedRoute() != null) {
+            routeCounters.computeIfAbsent(response.getRecommendedRoute(), route -> Counter.builder("claims.routed")
+                    .description("Claims by recommended route")
+                    .tag("route", route)
+                    .register(registry)).increment();
+        }
+        if (response.getMissingFields() != null) {
+            for (String field : response.getMissingFields()) {
+                missingFieldCounters.computeIfAbsent(field, name -> Counter.builder("claims.missing.fields")
+                        .description("Claims missing a mandatory field")
+                        .tag("field", name)
+                        .register(registry)).increment();
+            }
+        }
+    }
+
+    /**
+     * Stage timings of one request. Each {@link #stage} call closes the stage that started
+     * at the previous call, so the stages of a request add up to its total.
+     */
+    public final class Trace {
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Double> stageMillis = new LinkedHashMap<>();
+        private long markNanos = startNanos;
+        private String extractionPath = PATH_NONE;
+
+        public void stage(String stage) {
+            long now = System.nanoTime();
+            long nanos = now - markNanos;
+            markNanos = now;
+            stageTimer(stage).record(nanos, TimeUnit.NANOSECONDS);
+            stageMillis.put(stage, nanos / 1_000_000.0);
+        }
+
+        /**
+         * How the claim's fields were obtained; a result cache hit has none
+         */
+        public void extractionPath(String path) {
+            extractionPath = path;
+        }
+
+        /**
+         * Record the end-to-end time and outcome, and attach the breakdown to the response
+         */
+        public ClaimProcessingResponse finish(ClaimProcessingResponse response, String cache) {
+            long nanos = System.nanoTime() - startNanos;
+            pipelineTimer(cache, extractionPath).record(nanos, TimeUnit.NANOSECONDS);
+            stageMillis.put(TOTAL, nanos / 1_000_000.0);
+            countOutcome(response);
+            if (response.getMetadata() != null) {
+                response.getMetadata().setStageTimingsMillis(stageMillis);
+            }
+            return response;
+        }
+    }
+}
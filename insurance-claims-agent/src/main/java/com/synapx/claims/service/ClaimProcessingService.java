@@ -1,21 +1,29 @@
 package com.synapx.claims.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.dto.StoredClaim;
 import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.PdfContent;
 import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.extractor.PdfSource;
 import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.ClaimStore;
+import com.synapx.claims.store.ExtractedTextCache;
+import com.synapx.claims.validator.ClaimIndicators;
 import com.synapx.claims.validator.ClaimValidator;
+import com.synapx.claims.validator.MandatoryField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -26,7 +34,12 @@ public class ClaimProcessingService {
     private final FieldExtractor fieldExtractor;
     private final ClaimValidator claimValidator;
     private final ClaimRoutingService routingService;
-    private final ObjectMapper objectMapper;
+    private final ClaimResultCache resultCache;
+    private final ClaimExportService exportService;
+    private final ClaimStore claimStore;
+    private final ClaimSimilarityIndex similarityIndex;
+    private final ExtractedTextCache textCache;
+    private final ClaimPipelineMetrics metrics;
 
     /**
      * Process FNOL document and return routing decision
@@ -34,45 +47,168 @@ public class ClaimProcessingService {
     public ClaimProcessingResponse processClaim(MultipartFile file) throws Exception {
         log.info("Starting claim processing for file: {}", file.getOriginalFilename());
         
-        // Step 1: Extract text from PDF
-        String extractedText = pdfExtractor.extractTextFromPdf(file);
+        // The cache keys and duplicate check need the document hash, so open the upload as a reusable source
+        if (resultCache.isEnabled() || textCache.isEnabled() || similarityIndex.isEnabled()) {
+            try (PdfSource source = pdfExtractor.open(file)) {
+                return processClaim(source);
+            }
+        }
         
-        // Step 2: Extract structured fields
-        ClaimData claimData = fieldExtractor.extractFields(extractedText);
+        ClaimPipelineMetrics.Trace trace = metrics.startTrace();
         
-        // Step 3: Validate and find missing fields
-        List<String> missingFields = claimValidator.validateAndFindMissingFields(claimData);
+        // Step 1: Read the ACORD form fields, or extract text from the PDF
+        PdfContent content = pdfExtractor.extract(file);
+        String extractionPath = extractionStage(content, trace);
+        
+        return trace.finish(processContent(content, extractionPath, file.getOriginalFilename(), null, null, trace), "off");
+    }
+    
+    /**
+     * Process an FNOL document that is already on disk or in memory
+     */
+    public ClaimProcessingResponse processClaim(PdfSource source) throws Exception {
+        log.info("Starting claim processing for document: {}", source.getName());
+        
+        ClaimPipelineMetrics.Trace trace = metrics.startTrace();
+        
+        // Step 0: Reuse the result for a byte-identical resubmission
+        String documentHash = resultCache.isEnabled() || textCache.isEnabled() || similarityIndex.isEnabled()
+            ? source.sha256()
+            : null;
+        String cacheKey = null;
+        String cacheFingerprint = null;
+        if (resultCache.isEnabled()) {
+            cacheKey = documentHash;
+            cacheFingerprint = resultCache.fingerprint();
+            ClaimProcessingResponse cached = resultCache.get(cacheKey);
+            trace.stage(ClaimPipelineMetrics.CACHE_LOOKUP);
+            if (cached != null) {
+                log.info("Claim served from result cache. Route: {}", cached.getRecommendedRoute());
+                return trace.finish(cached, "hit");
+            }
+        }
+        
+        // Step 1: Read the ACORD form fields, or extract text from the PDF unless an earlier
+        // submission already did
+        Optional<ExtractedTextCache.Entry> cachedText = documentHash != null ? cachedText(documentHash) : Optional.empty();
+        PdfContent content;
+        String extractionPath;
+        if (cachedText.isPresent()) {
+            content = PdfContent.text(cachedText.get().text());
+            extractionPath = ClaimPipelineMetrics.PATH_TEXT_CACHE;
+            trace.stage(ClaimPipelineMetrics.PDF_EXTRACTION);
+            trace.extractionPath(extractionPath);
+        } else {
+            content = pdfExtractor.extract(source);
+            extractionPath = extractionStage(content, trace);
+        }
         
-        // Step 4: Check for fraud indicators
-        boolean hasFraudIndicators = claimValidator.hasFraudIndicators(claimData);
+        // Form fields are read again on every submission; only extracted text is worth caching
+        ClaimProcessingResponse response = processContent(content, extractionPath, source.getName(), documentHash,
+            textCache.isEnabled() && cachedText.isEmpty() && !content.isForm() ? documentHash : null, trace);
+        if (cacheKey != null) {
+            resultCache.put(cacheKey, response, cacheFingerprint);
+        }
+        return trace.finish(response, cacheKey != null ? "miss" : "off");
+    }
+    
+    /**
+     * Close the extraction stage under the path that was taken, so form reads and text
+     * extraction are timed separately
+     */
+    private static String extractionStage(PdfContent content, ClaimPipelineMetrics.Trace trace) {
+        String path = content.isForm() ? ClaimPipelineMetrics.PATH_ACROFORM : ClaimPipelineMetrics.PATH_TEXT;
+        trace.stage(content.isForm() ? ClaimPipelineMetrics.ACROFORM_EXTRACTION : ClaimPipelineMetrics.PDF_EXTRACTION);
+        trace.extractionPath(path);
+        return path;
+    }
+    
+    /**
+     * Steps 2-7; documentHash (null when not computed) keeps a resubmitted document from being
+     * flagged as a duplicate of itself, and with a textCacheKey the text and routing decision
+     * are also written to the text cache
+     */
+    private ClaimProcessingResponse processContent(PdfContent content, String extractionPath, String filename,
+                                                   String documentHash, String textCacheKey,
+                                                   ClaimPipelineMetrics.Trace trace) {
+        // Step 2: Extract structured fields; a form's fields only need mapping onto ClaimData
+        ClaimData claimData = content.isForm()
+            ? fieldExtractor.extractFormFields(content.formFields())
+            : fieldExtractor.extractFields(content.text());
+        trace.stage(ClaimPipelineMetrics.FIELD_EXTRACTION);
         
-        // Step 5: Check if injury claim
-        boolean isInjuryClaim = claimValidator.isInjuryClaim(claimData);
+        // Step 3: Validate and find missing fields
+        long missing = claimValidator.findMissingFields(claimData);
+        List<String> missingFields = MandatoryField.names(missing);
+        trace.stage(ClaimPipelineMetrics.VALIDATION);
         
-        // Step 6: Determine routing
+        // Step 4: Scan the description for fraud and injury keywords
+        ClaimIndicators indicators = claimValidator.scanIndicators(claimData, documentHash);
+        trace.stage(ClaimPipelineMetrics.INDICATOR_SCAN);
+        
+        // Step 5: Determine routing
         ClaimRoutingService.RoutingDecision routing = routingService.determineRouting(
-            claimData, missingFields, hasFraudIndicators, isInjuryClaim
+            claimData, missingFields, indicators
         );
+        trace.stage(ClaimPipelineMetrics.ROUTING);
         
-        // Step 7: Build response
+        // Step 6: Build response
         ClaimProcessingResponse response = buildResponse(
-            claimData, missingFields, routing, file.getOriginalFilename()
+            claimData, missing, missingFields, routing, extractionPath
         );
+        trace.stage(ClaimPipelineMetrics.RESPONSE_BUILD);
+        
+        // Step 7: Persist the claim for history lookups, index it so later duplicates are
+        // flagged, and queue it for the analytics export
+        StoredClaim stored = store(response, filename, documentHash);
+        similarityIndex.add(claimData, stored != null ? stored.getId() : -1, documentHash);
+        exportService.export(response, missing);
+        if (textCacheKey != null) {
+            cacheText(textCacheKey, filename, content.text(), routing.getRoute(), indicators);
+        }
         
         log.info("Claim processing completed. Route: {}", routing.getRoute());
         return response;
     }
     
+    /**
+     * A claim that cannot be persisted is logged; the caller still gets its routing decision
+     */
+    private StoredClaim store(ClaimProcessingResponse response, String filename, String documentHash) {
+        try {
+            return claimStore.append(response, filename, documentHash);
+        } catch (IOException e) {
+            log.error("Could not persist claim {} to the claim store: {}", filename, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * A text cache that cannot be read is bypassed; the document is parsed again
+     */
+    private Optional<ExtractedTextCache.Entry> cachedText(String documentHash) {
+        try {
+            return textCache.get(documentHash);
+        } catch (IOException e) {
+            log.warn("Could not read cached text for {}: {}", documentHash, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private void cacheText(String documentHash, String filename, String text, String route, ClaimIndicators indicators) {
+        try {
+            textCache.put(documentHash, filename, text, route, indicators.duplicates());
+        } catch (IOException e) {
+            log.error("Could not cache extracted text of {}: {}", filename, e.getMessage());
+        }
+    }
+    
     /**
      * Build the final response
      */
-    @SuppressWarnings("unchecked")
-    private ClaimProcessingResponse buildResponse(ClaimData claimData, List<String> missingFields,
+    private ClaimProcessingResponse buildResponse(ClaimData claimData, long missing, List<String> missingFields,
                                                   ClaimRoutingService.RoutingDecision routing,
-                                                  String filename) {
-        
-        // Convert ClaimData to Map for extractedFields
-        Map<String, Object> extractedFieldsMap = objectMapper.convertValue(claimData, Map.class);
+                                                  String extractionPath) {
         
         // Build warnings
         List<String> warnings = new ArrayList<>();
@@ -85,25 +221,18 @@ public class ClaimProcessingService {
             ClaimProcessingResponse.ProcessingMetadata.builder()
                 .processingTimestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
                 .documentType("ACORD FNOL")
-                .confidenceScore(calculateConfidenceScore(missingFields))
+                .confidenceScore(MandatoryField.confidenceScore(missing))
                 .warnings(warnings)
+                .cacheHit(resultCache.isEnabled() ? Boolean.FALSE : null)
+                .extractionPath(extractionPath)
                 .build();
         
         return ClaimProcessingResponse.builder()
-                .extractedFields(extractedFieldsMap)
+                .extractedFields(claimData)
                 .missingFields(missingFields)
                 .recommendedRoute(routing.getRoute())
                 .reasoning(routing.getReasoning())
                 .metadata(metadata)
                 .build();
     }
-    
-    /**
-     * Calculate confidence score based on extracted fields
-     */
-    private Integer calculateConfidenceScore(List<String> missingFields) {
-        int totalFields = 15; // Approximate number of key fields
-        int extractedFields = totalFields - missingFields.size();
-        return (int) ((extractedFields / (double) totalFields) * 100);
-    }
 }
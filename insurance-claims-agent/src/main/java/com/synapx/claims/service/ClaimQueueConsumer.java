@@ -0,0 +1,169 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.dto.ClaimDecision;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.queue.ClaimDecisionQueue;
+import com.synapx.claims.queue.ClaimMessage;
+import com.synapx.claims.queue.ClaimQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer mode: pulls FNOL documents from a {@link ClaimQueue} instead of waiting for them
+ * to be posted to /process. Each worker thread owns the partitions whose number modulo
+ * the worker count is its own and processes them in micro-batches: every document of the
+ * batch goes through {@link ClaimProcessingService}, the routing decisions are published
+ * to the {@link ClaimDecisionQueue}, and only then is the batch's last offset committed.
+ * A crash or a failed publish or commit rewinds the partition, so documents are processed
+ * at least once and a decision may be published more than once. A document that fails
+ * processing is decided FAILED and committed, so one bad PDF cannot stall its partition.
+ */
+@Slf4j
+public class ClaimQueueConsumer {
+
+    private final ClaimQueue input;
+    private final ClaimDecisionQueue output;
+    private final ClaimProcessingService claimProcessingService;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter rewound;
+
+    public ClaimQueueConsumer(ClaimQueue input,
+                              ClaimDecisionQueue output,
+                              ClaimProcessingService claimProcessingService,
+                              ClaimsProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.input = input;
+        this.output = output;
+        this.claimProcessingService = claimProcessingService;
+        ClaimsProperties.Queue config = properties.getQueue();
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.pollIntervalMillis = Math.max(1, config.getPollInterval().toMillis());
+
+        this.processed = Counter.builder("claims.queue.consumed")
+                .description("Queued documents decided and committed")
+                .tag("status", "processed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("claims.queue.consumed")
+                .description("Queued documents decided and committed")
+                .tag("status", "failed")
+                .register(meterRegistry);
+        this.rewound = Counter.builder("claims.queue.rewound")
+                .description("Micro-batches redelivered after a failed publish or commit")
+                .register(meterRegistry);
+
+        this.workerCount = Math.max(1, Math.min(config.getWorkers(), input.partitions()));
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int worker = 0; worker < workerCount; worker++) {
+            List<Integer> owned = new ArrayList<>();
+            for (int partition = worker; partition < input.partitions(); partition += workerCount) {
+                owned.add(partition);
+            }
+            Thread thread = new Thread(() -> run(owned), "claim-queue-" + worker);
+            thread.setDaemon(true);
+            workers.add(thread);
+        }
+        workers.forEach(Thread::start);
+        log.info("Consuming {} claim queue partition(s) on {} worker(s)", input.partitions(), workerCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void run(List<Integer> partitions) {
+        while (running) {
+            boolean idle = true;
+            for (int partition : partitions) {
+                if (!running) {
+                    return;
+                }
+                try {
+                    idle &= consumeBatch(partition) == 0;
+                } catch (IOException | RuntimeException e) {
+                    log.error("Claim queue partition {} failed; redelivering its uncommitted documents: {}",
+                            partition, e.getMessage());
+                    input.rewind(partition);
+                    rewound.increment();
+                }
+            }
+            if (idle) {
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Process, publish and commit one micro-batch of the partition; returns its size
+     */
+    int consumeBatch(int partition) throws IOException {
+        List<ClaimMessage> batch = input.poll(partition, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<ClaimDecision> decisions = new ArrayList<>(batch.size());
+        for (ClaimMessage message : batch) {
+            decisions.add(decide(message));
+            if (!running) {
+                // Interrupted by shutdown: nothing of the batch is committed, so it is delivered again after a restart
+                return 0;
+            }
+        }
+        output.publish(partition, decisions);
+        input.commit(partition, batch.get(batch.size() - 1).offset());
+        for (ClaimDecision decision : decisions) {
+            (decision.getStatus() == BatchClaimResult.Status.PROCESSED ? processed : failed).increment();
+        }
+        return batch.size();
+    }
+
+    private ClaimDecision decide(ClaimMessage message) {
+        long start = System.nanoTime();
+        ClaimDecision.ClaimDecisionBuilder decision = ClaimDecision.builder()
+                .partition(message.partition())
+                .offset(message.offset())
+                .key(message.key());
+        try (PdfSource document = message.document()) {
+            ClaimProcessingResponse response = claimProcessingService.processClaim(document);
+            decision.status(BatchClaimResult.Status.PROCESSED).result(response);
+        } catch (Exception e) {
+            log.error("Error processing queued document {}: {}", message.key(), e.getMessage());
+            decision.status(BatchClaimResult.Status.FAILED).error("Error processing claim: " + e.getMessage());
+        }
+        return decision.elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.synapx.claims.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writers for claim responses, resolved once against the application ObjectMapper so the
+ * serializer lookup is not repeated per response. Output goes straight to the target
+ * stream, which is left open for the caller.
+ */
+@Component
+public class ClaimResponseWriter {
+
+    private final ObjectWriter compact;
+    private final ObjectWriter pretty;
+    private final ObjectWriter batchLine;
+    private final boolean prettyByDefault;
+
+    public ClaimResponseWriter(ObjectMapper objectMapper, ClaimsProperties properties) {
+        this.compact = objectMapper.writerFor(ClaimProcessingResponse.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.pretty = compact.withDefaultPrettyPrinter();
+        this.batchLine = objectMapper.writerFor(BatchClaimResult.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.prettyByDefault = properties.getResponse().isPretty();
+    }
+
+    /**
+     * Whether to indent, given the request's choice (null when it made none)
+     */
+    public boolean isPretty(Boolean requested) {
+        return requested != null ? requested : prettyByDefault;
+    }
+
+    public void write(ClaimProcessingResponse response, boolean indent, OutputStream out) throws IOException {
+        (indent ? pretty : compact).writeValue(out, response);
+    }
+
+    public byte[] toBytes(ClaimProcessingResponse response, boolean indent) throws IOException {
+        return (indent ? pretty : compact).writeValueAsBytes(response);
+    }
+
+    /**
+     * One NDJSON line: compact JSON followed by a newline
+     */
+    public void writeLine(BatchClaimResult result, OutputStream out) throws IOException {
+        batchLine.writeValue(out, result);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,155 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.extractor.PdfSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Responses keyed by the SHA-256 of the submitted PDF, so a broker resubmitting the same
+ * document skips extraction and routing. Entries are evicted least-recently-used beyond
+ * the size limit and expire after the TTL. The whole cache is dropped as soon as the
+ * extraction rules, keyword lexicon or routing thresholds no longer match the ones the entries were built with.
+ */
+@Slf4j
+@Service
+public class ClaimResultCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final FieldPatternRegistry patternRegistry;
+    private final KeywordLexicon lexicon;
+    private final ClaimRoutingService routingService;
+
+    private final Map<String, Entry> entries;
+    private String fingerprint;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ClaimResultCache(ClaimsProperties properties,
+                            FieldPatternRegistry patternRegistry,
+                            KeywordLexicon lexicon,
+                            ClaimRoutingService routingService) {
+        ClaimsProperties.Cache cache = properties.getCache();
+        this.enabled = cache.isEnabled() && cache.getMaxEntries() > 0;
+        this.maxEntries = cache.getMaxEntries();
+        this.ttlNanos = cache.getTtl().toNanos();
+        this.patternRegistry = patternRegistry;
+        this.lexicon = lexicon;
+        this.routingService = routingService;
+        this.fingerprint = currentFingerprint();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * SHA-256 of the document bytes
+     */
+    public String key(PdfSource source) throws IOException {
+        return source.sha256();
+    }
+
+    /**
+     * The extraction rules, keyword lexicon and routing thresholds in force now; take it
+     * before the lookup and hand it to {@link #put} with the response built under it
+     */
+    public String fingerprint() {
+        return currentFingerprint();
+    }
+
+    /**
+     * The cached response marked as a cache hit, or null on a miss
+     */
+    public synchronized ClaimProcessingResponse get(String key) {
+        checkFingerprint();
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdNanos > ttlNanos) {
+            entries.remove(key);
+            expirations.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        ClaimProcessingResponse.ProcessingMetadata metadata = entry.response.getMetadata() != null
+                ? entry.response.getMetadata().toBuilder().cacheHit(true).build()
+                : ClaimProcessingResponse.ProcessingMetadata.builder().cacheHit(true).build();
+        return entry.response.toBuilder().metadata(metadata).build();
+    }
+
+    /**
+     * Cache a response built under the given fingerprint. It is dropped if the rules were
+     * reloaded since, so a slow extraction cannot store a result the new rules would not give.
+     */
+    public synchronized void put(String key, ClaimProcessingResponse response, String builtWith) {
+        checkFingerprint();
+        if (!fingerprint.equals(builtWith)) {
+            log.debug("Not caching the result for {}: it was built before the rules changed", key);
+            return;
+        }
+        entries.put(key, new Entry(response, System.nanoTime()));
+    }
+
+    public synchronized void invalidateAll() {
+        if (!entries.isEmpty()) {
+            invalidations.increment();
+            entries.clear();
+        }
+    }
+
+    public synchronized CacheStats getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        long lookups = hit + miss;
+        return new CacheStats(enabled, entries.size(), maxEntries, hit, miss,
+                lookups == 0 ? 0.0 : hit / (double) lookups,
+                evictions.sum(), expirations.sum(), invalidations.sum(), fingerprint);
+    }
+
+    private void checkFingerprint() {
+        String current = currentFingerprint();
+        if (!current.equals(fingerprint)) {
+            log.info("Extraction rules or routing thresholds changed; dropping {} cached result(s)", entries.size());
+            fingerprint = current;
+            invalidateAll();
+        }
+    }
+
+    private String currentFingerprint() {
+        return patternRegistry.getFingerprint() + '/' + lexicon.getFingerprint() + '/' + routingService.getFingerprint();
+    }
+
+    private record Entry(ClaimProcessingResponse response, long createdNanos) {}
+
+    public record CacheStats(boolean enabled, int size, int maxEntries, long hits, long misses,
+                             double hitRatio, long evictions, long expirations, long invalidations,
+                             String fingerprint) {}
+}
@@ -1,117 +1,185 @@
 package com.synapx.claims.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.config.ClaimsProperties;
 import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.validator.ClaimIndicators;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Routes claims through rules loaded from {@code claims.routing.rules-location}. The rules
+ * are compiled into a {@link RoutingRuleTable}; the file is re-read every reload interval
+ * (or on {@link #reload()}) and a changed, valid rule set replaces the table in place.
+ * An invalid file is logged and the current rules stay in effect.
+ */
 @Slf4j
 @Service
 public class ClaimRoutingService {
 
-    private static final double FAST_TRACK_THRESHOLD = 25000.0;
-    
+    private static final ObjectMapper RULES_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+    private final Resource rulesResource;
+    private final ScheduledExecutorService reloader;
+    private volatile RoutingRuleTable table;
+
+    public ClaimRoutingService(ClaimsProperties properties) {
+        ClaimsProperties.Routing routing = properties.getRouting();
+        this.rulesResource = new DefaultResourceLoader().getResource(routing.getRulesLocation());
+        this.table = load();
+        log.info("Loaded {} routing rules from {}", table.size(), routing.getRulesLocation());
+
+        Duration interval = routing.getReloadInterval();
+        if (interval != null && !interval.isZero() && !interval.isNegative()) {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "routing-rules-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadQuietly,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.reloader = null;
+        }
+    }
+
+    /**
+     * Identifies the routing rules in effect; cached decisions made under a
+     * different fingerprint are stale
+     */
+    public String getFingerprint() {
+        return table.getFingerprint();
+    }
+
+    public List<RoutingRule> getRules() {
+        return table.getDefinitions();
+    }
+
     /**
      * Determine routing based on business rules
      */
-    public RoutingDecision determineRouting(ClaimData claimData, List<String> missingFields, 
+    public RoutingDecision determineRouting(ClaimData claimData, List<String> missingFields,
                                            boolean hasFraudIndicators, boolean isInjuryClaim) {
-        log.info("Determining claim routing");
-        
-        List<String> reasons = new ArrayList<>();
-        String route;
-        
-        // Rule 1: If any mandatory field is missing → Manual review
-        if (!missingFields.isEmpty()) {
-            route = "MANUAL_REVIEW";
-            reasons.add("Missing mandatory fields: " + String.join(", ", missingFields));
-            log.info("Routing to MANUAL_REVIEW due to missing fields");
-            return new RoutingDecision(route, String.join("; ", reasons));
+        return determineRouting(claimData, missingFields, ClaimIndicators.of(hasFraudIndicators, isInjuryClaim));
+    }
+
+    /**
+     * Determine routing; rules can cite the matched keywords through {fraudTerms} and {injuryTerms}
+     */
+    public RoutingDecision determineRouting(ClaimData claimData, List<String> missingFields,
+                                           ClaimIndicators indicators) {
+        RoutingDecision decision = table.evaluate(claimData, missingFields, indicators);
+        log.info("Routing to {} (rule: {})", decision.getRoute(), decision.getRule());
+        return decision;
+    }
+
+    /**
+     * Re-read the rules file; returns true if a changed rule set was installed.
+     * Throws if the file cannot be read or the rules do not compile.
+     */
+    public synchronized boolean reload() {
+        RoutingRuleTable current = table;
+        RoutingRuleTable loaded = load();
+        if (loaded.getFingerprint().equals(current.getFingerprint())) {
+            return false;
         }
-        
-        // Rule 2: If fraud indicators detected → Investigation Flag
-        if (hasFraudIndicators) {
-            route = "INVESTIGATION_FLAG";
-            reasons.add("Fraud indicators detected in claim description");
-            log.info("Routing to INVESTIGATION_FLAG due to fraud indicators");
-            return new RoutingDecision(route, String.join("; ", reasons));
+        table = loaded;
+        log.info("Reloaded {} routing rules from {}", loaded.size(), rulesResource.getDescription());
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
         }
-        
-        // Rule 3: If claim type = injury → Specialist Queue
-        if (isInjuryClaim) {
-            route = "SPECIALIST_QUEUE";
-            reasons.add("Injury claim requires specialist review");
-            log.info("Routing to SPECIALIST_QUEUE due to injury claim");
-            return new RoutingDecision(route, String.join("; ", reasons));
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Keeping current routing rules; reload failed: {}", e.getMessage());
         }
-        
-        // Rule 4: If estimated damage < $25,000 → Fast-track
-        double estimatedDamage = extractEstimatedDamage(claimData);
-        if (estimatedDamage > 0 && estimatedDamage < FAST_TRACK_THRESHOLD) {
-            route = "FAST_TRACK";
-            reasons.add(String.format("Estimated damage ($%.2f) is below fast-track threshold ($%.2f)", 
-                                     estimatedDamage, FAST_TRACK_THRESHOLD));
-            log.info("Routing to FAST_TRACK due to low damage estimate");
-            return new RoutingDecision(route, String.join("; ", reasons));
+    }
+
+    private RoutingRuleTable load() {
+        byte[] content;
+        try (InputStream in = rulesResource.getInputStream()) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read routing rules from " + rulesResource.getDescription(), e);
         }
-        
-        // Default: Standard processing
-        route = "STANDARD_PROCESSING";
-        if (estimatedDamage > 0) {
-            reasons.add(String.format("Estimated damage ($%.2f) exceeds fast-track threshold", estimatedDamage));
-        } else {
-            reasons.add("Standard claim processing - all validation checks passed");
+
+        RulesFile rules;
+        try {
+            rules = RULES_MAPPER.readValue(content, RulesFile.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid routing rules in " + rulesResource.getDescription()
+                    + ": " + e.getMessage(), e);
         }
-        
-        log.info("Routing to STANDARD_PROCESSING");
-        return new RoutingDecision(route, String.join("; ", reasons));
+        return RoutingRuleTable.compile(rules.rules(), sha256(content));
     }
-    
-    /**
-     * Extract and parse estimated damage amount
-     */
-    private double extractEstimatedDamage(ClaimData claimData) {
+
+    private static String sha256(byte[] content) {
         try {
-            if (claimData.getAssetDetails() != null && 
-                claimData.getAssetDetails().getEstimatedDamage() != null) {
-                String damage = claimData.getAssetDetails().getEstimatedDamage()
-                    .replaceAll("[^0-9.]", "");
-                return Double.parseDouble(damage);
-            }
-            
-            if (claimData.getOtherMandatoryFields() != null && 
-                claimData.getOtherMandatoryFields().getInitialEstimate() != null) {
-                String estimate = claimData.getOtherMandatoryFields().getInitialEstimate()
-                    .replaceAll("[^0-9.]", "");
-                return Double.parseDouble(estimate);
-            }
-        } catch (NumberFormatException e) {
-            log.warn("Unable to parse estimated damage amount");
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        
-        return 0.0;
     }
-    
+
+    private record RulesFile(List<RoutingRule> rules) {}
+
     /**
      * Inner class to hold routing decision
      */
     public static class RoutingDecision {
         private final String route;
         private final String reasoning;
-        
+        private final String rule;
+
         public RoutingDecision(String route, String reasoning) {
+            this(route, reasoning, null);
+        }
+
+        public RoutingDecision(String route, String reasoning, String rule) {
             this.route = route;
             this.reasoning = reasoning;
+            this.rule = rule;
         }
-        
+
         public String getRoute() {
             return route;
         }
-        
+
         public String getReasoning() {
             return reasoning;
         }
+
+        /**
+         * Name of the rule that matched, or null when no rule did and the default route applied
+         */
+        public String getRule() {
+            return rule;
+        }
     }
 }
@@ -0,0 +1,218 @@
+package com.synapx.claims.service;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a multipart/form-data body part by part as it arrives, instead of letting the
+ * servlet container store the whole request before the handler runs. Only the current
+ * part is readable; {@link #next()} skips whatever of it was not read. Headers are
+ * bounded, bodies are not, so callers enforce their own size limits.
+ */
+class MultipartStreamReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    /** Unread bytes before this offset are known not to start a delimiter */
+    private int clear;
+    private boolean eof;
+    private boolean finished;
+    private PartStream current;
+
+    MultipartStreamReader(InputStream in, String boundary) {
+        this.in = in;
+        // Every delimiter is preceded by CRLF except the first, so read the body as if it were too
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+        this.buffer[0] = '\r';
+        this.buffer[1] = '\n';
+        this.limit = 2;
+    }
+
+    /**
+     * The next part, or null after the closing delimiter
+     */
+    Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        // Skip the unread rest of the current part, or the preamble before the first delimiter
+        (current != null ? current : new PartStream()).transferTo(OutputStream.nullOutputStream());
+        if (readDelimiterSuffix()) {
+            finished = true;
+            return null;
+        }
+
+        HttpHeaders headers = readHeaders();
+        current = new PartStream();
+        String disposition = headers.getFirst(HttpHeaders.CONTENT_DISPOSITION);
+        ContentDisposition contentDisposition = disposition != null
+                ? ContentDisposition.parse(disposition)
+                : ContentDisposition.empty();
+        return new Part(contentDisposition.getName(), contentDisposition.getFilename(),
+                headers.getFirst(HttpHeaders.CONTENT_TYPE), current);
+    }
+
+    /**
+     * After a delimiter: {@code --} closes the body, otherwise the line ends and headers follow.
+     * Returns true for the closing delimiter.
+     */
+    private boolean readDelimiterSuffix() throws IOException {
+        if (!fill(2)) {
+            throw new IOException("Multipart body ends without a closing delimiter");
+        }
+        if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            pos += 2;
+            return true;
+        }
+        // RFC 2046 allows transport padding between the boundary and the line end
+        while (fill(1) && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+            pos++;
+        }
+        if (!fill(2) || buffer[pos] != '\r' || buffer[pos + 1] != '\n') {
+            throw new IOException("Malformed multipart delimiter line");
+        }
+        pos += 2;
+        return false;
+    }
+
+    private HttpHeaders readHeaders() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        int read = 0;
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            if (!fill(1)) {
+                throw new IOException("Multipart body ends inside part headers");
+            }
+            if (++read > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart part headers exceed " + MAX_HEADER_BYTES + " bytes");
+            }
+            char c = (char) (buffer[pos++] & 0xFF);
+            if (c != '\n') {
+                line.append(c);
+                continue;
+            }
+            int end = line.length() > 0 && line.charAt(line.length() - 1) == '\r' ? line.length() - 1 : line.length();
+            if (end == 0) {
+                return headers;
+            }
+            int colon = line.indexOf(":");
+            if (colon > 0 && colon < end) {
+                // Header bytes are ISO-8859-1; RFC 7578 filenames in UTF-8 are decoded by ContentDisposition
+                String value = new String(line.substring(colon + 1, end).getBytes(StandardCharsets.ISO_8859_1),
+                        StandardCharsets.UTF_8).trim();
+                headers.add(line.substring(0, colon).trim(), value);
+            }
+            line.setLength(0);
+        }
+    }
+
+    /**
+     * Make at least {@code count} unread bytes available unless the input ends first
+     */
+    private boolean fill(int count) throws IOException {
+        if (limit - pos >= count) {
+            return true;
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            clear = Math.max(0, clear - pos);
+            pos = 0;
+        }
+        while (limit < count && !eof) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit - pos >= count;
+    }
+
+    /**
+     * Offset of the next delimiter in the unread bytes, or -1
+     */
+    private int indexOfDelimiter() {
+        byte first = delimiter[0];
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    record Part(String name, String filename, String contentType, InputStream body) {}
+
+    /**
+     * Body of the current part; ends at the next delimiter, which it consumes
+     */
+    private final class PartStream extends InputStream {
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            if (pos < clear) {
+                return copyTo(target, offset, Math.min(length, clear - pos));
+            }
+            // Fill the buffer completely unless the delimiter is already in it
+            int delimiterAt = indexOfDelimiter();
+            if (delimiterAt == -1) {
+                fill(buffer.length);
+                delimiterAt = indexOfDelimiter();
+            }
+            if (delimiterAt == pos) {
+                ended = true;
+                pos += delimiter.length;
+                return -1;
+            } else if (delimiterAt > pos) {
+                clear = delimiterAt;
+            } else if (eof) {
+                throw new IOException("Multipart body ends inside a part");
+            } else {
+                // Hold back a possible delimiter prefix at the end of the buffer
+                clear = limit - (delimiter.length - 1);
+            }
+            return copyTo(target, offset, Math.min(length, clear - pos));
+        }
+
+        private int copyTo(byte[] target, int offset, int count) {
+            System.arraycopy(buffer, pos, target, offset, count);
+            pos += count;
+            return count;
+        }
+    }
+}
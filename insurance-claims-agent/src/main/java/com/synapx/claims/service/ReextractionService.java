@@ -0,0 +1,177 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ReextractionReport;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.ExtractedTextCache;
+import com.synapx.claims.validator.ClaimIndicators;
+import com.synapx.claims.validator.ClaimValidator;
+import com.synapx.claims.validator.MandatoryField;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays cached text through FieldExtractor, ClaimValidator and ClaimRoutingService after
+ * an extraction or routing rule change, without parsing any PDF again. Documents are
+ * spread over {@code claims.text-cache.reextraction-workers} threads. Each new route is
+ * compared with the route the claim was given when it was first processed. Nothing is
+ * written back, so the store, export and similarity index keep their original entries.
+ * A replayed claim keeps the duplicate matches it had then; it is not looked up again,
+ * because the index now also holds the claims processed after it, and a lookup would
+ * report those later submissions as the earlier claims it repeats.
+ */
+@Slf4j
+@Service
+public class ReextractionService {
+
+    private final ExtractedTextCache textCache;
+    private final FieldExtractor fieldExtractor;
+    private final ClaimValidator claimValidator;
+    private final ClaimRoutingService routingService;
+    private final FieldPatternRegistry patternRegistry;
+    private final KeywordLexicon lexicon;
+    private final int workers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReextractionService(ExtractedTextCache textCache,
+                               FieldExtractor fieldExtractor,
+                               ClaimValidator claimValidator,
+                               ClaimRoutingService routingService,
+                               FieldPatternRegistry patternRegistry,
+                               KeywordLexicon lexicon,
+                               ClaimsProperties properties) {
+        this.textCache = textCache;
+        this.fieldExtractor = fieldExtractor;
+        this.claimValidator = claimValidator;
+        this.routingService = routingService;
+        this.patternRegistry = patternRegistry;
+        this.lexicon = lexicon;
+        this.workers = Math.max(1, properties.getTextCache().getReextractionWorkers());
+    }
+
+    public boolean isEnabled() {
+        return textCache.isEnabled();
+    }
+
+    /**
+     * Re-route every cached document under the current rules; the report lists at most
+     * {@code limit} changed claims. Throws IllegalStateException if a run is already in progress.
+     */
+    public ReextractionReport reextract(int limit) throws IOException, InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A re-extraction is already running");
+        }
+        try {
+            return run(limit);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReextractionReport run(int limit) throws IOException, InterruptedException {
+        Instant started = Instant.now();
+        long start = System.nanoTime();
+        String extractionFingerprint = patternRegistry.getFingerprint() + '/' + lexicon.getFingerprint();
+        String routingFingerprint = routingService.getFingerprint();
+        List<String> documents = textCache.documentHashes();
+        log.info("Re-extracting {} cached documents on {} threads", documents.size(), workers);
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger unchanged = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ConcurrentLinkedQueue<ReextractionReport.RouteChange> changes = new ConcurrentLinkedQueue<>();
+        Map<String, Integer> transitions = new ConcurrentHashMap<>();
+
+        Runnable worker = () -> {
+            for (int i; (i = next.getAndIncrement()) < documents.size(); ) {
+                String documentHash = documents.get(i);
+                try {
+                    Optional<ReextractionReport.RouteChange> change = replay(documentHash);
+                    if (change.isEmpty()) {
+                        unchanged.incrementAndGet();
+                    } else {
+                        changes.add(change.get());
+                        transitions.merge(change.get().getPreviousRoute() + " -> " + change.get().getRoute(), 1, Integer::sum);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failed.incrementAndGet();
+                    log.warn("Could not re-extract cached document {}: {}", documentHash, e.getMessage());
+                }
+            }
+        };
+        Thread[] threads = new Thread[Math.min(workers, Math.max(1, documents.size()))];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(worker, "reextract-" + (t + 1));
+            threads[t].start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            // Stop handing out documents and let the workers finish the ones they hold
+            next.set(documents.size());
+            throw e;
+        }
+
+        List<ReextractionReport.RouteChange> changed = changes.stream()
+                .sorted(Comparator.comparing(ReextractionReport.RouteChange::getProcessedAt))
+                .toList();
+        ReextractionReport report = ReextractionReport.builder()
+                .startedAt(started.toString())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .extractionFingerprint(extractionFingerprint)
+                .routingFingerprint(routingFingerprint)
+                .documents(documents.size())
+                .unchanged(unchanged.get())
+                .changed(changed.size())
+                .failed(failed.get())
+                .transitions(new TreeMap<>(transitions))
+                .changes(changed.size() > limit ? changed.subList(0, limit) : changed)
+                .build();
+        log.info("Re-extraction finished in {} ms: {} changed route, {} unchanged, {} failed",
+                report.getElapsedMillis(), report.getChanged(), report.getUnchanged(), report.getFailed());
+        return report;
+    }
+
+    /**
+     * The route change for one cached document, or empty if it routes as before (or is no longer cached)
+     */
+    private Optional<ReextractionReport.RouteChange> replay(String documentHash) throws IOException {
+        Optional<ExtractedTextCache.Entry> cached = textCache.get(documentHash);
+        if (cached.isEmpty()) {
+            return Optional.empty();
+        }
+        ExtractedTextCache.Entry entry = cached.get();
+        ClaimData claimData = fieldExtractor.extractFields(entry.text());
+        List<String> missingFields = MandatoryField.names(claimValidator.findMissingFields(claimData));
+        ClaimIndicators indicators = claimValidator.scanKeywords(claimData).withDuplicates(entry.duplicates());
+        ClaimRoutingService.RoutingDecision decision = routingService.determineRouting(claimData, missingFields, indicators);
+        if (decision.getRoute().equals(entry.route())) {
+            return Optional.empty();
+        }
+        return Optional.of(ReextractionReport.RouteChange.builder()
+                .documentHash(documentHash)
+                .filename(entry.filename())
+                .processedAt(entry.processedAt())
+                .previousRoute(entry.route())
+                .route(decision.getRoute())
+                .reasoning(decision.getReasoning())
+                .build());
+    }
+}
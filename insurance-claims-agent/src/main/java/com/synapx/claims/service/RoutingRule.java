@@ -0,0 +1,47 @@
+package com.synapx.claims.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One routing rule as written in the rules file. Every condition that is set must hold
+ * for the rule to match; unset conditions match anything. Rules are tried in file order
+ * and the first match decides the route.
+ * <p>
+ * The reason may contain placeholders: {@code {missingFields}}, {@code {damage}},
+ * {@code {claimType}}, {@code {state}}, {@code {fraudTerms}}, {@code {injuryTerms}} and
+ * {@code {duplicates}} are filled in per claim;
+ * {@code {damageAbove}} and {@code {damageBelow}} are filled in when the rules are loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoutingRule {
+
+    private String name;
+    private String route;
+
+    /** true: at least one mandatory field is missing; false: none are */
+    private Boolean missingFields;
+    private Boolean fraud;
+    private Boolean injury;
+    /** true: the claim repeats an earlier one (same policy or VIN and date of loss, or a near-identical description) */
+    private Boolean duplicate;
+    /** Claim type is one of these (case-insensitive) */
+    private List<String> claimTypes;
+    /** Incident location state is one of these (case-insensitive) */
+    private List<String> states;
+    /** Estimated damage is strictly greater than this */
+    private Double damageAbove;
+    /** Estimated damage is strictly less than this */
+    private Double damageBelow;
+
+    private String reason;
+}
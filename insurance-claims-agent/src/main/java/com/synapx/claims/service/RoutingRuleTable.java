@@ -0,0 +1,336 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.extractor.KeywordMatch;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.DuplicateMatch;
+import com.synapx.claims.validator.ClaimIndicators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Routing rules compiled into a flat table. Conditions become tri-state flags, sets and
+ * bounds checked in file order; reason templates are split into literal text and per-claim
+ * slots once, with load-time values such as thresholds already rendered into the text.
+ * A table is immutable, so a reload swaps in a new one without locking.
+ */
+final class RoutingRuleTable {
+
+    static final String DEFAULT_ROUTE = "STANDARD_PROCESSING";
+    static final String DEFAULT_REASON = "Standard claim processing - all validation checks passed";
+
+    private static final byte ANY = 0;
+    private static final byte YES = 1;
+    private static final byte NO = 2;
+
+    private static final int SLOT_MISSING_FIELDS = 0;
+    private static final int SLOT_DAMAGE = 1;
+    private static final int SLOT_CLAIM_TYPE = 2;
+    private static final int SLOT_STATE = 3;
+    private static final int SLOT_FRAUD_TERMS = 4;
+    private static final int SLOT_INJURY_TERMS = 5;
+    private static final int SLOT_DUPLICATES = 6;
+
+    private final Rule[] rules;
+    private final List<RoutingRule> definitions;
+    private final String fingerprint;
+
+    private RoutingRuleTable(Rule[] rules, List<RoutingRule> definitions, String fingerprint) {
+        this.rules = rules;
+        this.definitions = definitions;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Validate and compile rule definitions; throws IllegalArgumentException on a bad rule
+     */
+    static RoutingRuleTable compile(List<RoutingRule> definitions, String fingerprint) {
+        if (definitions == null || definitions.isEmpty()) {
+            throw new IllegalArgumentException("No routing rules defined");
+        }
+        Rule[] rules = new Rule[definitions.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = compile(definitions.get(i), i);
+        }
+        return new RoutingRuleTable(rules, List.copyOf(definitions), fingerprint);
+    }
+
+    List<RoutingRule> getDefinitions() {
+        return definitions;
+    }
+
+    String getFingerprint() {
+        return fingerprint;
+    }
+
+    int size() {
+        return rules.length;
+    }
+
+    ClaimRoutingService.RoutingDecision evaluate(ClaimData claimData, List<String> missingFields,
+                                                 ClaimIndicators indicators) {
+        boolean missing = !missingFields.isEmpty();
+        boolean fraud = indicators.fraud();
+        boolean injury = indicators.injury();
+        boolean duplicate = indicators.duplicate();
+        double damage = Double.NaN;
+
+        for (Rule rule : rules) {
+            if (!matches(rule.missingFields, missing)
+                    || !matches(rule.fraud, fraud)
+                    || !matches(rule.injury, injury)
+                    || !matches(rule.duplicate, duplicate)) {
+                continue;
+            }
+            if (rule.claimTypes != null && !contains(rule.claimTypes, claimType(claimData))) {
+                continue;
+            }
+            if (rule.states != null && !contains(rule.states, state(claimData))) {
+                continue;
+            }
+            if (rule.hasDamageBand) {
+                if (Double.isNaN(damage)) {
+                    damage = ClaimAmounts.estimatedDamage(claimData);
+                }
+                if (damage <= rule.damageAbove || damage >= rule.damageBelow) {
+                    continue;
+                }
+            }
+            return new ClaimRoutingService.RoutingDecision(rule.route, rule.render(claimData, missingFields, indicators, damage), rule.name);
+        }
+        return new ClaimRoutingService.RoutingDecision(DEFAULT_ROUTE, DEFAULT_REASON, null);
+    }
+
+    private static boolean matches(byte condition, boolean value) {
+        return condition == ANY || (condition == YES) == value;
+    }
+
+    /**
+     * Linear scan: rule sets hold a handful of codes, so this beats hashing a fresh uppercase copy
+     */
+    private static boolean contains(String[] values, String value) {
+        if (value == null) {
+            return false;
+        }
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String claimType(ClaimData claimData) {
+        return claimData.getOtherMandatoryFields() != null
+                ? claimData.getOtherMandatoryFields().getClaimType()
+                : null;
+    }
+
+    private static String state(ClaimData claimData) {
+        return claimData.getIncidentInformation() != null && claimData.getIncidentInformation().getLocation() != null
+                ? claimData.getIncidentInformation().getLocation().getState()
+                : null;
+    }
+
+    private static Rule compile(RoutingRule definition, int index) {
+        String name = definition.getName() != null ? definition.getName() : "rule-" + (index + 1);
+        if (definition.getRoute() == null || definition.getRoute().isBlank()) {
+            throw new IllegalArgumentException("Routing rule '" + name + "' has no route");
+        }
+        double above = definition.getDamageAbove() != null ? definition.getDamageAbove() : Double.NEGATIVE_INFINITY;
+        double below = definition.getDamageBelow() != null ? definition.getDamageBelow() : Double.POSITIVE_INFINITY;
+        if (above >= below) {
+            throw new IllegalArgumentException("Routing rule '" + name + "' has an empty damage band");
+        }
+
+        Rule rule = new Rule();
+        rule.name = name;
+        rule.route = definition.getRoute().trim();
+        rule.missingFields = flag(definition.getMissingFields());
+        rule.fraud = flag(definition.getFraud());
+        rule.injury = flag(definition.getInjury());
+        rule.duplicate = flag(definition.getDuplicate());
+        rule.claimTypes = codes(definition.getClaimTypes());
+        rule.states = codes(definition.getStates());
+        rule.hasDamageBand = definition.getDamageAbove() != null || definition.getDamageBelow() != null;
+        rule.damageAbove = above;
+        rule.damageBelow = below;
+        compileReason(rule, definition);
+        return rule;
+    }
+
+    private static byte flag(Boolean condition) {
+        return condition == null ? ANY : condition ? YES : NO;
+    }
+
+    private static String[] codes(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream()
+                .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Split the reason into literals and slots; load-time placeholders are rendered into the literals
+     */
+    private static void compileReason(Rule rule, RoutingRule definition) {
+        String template = definition.getReason() != null ? definition.getReason() : "Routed by rule " + rule.name;
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            int close = c == '{' ? template.indexOf('}', i) : -1;
+            if (close < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            String placeholder = template.substring(i + 1, close);
+            switch (placeholder) {
+                case "damageAbove" -> ClaimAmounts.appendAmount(literal, requireBound(definition.getDamageAbove(), rule, placeholder));
+                case "damageBelow" -> ClaimAmounts.appendAmount(literal, requireBound(definition.getDamageBelow(), rule, placeholder));
+                case "missingFields", "damage", "claimType", "state", "fraudTerms", "injuryTerms", "duplicates" -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(switch (placeholder) {
+                        case "missingFields" -> SLOT_MISSING_FIELDS;
+                        case "damage" -> SLOT_DAMAGE;
+                        case "claimType" -> SLOT_CLAIM_TYPE;
+                        case "fraudTerms" -> SLOT_FRAUD_TERMS;
+                        case "injuryTerms" -> SLOT_INJURY_TERMS;
+                        case "duplicates" -> SLOT_DUPLICATES;
+                        default -> SLOT_STATE;
+                    });
+                }
+                default -> throw new IllegalArgumentException(
+                        "Routing rule '" + rule.name + "' uses unknown placeholder {" + placeholder + "}");
+            }
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+
+        rule.literals = literals.toArray(new String[0]);
+        rule.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+        rule.constantReason = rule.slots.length == 0 ? rule.literals[0] : null;
+        rule.needsDamage = slots.contains(SLOT_DAMAGE);
+        rule.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    private static double requireBound(Double bound, Rule rule, String placeholder) {
+        if (bound == null) {
+            throw new IllegalArgumentException(
+                    "Routing rule '" + rule.name + "' uses {" + placeholder + "} but does not set " + placeholder);
+        }
+        return bound;
+    }
+
+    /**
+     * A compiled rule; fields are laid out for the evaluation loop
+     */
+    private static final class Rule {
+        String name;
+        String route;
+        byte missingFields;
+        byte fraud;
+        byte injury;
+        byte duplicate;
+        String[] claimTypes;
+        String[] states;
+        boolean hasDamageBand;
+        double damageAbove;
+        double damageBelow;
+
+        String constantReason;
+        String[] literals;
+        int[] slots;
+        boolean needsDamage;
+        int literalLength;
+
+        String render(ClaimData claimData, List<String> missingFields, ClaimIndicators indicators, double damage) {
+            if (constantReason != null) {
+                return constantReason;
+            }
+            if (needsDamage && Double.isNaN(damage)) {
+                damage = ClaimAmounts.estimatedDamage(claimData);
+            }
+            StringBuilder reason = new StringBuilder(literalLength + 32);
+            for (int i = 0; i < slots.length; i++) {
+                reason.append(literals[i]);
+                switch (slots[i]) {
+                    case SLOT_MISSING_FIELDS -> {
+                        for (int f = 0; f < missingFields.size(); f++) {
+                            if (f > 0) {
+                                reason.append(", ");
+                            }
+                            reason.append(missingFields.get(f));
+                        }
+                    }
+                    case SLOT_DAMAGE -> ClaimAmounts.appendAmount(reason, damage);
+                    case SLOT_CLAIM_TYPE -> reason.append(claimType(claimData));
+                    case SLOT_FRAUD_TERMS -> appendTerms(reason, indicators.fraudMatches());
+                    case SLOT_INJURY_TERMS -> appendTerms(reason, indicators.injuryMatches());
+                    case SLOT_DUPLICATES -> appendDuplicates(reason, indicators.duplicates());
+                    default -> reason.append(state(claimData));
+                }
+            }
+            return reason.append(literals[slots.length]).toString();
+        }
+
+        /**
+         * Cites matched keywords as {@code  ("staged" at 14, "fake" at 30)}; nothing when there are none
+         */
+        private static void appendTerms(StringBuilder reason, List<KeywordMatch> matches) {
+            if (matches.isEmpty()) {
+                return;
+            }
+            reason.append(" (");
+            for (int m = 0; m < matches.size(); m++) {
+                if (m > 0) {
+                    reason.append(", ");
+                }
+                reason.append('"').append(matches.get(m).keyword()).append("\" at ").append(matches.get(m).start());
+            }
+            reason.append(')');
+        }
+
+        /**
+         * Cites earlier claims as {@code  (claim 4096: same VIN and date of loss, 93% similar description)};
+         * nothing when there are none
+         */
+        private static void appendDuplicates(StringBuilder reason, List<DuplicateMatch> duplicates) {
+            if (duplicates.isEmpty()) {
+                return;
+            }
+            reason.append(" (");
+            for (int d = 0; d < duplicates.size(); d++) {
+                DuplicateMatch duplicate = duplicates.get(d);
+                if (d > 0) {
+                    reason.append("; ");
+                }
+                if (duplicate.claimId() >= 0) {
+                    reason.append("claim ").append(duplicate.claimId());
+                } else {
+                    reason.append("earlier claim");
+                }
+                reason.append(": ");
+                if (duplicate.samePolicy()) {
+                    reason.append(duplicate.sameVin() ? "same policy, VIN and date of loss" : "same policy and date of loss");
+                } else if (duplicate.sameVin()) {
+                    reason.append("same VIN and date of loss");
+                }
+                if (!Double.isNaN(duplicate.similarity()) && (!duplicate.sameKey() || duplicate.similarity() > 0)) {
+                    reason.append(duplicate.sameKey() ? ", " : "")
+                            .append(Math.round(duplicate.similarity() * 100)).append("% similar description");
+                }
+            }
+            reason.append(')');
+        }
+    }
+}
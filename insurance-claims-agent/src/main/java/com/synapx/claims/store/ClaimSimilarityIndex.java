@@ -0,0 +1,422 @@
+package com.synapx.claims.store;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.model.ClaimData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of processed claims for duplicate detection. Every claim is indexed by
+ * two exact keys, policy number + date of loss and VIN + date of loss, and by a MinHash
+ * signature of its incident description over character 5-grams. The signature is split
+ * into 8 bands of 4 values for locality-sensitive hashing. Two descriptions with Jaccard
+ * similarity 0.8 share a band about 98% of the time; at 0.3 they share one about 6% of
+ * the time. A lookup probes 2 key buckets and 8 band buckets and scores only the claims
+ * found in them, at most {@value #MAX_BUCKET_SCAN} per bucket. Its cost therefore does not
+ * grow with the number of claims indexed.
+ * <p>
+ * The index holds primitive arrays only: a 32-byte b-bit signature (the low byte of each
+ * MinHash value), the store id, the document hash, key hashes and bucket slots. That comes
+ * to roughly 300 bytes per claim. Nothing is ever removed, so the index is off unless
+ * claims.duplicates.enabled is set. When the claim store is enabled the index is rebuilt
+ * from it at startup; otherwise it starts empty.
+ * <p>
+ * A claim is never a duplicate of the same document: earlier claims indexed with the
+ * same document SHA-256 are left out of the matches, so a byte-identical resubmission that
+ * misses the result cache is processed again rather than flagged.
+ */
+@Slf4j
+@Component
+public class ClaimSimilarityIndex {
+
+    private static final int SHINGLE_CHARS = 5;
+    private static final int HASHES = 32;
+    private static final int BANDS = 8;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int POLICY_KEY = 0;
+    private static final int VIN_KEY = 1;
+    private static final int KEYS = 2;
+    private static final int MAX_BUCKET_SCAN = 256;
+    /** Chance that two unrelated MinHash values agree in their low byte */
+    private static final double BYTE_COLLISION = 1.0 / 256;
+
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] INCREMENTS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eedL);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private final boolean enabled;
+    private final double threshold;
+    private final int minDescriptionChars;
+    private final int maxMatches;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Buckets keys = new Buckets();
+    private final Buckets bands = new Buckets();
+    private final BitSet described = new BitSet();
+    private byte[] signatures = new byte[HASHES * 1024];
+    private long[] keyHashes = new long[KEYS * 1024];
+    private long[] claimIds = new long[1024];
+    /** Leading 64 bits of each claim's document SHA-256, 0 when unknown */
+    private long[] documentHashes = new long[1024];
+    private int size;
+
+    public ClaimSimilarityIndex(ClaimsProperties properties, ClaimStore claimStore) {
+        ClaimsProperties.Duplicates config = properties.getDuplicates();
+        this.enabled = config.isEnabled();
+        this.threshold = config.getSimilarityThreshold();
+        this.minDescriptionChars = Math.max(SHINGLE_CHARS, config.getMinDescriptionChars());
+        this.maxMatches = Math.max(1, config.getMaxMatches());
+
+        if (enabled && claimStore.isEnabled()) {
+            long start = System.nanoTime();
+            try {
+                claimStore.forEach(stored -> add(stored.getClaim(), stored.getId(), stored.getDocumentHash()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot index the claim store for duplicate detection", e);
+            }
+            log.info("Indexed {} stored claims for duplicate detection in {} ms",
+                    size, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Earlier claims this one may duplicate. A match has the same policy or VIN on the same
+     * date of loss, or a description at least {@code claims.duplicates.similarity-threshold}
+     * alike. Key matches come first, then the rest by similarity.
+     */
+    public List<DuplicateMatch> findDuplicates(ClaimData claim) {
+        return findDuplicates(claim, null);
+    }
+
+    /**
+     * As {@link #findDuplicates(ClaimData)}, leaving out earlier claims of the same document
+     * (hex SHA-256, or null when unknown)
+     */
+    public List<DuplicateMatch> findDuplicates(ClaimData claim, String documentHash) {
+        if (!enabled || claim == null) {
+            return List.of();
+        }
+        Fingerprint query = fingerprint(claim);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        long document = documentKey(documentHash);
+        Map<Integer, boolean[]> candidates = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int key = 0; key < KEYS; key++) {
+                long keyHash = query.keyHashes()[key];
+                if (keyHash == 0) {
+                    continue;
+                }
+                int scanned = 0;
+                for (int entry = keys.first(fold(keyHash)); entry >= 0 && scanned++ < MAX_BUCKET_SCAN; entry = keys.next(entry)) {
+                    // Buckets are keyed by folded hashes; compare the full hash of the same key
+                    if (entry % KEYS == key && keyHashes[entry] == keyHash) {
+                        candidates.computeIfAbsent(entry / KEYS, ordinal -> new boolean[KEYS])[key] = true;
+                    }
+                }
+            }
+            int[] signature = query.signature();
+            if (signature != null) {
+                for (int band = 0; band < BANDS; band++) {
+                    int scanned = 0;
+                    for (int entry = bands.first(bandKey(signature, band)); entry >= 0 && scanned++ < MAX_BUCKET_SCAN; entry = bands.next(entry)) {
+                        if (entry % BANDS == band) {
+                            candidates.computeIfAbsent(entry / BANDS, ordinal -> new boolean[KEYS]);
+                        }
+                    }
+                }
+            }
+
+            List<DuplicateMatch> matches = new ArrayList<>();
+            candidates.forEach((ordinal, sameKey) -> {
+                if (document != 0 && documentHashes[ordinal] == document) {
+                    // The same document submitted again, not a second claim
+                    return;
+                }
+                double similarity = signature != null && described.get(ordinal)
+                        ? similarity(signature, ordinal)
+                        : Double.NaN;
+                if (sameKey[POLICY_KEY] || sameKey[VIN_KEY] || similarity >= threshold) {
+                    matches.add(new DuplicateMatch(claimIds[ordinal], similarity, sameKey[POLICY_KEY], sameKey[VIN_KEY]));
+                }
+            });
+            matches.sort(Comparator.comparing(DuplicateMatch::sameKey)
+                    .thenComparingDouble(match -> Double.isNaN(match.similarity()) ? -1 : match.similarity())
+                    .reversed());
+            return matches.size() > maxMatches ? List.copyOf(matches.subList(0, maxMatches)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a processed claim; claimId is its {@link ClaimStore} id, or -1 if it was not stored
+     */
+    public void add(ClaimData claim, long claimId) {
+        add(claim, claimId, null);
+    }
+
+    /**
+     * Index a processed claim along with the hex SHA-256 of its document (null when unknown)
+     */
+    public void add(ClaimData claim, long claimId, String documentHash) {
+        if (!enabled || claim == null) {
+            return;
+        }
+        Fingerprint fingerprint = fingerprint(claim);
+        if (fingerprint.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (size == claimIds.length) {
+                int capacity = size * 2;
+                claimIds = Arrays.copyOf(claimIds, capacity);
+                documentHashes = Arrays.copyOf(documentHashes, capacity);
+                keyHashes = Arrays.copyOf(keyHashes, capacity * KEYS);
+                signatures = Arrays.copyOf(signatures, capacity * HASHES);
+            }
+            int ordinal = size++;
+            claimIds[ordinal] = claimId;
+            documentHashes[ordinal] = documentKey(documentHash);
+            for (int key = 0; key < KEYS; key++) {
+                long keyHash = fingerprint.keyHashes()[key];
+                keyHashes[ordinal * KEYS + key] = keyHash;
+                if (keyHash != 0) {
+                    keys.add(fold(keyHash), ordinal * KEYS + key);
+                }
+            }
+            int[] signature = fingerprint.signature();
+            if (signature != null) {
+                described.set(ordinal);
+                for (int i = 0; i < HASHES; i++) {
+                    signatures[ordinal * HASHES + i] = (byte) signature[i];
+                }
+                for (int band = 0; band < BANDS; band++) {
+                    bands.add(bandKey(signature, band), ordinal * BANDS + band);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Fingerprint fingerprint(ClaimData claim) {
+        String date = ClaimStore.Key.INCIDENT_DATE.of(claim);
+        long[] keyHashes = new long[KEYS];
+        keyHashes[POLICY_KEY] = keyHash("POLICY", ClaimStore.Key.POLICY_NUMBER.of(claim), date);
+        keyHashes[VIN_KEY] = keyHash("VIN", ClaimStore.Key.VIN.of(claim), date);
+        String description = claim.getIncidentInformation() != null
+                ? claim.getIncidentInformation().getDescription()
+                : null;
+        return new Fingerprint(keyHashes, signature(description));
+    }
+
+    /**
+     * The leading 64 bits of a hex SHA-256; 0 when there is none
+     */
+    private static long documentKey(String documentHash) {
+        if (documentHash == null || documentHash.length() < 16) {
+            return 0;
+        }
+        long key = Long.parseUnsignedLong(documentHash.substring(0, 16), 16);
+        return key != 0 ? key : 1;
+    }
+
+    private static long keyHash(String kind, String value, String date) {
+        return value != null && date != null ? OffsetIndex.hash(kind + '|' + value + '|' + date) : 0;
+    }
+
+    /**
+     * MinHash of the description's character 5-grams after lowercasing and collapsing
+     * punctuation and whitespace; null when the description is too short to compare
+     */
+    private int[] signature(String description) {
+        if (description == null) {
+            return null;
+        }
+        CharSequence text = normaliseText(description);
+        if (text.length() < minDescriptionChars) {
+            return null;
+        }
+        int[] minimums = new int[HASHES];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        for (int start = 0; start + SHINGLE_CHARS <= text.length(); start++) {
+            long shingle = 0xcbf29ce484222325L;
+            for (int i = start; i < start + SHINGLE_CHARS; i++) {
+                shingle ^= text.charAt(i);
+                shingle *= 0x100000001b3L;
+            }
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) ((MULTIPLIERS[i] * shingle + INCREMENTS[i]) >>> 33);
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        return minimums;
+    }
+
+    private static CharSequence normaliseText(String description) {
+        StringBuilder text = new StringBuilder(description.length());
+        boolean space = true;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                text.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                text.append(' ');
+                space = true;
+            }
+        }
+        if (space && !text.isEmpty()) {
+            text.setLength(text.length() - 1);
+        }
+        return text;
+    }
+
+    /**
+     * Fraction of agreeing signature bytes, corrected for the 1-in-256 chance that
+     * different MinHash values agree in their low byte
+     */
+    private double similarity(int[] signature, int ordinal) {
+        int agreeing = 0;
+        for (int i = 0, base = ordinal * HASHES; i < HASHES; i++) {
+            if (signatures[base + i] == (byte) signature[i]) {
+                agreeing++;
+            }
+        }
+        return Math.max(0.0, ((double) agreeing / HASHES - BYTE_COLLISION) / (1 - BYTE_COLLISION));
+    }
+
+    private static int bandKey(int[] signature, int band) {
+        long hash = band + 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = (hash ^ signature[i]) * 0x9e3779b97f4a7c15L;
+            hash ^= hash >>> 29;
+        }
+        return fold(hash);
+    }
+
+    private static int fold(long hash) {
+        int folded = (int) (hash ^ (hash >>> 32));
+        return folded == Buckets.EMPTY ? 1 : folded;
+    }
+
+    private record Fingerprint(long[] keyHashes, int[] signature) {
+
+        boolean isEmpty() {
+            return signature == null && keyHashes[POLICY_KEY] == 0 && keyHashes[VIN_KEY] == 0;
+        }
+    }
+
+    /**
+     * Multimap from an int key to entries, newest first. Each distinct key takes one
+     * linear-probing slot and each entry one int link to the previous entry with the same
+     * key, so adding to a crowded bucket costs no more than adding to an empty one. Keys are
+     * folded hashes and a bucket can hold several of them; callers check what they find.
+     * Not thread-safe.
+     */
+    private static final class Buckets {
+
+        static final int EMPTY = 0;
+
+        private int[] keys = new int[1024];
+        private int[] heads = new int[1024];
+        private int[] links = new int[1024];
+        private int distinct;
+
+        void add(int key, int entry) {
+            if (entry >= links.length) {
+                links = Arrays.copyOf(links, Math.max(entry + 1, links.length * 2));
+            }
+            if (4 * (distinct + 1) > 3 * keys.length) {
+                grow();
+            }
+            int slot = slot(keys, key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                links[entry] = -1;
+                distinct++;
+            } else {
+                links[entry] = heads[slot];
+            }
+            heads[slot] = entry;
+        }
+
+        /**
+         * Newest entry under the key, or -1
+         */
+        int first(int key) {
+            int slot = slot(keys, key);
+            return keys[slot] == EMPTY ? -1 : heads[slot];
+        }
+
+        /**
+         * The entry added under the same key before this one, or -1
+         */
+        int next(int entry) {
+            return links[entry];
+        }
+
+        private void grow() {
+            int[] newKeys = new int[keys.length * 2];
+            int[] newHeads = new int[heads.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    int slot = slot(newKeys, keys[i]);
+                    newKeys[slot] = keys[i];
+                    newHeads[slot] = heads[i];
+                }
+            }
+            keys = newKeys;
+            heads = newHeads;
+        }
+
+        private static int slot(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int slot = key & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.synapx.claims.store;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.dto.StoredClaim;
+import com.synapx.claims.model.ClaimData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable store of processed claims: an append-only log in {@code claims.store.directory}
+ * plus in-memory indexes on policy number, VIN, plate number and incident date. The
+ * indexes hold key hashes and log offsets only, so heap use grows by a few dozen bytes
+ * per indexed key no matter how large the claims are. Lookups read the matching records
+ * straight from the log with positional reads. The log is replayed at startup; a record
+ * cut short by a crash is truncated away.
+ * <pre>
+ * record := length:i32 crc32c:i32 json[length]
+ * </pre>
+ * A claim's id is the offset of its record in the log.
+ */
+@Slf4j
+@Service
+public class ClaimStore {
+
+    private static final ObjectMapper RECORD_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+            DateTimeFormatter.ofPattern("M/d/uuuu"),
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M-d-uuuu")
+    };
+
+    /** The indexed keys, each normalised the same way when stored and when queried */
+    public enum Key {
+        POLICY_NUMBER(claim -> claim.getPolicyInformation() != null
+                ? claim.getPolicyInformation().getPolicyNumber() : null),
+        VIN(claim -> claim.getAssetDetails() != null
+                ? claim.getAssetDetails().getAssetId() : null),
+        PLATE_NUMBER(claim -> claim.getAssetDetails() != null && claim.getAssetDetails().getVehicleDetails() != null
+                ? claim.getAssetDetails().getVehicleDetails().getPlateNumber() : null),
+        INCIDENT_DATE(claim -> claim.getIncidentInformation() != null
+                ? claim.getIncidentInformation().getDate() : null);
+
+        private final Function<ClaimData, String> accessor;
+
+        Key(Function<ClaimData, String> accessor) {
+            this.accessor = accessor;
+        }
+
+        /**
+         * The claim's value for this key, normalised; null if the claim does not have one
+         */
+        String of(ClaimData claim) {
+            return normalise(accessor.apply(claim));
+        }
+
+        String normalise(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return this == INCIDENT_DATE ? normaliseDate(value.trim()) : value.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private final boolean enabled;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final Path logFile;
+    private final OffsetIndex[] indexes = new OffsetIndex[Key.values().length];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long claims;
+
+    public ClaimStore(ClaimsProperties properties) {
+        ClaimsProperties.Store config = properties.getStore();
+        this.enabled = config.isEnabled();
+        this.fsync = config.isFsync();
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = new OffsetIndex();
+        }
+        if (!enabled) {
+            this.channel = null;
+            this.logFile = null;
+            return;
+        }
+        try {
+            this.logFile = Files.createDirectories(config.getDirectory()).resolve("claims.log");
+            this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open claim store in " + config.getDirectory(), e);
+        }
+        log.info("Opened claim store {} with {} claims", logFile, claims);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Persist a processed claim and index it; returns null when the store is disabled
+     */
+    public StoredClaim append(ClaimProcessingResponse response, String filename) throws IOException {
+        return append(response, filename, null);
+    }
+
+    /**
+     * As {@link #append(ClaimProcessingResponse, String)}, recording the hex SHA-256 of the
+     * document (null when unknown)
+     */
+    public StoredClaim append(ClaimProcessingResponse response, String filename, String documentHash) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+        StoredClaim stored = StoredClaim.builder()
+                .storedAt(Instant.now().toString())
+                .filename(filename)
+                .recommendedRoute(response.getRecommendedRoute())
+                .reasoning(response.getReasoning())
+                .missingFields(response.getMissingFields())
+                .claim(response.getExtractedFields())
+                .documentHash(documentHash)
+                .build();
+
+        lock.writeLock().lock();
+        try {
+            long offset = channel.size();
+            stored.setId(offset);
+            byte[] json = RECORD_MAPPER.writeValueAsBytes(stored);
+            CRC32C crc = new CRC32C();
+            crc.update(json);
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + json.length)
+                    .putInt(json.length)
+                    .putInt((int) crc.getValue())
+                    .put(json)
+                    .flip();
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            index(stored.getClaim(), offset);
+            claims++;
+            return stored;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<StoredClaim> get(long id) throws IOException {
+        if (!enabled || id < 0) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            // An id that is not a record boundary fails the checksum or names another offset
+            StoredClaim claim = id < channel.size() ? read(id) : null;
+            return claim != null && claim.getId() == id ? Optional.of(claim) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Claims whose key equals the value (after normalisation), oldest first, at most limit
+     */
+    public List<StoredClaim> find(Key key, String value, int limit) throws IOException {
+        String normalised = key.normalise(value);
+        if (!enabled || normalised == null) {
+            return List.of();
+        }
+        List<StoredClaim> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long offset : indexes[key.ordinal()].find(OffsetIndex.hash(normalised))) {
+                StoredClaim claim = read(offset);
+                // Hashes can collide; keep only claims whose key really matches
+                if (claim != null && normalised.equals(key.of(claim.getClaim()))) {
+                    found.add(claim);
+                    if (found.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    /**
+     * Every stored claim, oldest first
+     */
+    public void forEach(Consumer<StoredClaim> action) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            long size = channel.size();
+            for (long offset = 0; offset < size; offset += HEADER_BYTES + recordLength(offset)) {
+                action.accept(read(offset));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StoreStats getStats() throws IOException {
+        lock.readLock().lock();
+        try {
+            return new StoreStats(enabled, claims, enabled ? channel.size() : 0,
+                    indexes[Key.POLICY_NUMBER.ordinal()].size(), indexes[Key.VIN.ordinal()].size(),
+                    indexes[Key.PLATE_NUMBER.ordinal()].size(), indexes[Key.INCIDENT_DATE.ordinal()].size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void index(ClaimData claim, long offset) {
+        if (claim == null) {
+            return;
+        }
+        for (Key key : Key.values()) {
+            String normalised = key.of(claim);
+            if (normalised != null) {
+                indexes[key.ordinal()].add(OffsetIndex.hash(normalised), offset);
+            }
+        }
+    }
+
+    /**
+     * The record at the offset, or null if it is incomplete or fails its checksum
+     */
+    private StoredClaim read(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (!readFully(header, offset)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        int checksum = header.getInt(Integer.BYTES);
+        if (length < 0 || offset + HEADER_BYTES + length > channel.size()) {
+            return null;
+        }
+        ByteBuffer json = ByteBuffer.allocate(length);
+        if (!readFully(json, offset + HEADER_BYTES)) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(json.array());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        return RECORD_MAPPER.readValue(json.array(), StoredClaim.class);
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    /**
+     * Rebuild the indexes from the log and cut off a torn tail
+     */
+    private void replay() throws IOException {
+        long offset = 0;
+        long size = channel.size();
+        while (offset < size) {
+            StoredClaim stored = read(offset);
+            if (stored == null || stored.getId() != offset) {
+                log.warn("Truncating claim store {} at offset {} of {}: incomplete or corrupt record",
+                        logFile, offset, size);
+                channel.truncate(offset);
+                break;
+            }
+            index(stored.getClaim(), offset);
+            claims++;
+            offset += HEADER_BYTES + recordLength(offset);
+        }
+    }
+
+    private int recordLength(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        readFully(header, offset);
+        return header.getInt(0);
+    }
+
+    private static String normaliseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format).toString();
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    public record StoreStats(boolean enabled, long claims, long logBytes,
+                             int policyNumbers, int vins, int plateNumbers, int incidentDates) {}
+}
@@ -0,0 +1,17 @@
+package com.synapx.claims.store;
+
+/**
+ * An earlier claim that a new claim may duplicate.
+ *
+ * @param claimId     the earlier claim's {@link ClaimStore} id, or -1 if it was not stored
+ * @param similarity  estimated Jaccard similarity of the two incident descriptions, or NaN
+ *                    when either is too short to compare
+ * @param samePolicy  same policy number and date of loss
+ * @param sameVin     same VIN and date of loss
+ */
+public record DuplicateMatch(long claimId, double similarity, boolean samePolicy, boolean sameVin) {
+
+    public boolean sameKey() {
+        return samePolicy || sameVin;
+    }
+}
@@ -0,0 +1,179 @@
+package com.synapx.claims.store;
+
+import com.synapx.claims.config.ClaimsProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * PdfExtractor output on local disk, gzip-compressed and keyed by the SHA-256 of the PDF,
+ * so a document is parsed by PDFBox at most once. Each entry also records the route the
+ * claim was given when it was first processed; a re-extraction replays the cached text
+ * through the current rules and compares against it.
+ * <pre>
+ * {directory}/{hash[0..2]}/{hash}.txt.gz := gzip( magic:i32 version:u16
+ *     filename:utf processedAt:utf route:utf
+ *     duplicates:i32 (claimId:i64 similarity:f64 samePolicy:bool sameVin:bool)*
+ *     textLength:i32 text:utf8[textLength] )
+ * </pre>
+ * An entry is written once, to a temporary file renamed into place, and never rewritten.
+ * Text extracted with other {@code claims.pdf.*} settings (e.g. a different form page
+ * limit) is not told apart; clear the directory when changing them.
+ */
+@Slf4j
+@Component
+public class ExtractedTextCache {
+
+    private static final int MAGIC = 0x434c5458; // "CLTX"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".txt.gz";
+
+    /**
+     * A cached document: the extracted text and how the claim was routed when first processed
+     */
+    public record Entry(String documentHash, String filename, String processedAt, String route,
+                        List<DuplicateMatch> duplicates, String text) {}
+
+    private final boolean enabled;
+    private final Path directory;
+
+    public ExtractedTextCache(ClaimsProperties properties) {
+        ClaimsProperties.TextCache config = properties.getTextCache();
+        this.enabled = config.isEnabled();
+        this.directory = config.getDirectory();
+        if (enabled) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create text cache directory " + directory, e);
+            }
+            log.info("Caching extracted text in {}", directory.toAbsolutePath());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The cached entry for the document, if it has been extracted before
+     */
+    public Optional<Entry> get(String documentHash) throws IOException {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file(documentHash)), 8192)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+                throw new IOException("Not a text cache entry: " + file(documentHash));
+            }
+            String filename = in.readUTF();
+            String processedAt = in.readUTF();
+            String route = in.readUTF();
+            int count = in.readInt();
+            List<DuplicateMatch> duplicates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                duplicates.add(new DuplicateMatch(in.readLong(), in.readDouble(), in.readBoolean(), in.readBoolean()));
+            }
+            byte[] text = new byte[in.readInt()];
+            in.readFully(text);
+            return Optional.of(new Entry(documentHash, filename, processedAt, route, List.copyOf(duplicates),
+                    new String(text, StandardCharsets.UTF_8)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Record a document's text and first routing decision; a document already cached is left as it is
+     */
+    public void put(String documentHash, String filename, String text, String route,
+                    List<DuplicateMatch> duplicates) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path target = file(documentHash);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), documentHash, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 8192)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeUTF(filename != null ? filename : "");
+                out.writeUTF(Instant.now().toString());
+                out.writeUTF(route);
+                out.writeInt(duplicates.size());
+                for (DuplicateMatch duplicate : duplicates) {
+                    out.writeLong(duplicate.claimId());
+                    out.writeDouble(duplicate.similarity());
+                    out.writeBoolean(duplicate.samePolicy());
+                    out.writeBoolean(duplicate.sameVin());
+                }
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Hashes of every cached document
+     */
+    public List<String> documentHashes() throws IOException {
+        if (!enabled) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .map(name -> name.substring(0, name.length() - EXTENSION.length()))
+                    .toList();
+        }
+    }
+
+    private Path file(String documentHash) {
+        return directory.resolve(documentHash.substring(0, 2)).resolve(documentHash + EXTENSION);
+    }
+
+    /**
+     * Rename into place; when two requests extracted the same document at once, the first entry stays
+     */
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException alreadyCached) {
+                // keep the existing entry
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.synapx.claims.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Multimap from a 64-bit key hash to log offsets, held in two primitive arrays with
+ * linear probing: 16 bytes per slot at most 75% load, and no objects per claim. Hash
+ * collisions are possible, so callers re-check the key against the record read back.
+ * Not thread-safe.
+ */
+final class OffsetIndex {
+
+    private static final long EMPTY = 0;
+
+    private long[] hashes;
+    private long[] offsets;
+    private int size;
+
+    OffsetIndex() {
+        this.hashes = new long[1024];
+        this.offsets = new long[1024];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long hash, long offset) {
+        if (4 * (size + 1) > 3 * hashes.length) {
+            grow();
+        }
+        insert(hashes, offsets, hash, offset);
+        size++;
+    }
+
+    /**
+     * Offsets recorded for the hash, oldest first
+     */
+    long[] find(long hash) {
+        int mask = hashes.length - 1;
+        long[] found = new long[4];
+        int count = 0;
+        for (int slot = spread(hash) & mask; hashes[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = offsets[slot];
+            }
+        }
+        long[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's UTF-8 bytes; never 0, which marks an empty slot
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    private void grow() {
+        long[] newHashes = new long[hashes.length * 2];
+        long[] newOffsets = new long[offsets.length * 2];
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != EMPTY) {
+                insert(newHashes, newOffsets, hashes[i], offsets[i]);
+            }
+        }
+        hashes = newHashes;
+        offsets = newOffsets;
+    }
+
+    private static void insert(long[] hashes, long[] offsets, long hash, long offset) {
+        int mask = hashes.length - 1;
+        int slot = spread(hash) & mask;
+        while (hashes[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        offsets[slot] = offset;
+    }
+
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,32 @@
+package com.synapx.claims.validator;
+
+import com.synapx.claims.extractor.KeywordMatch;
+import com.synapx.claims.store.DuplicateMatch;
+
+import java.util.List;
+
+/**
+ * Fraud, injury and duplicate signals for a claim, with the description keywords and
+ * earlier claims that raised them so routing can cite what it found
+ */
+public record ClaimIndicators(boolean fraud, boolean injury,
+                              List<KeywordMatch> fraudMatches, List<KeywordMatch> injuryMatches,
+                              List<DuplicateMatch> duplicates) {
+
+    public ClaimIndicators(boolean fraud, boolean injury,
+                           List<KeywordMatch> fraudMatches, List<KeywordMatch> injuryMatches) {
+        this(fraud, injury, fraudMatches, injuryMatches, List.of());
+    }
+
+    public static ClaimIndicators of(boolean fraud, boolean injury) {
+        return new ClaimIndicators(fraud, injury, List.of(), List.of());
+    }
+
+    public ClaimIndicators withDuplicates(List<DuplicateMatch> duplicates) {
+        return new ClaimIndicators(fraud, injury, fraudMatches, injuryMatches, duplicates);
+    }
+
+    public boolean duplicate() {
+        return !duplicates.isEmpty();
+    }
+}
@@ -1,6 +1,12 @@
 package com.synapx.claims.validator;
 
+import com.synapx.claims.extractor.KeywordCategory;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.extractor.KeywordMatch;
 import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.DuplicateMatch;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -9,87 +15,82 @@ import java.util.List;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ClaimValidator {
 
+    private final KeywordLexicon lexicon;
+    private final ClaimSimilarityIndex similarityIndex;
+
     /**
      * Validate claim data and identify missing mandatory fields
      */
     public List<String> validateAndFindMissingFields(ClaimData claimData) {
+        return MandatoryField.names(findMissingFields(claimData));
+    }
+    
+    /**
+     * Validate claim data against the {@link MandatoryField} schema; the result has one
+     * bit per missing section or field and is built without allocating
+     */
+    public long findMissingFields(ClaimData claimData) {
         log.info("Validating claim data");
-        List<String> missingFields = new ArrayList<>();
-        
-        // Validate Policy Information
-        if (claimData.getPolicyInformation() != null) {
-            if (isNullOrEmpty(claimData.getPolicyInformation().getPolicyNumber())) {
-                missingFields.add("Policy Number");
-            }
-            if (isNullOrEmpty(claimData.getPolicyInformation().getPolicyholderName())) {
-                missingFields.add("Policyholder Name");
-            }
-        } else {
-            missingFields.add("Policy Information");
-        }
-        
-        // Validate Incident Information
-        if (claimData.getIncidentInformation() != null) {
-            if (isNullOrEmpty(claimData.getIncidentInformation().getDate())) {
-                missingFields.add("Incident Date");
-            }
-            if (claimData.getIncidentInformation().getLocation() == null) {
-                missingFields.add("Incident Location");
-            }
-            if (isNullOrEmpty(claimData.getIncidentInformation().getDescription())) {
-                missingFields.add("Incident Description");
-            }
-        } else {
-            missingFields.add("Incident Information");
+        long missing = MandatoryField.findMissing(claimData);
+        log.info("Validation completed. Missing fields: {}", Long.bitCount(missing));
+        return missing;
+    }
+    
+    /**
+     * Fraud and injury checks in one lexicon pass over the description, keeping the
+     * matched keywords and their offsets, plus a lookup for earlier claims this one repeats
+     */
+    public ClaimIndicators scanIndicators(ClaimData claimData) {
+        return scanIndicators(claimData, null);
+    }
+
+    /**
+     * As {@link #scanIndicators(ClaimData)}; earlier claims of the same document (hex SHA-256,
+     * or null when unknown) are not reported as duplicates
+     */
+    public ClaimIndicators scanIndicators(ClaimData claimData, String documentHash) {
+        ClaimIndicators indicators = scanKeywords(claimData);
+        List<DuplicateMatch> duplicates = similarityIndex.findDuplicates(claimData, documentHash);
+        if (!duplicates.isEmpty()) {
+            log.warn("Possible duplicate of {} earlier claim(s), closest: {}", duplicates.size(), duplicates.get(0));
         }
-        
-        // Validate Asset Details
-        if (claimData.getAssetDetails() != null) {
-            if (isNullOrEmpty(claimData.getAssetDetails().getAssetType())) {
-                missingFields.add("Asset Type");
-            }
-            if (isNullOrEmpty(claimData.getAssetDetails().getEstimatedDamage())) {
-                missingFields.add("Estimated Damage");
-            }
-        } else {
-            missingFields.add("Asset Details");
+        return indicators.withDuplicates(duplicates);
+    }
+
+    /**
+     * Fraud and injury checks only, for replaying a claim that is already in the similarity index
+     */
+    public ClaimIndicators scanKeywords(ClaimData claimData) {
+        String description = description(claimData);
+        List<KeywordMatch> fraudMatches = new ArrayList<>();
+        List<KeywordMatch> injuryMatches = new ArrayList<>();
+        for (KeywordMatch match : lexicon.find(description, KeywordCategory.FRAUD, KeywordCategory.INJURY)) {
+            (match.category() == KeywordCategory.FRAUD ? fraudMatches : injuryMatches).add(match);
         }
-        
-        // Validate Other Mandatory Fields
-        if (claimData.getOtherMandatoryFields() != null) {
-            if (isNullOrEmpty(claimData.getOtherMandatoryFields().getClaimType())) {
-                missingFields.add("Claim Type");
-            }
-            if (isNullOrEmpty(claimData.getOtherMandatoryFields().getInitialEstimate())) {
-                missingFields.add("Initial Estimate");
-            }
-        } else {
-            missingFields.add("Other Mandatory Fields");
+        if (!fraudMatches.isEmpty()) {
+            log.warn("Fraud indicator detected: {}", fraudMatches.get(0).keyword());
         }
-        
-        log.info("Validation completed. Missing fields: {}", missingFields.size());
-        return missingFields;
+
+        boolean injury = isInjuryClaimType(claimData)
+                || (claimData.getOtherMandatoryFields() != null && !injuryMatches.isEmpty());
+        return new ClaimIndicators(!fraudMatches.isEmpty(), injury, fraudMatches, injuryMatches);
     }
-    
+
     /**
      * Check for fraud indicators in description
      */
     public boolean hasFraudIndicators(ClaimData claimData) {
-        if (claimData.getIncidentInformation() == null || 
-            claimData.getIncidentInformation().getDescription() == null) {
+        String description = description(claimData);
+        if (description == null) {
             return false;
         }
         
-        String description = claimData.getIncidentInformation().getDescription().toLowerCase();
-        String[] fraudKeywords = {"fraud", "inconsistent", "staged", "suspicious", "fake"};
-        
-        for (String keyword : fraudKeywords) {
-            if (description.contains(keyword)) {
-                log.warn("Fraud indicator detected: {}", keyword);
-                return true;
-            }
+        if (lexicon.containsAny(description, KeywordCategory.FRAUD)) {
+            log.warn("Fraud indicator detected: {}", lexicon.find(description, KeywordCategory.FRAUD).get(0).keyword());
+            return true;
         }
         
         return false;
@@ -103,23 +104,24 @@ public class ClaimValidator {
             return false;
         }
         
-        String claimType = claimData.getOtherMandatoryFields().getClaimType();
-        if (claimType != null && claimType.equalsIgnoreCase("INJURY")) {
+        if (isInjuryClaimType(claimData)) {
             return true;
         }
         
         // Also check description
-        if (claimData.getIncidentInformation() != null && 
-            claimData.getIncidentInformation().getDescription() != null) {
-            String description = claimData.getIncidentInformation().getDescription().toLowerCase();
-            return description.contains("injury") || description.contains("injured") || 
-                   description.contains("hurt") || description.contains("medical");
-        }
-        
-        return false;
+        return lexicon.containsAny(description(claimData), KeywordCategory.INJURY);
+    }
+    
+    private boolean isInjuryClaimType(ClaimData claimData) {
+        String claimType = claimData.getOtherMandatoryFields() != null
+                ? claimData.getOtherMandatoryFields().getClaimType()
+                : null;
+        return claimType != null && claimType.equalsIgnoreCase("INJURY");
     }
     
-    private boolean isNullOrEmpty(String value) {
-        return value == null || value.trim().isEmpty();
+    private String description(ClaimData claimData) {
+        return claimData.getIncidentInformation() != null
+                ? claimData.getIncidentInformation().getDescription()
+                : null;
     }
 }
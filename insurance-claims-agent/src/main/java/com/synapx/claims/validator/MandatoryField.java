@@ -0,0 +1,138 @@
+package com.synapx.claims.validator;
+
+import com.synapx.claims.model.ClaimData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The mandatory-field schema of an FNOL claim. Sections are listed before their fields;
+ * a missing section is reported on its own rather than as each of its fields. A set of
+ * missing fields is a {@code long} with bit {@code ordinal()} set per missing entry, so
+ * validation allocates nothing and names are only produced for the response.
+ * <p>
+ * Weights say how much each field contributes to the confidence score; they favour the
+ * fields routing and adjusters rely on. A section's weight is the sum of its fields'.
+ */
+public enum MandatoryField {
+
+    POLICY_INFORMATION("Policy Information", null, 0, ClaimData::getPolicyInformation),
+    POLICY_NUMBER("Policy Number", POLICY_INFORMATION, 3, c -> c.getPolicyInformation().getPolicyNumber()),
+    POLICYHOLDER_NAME("Policyholder Name", POLICY_INFORMATION, 2, c -> c.getPolicyInformation().getPolicyholderName()),
+
+    INCIDENT_INFORMATION("Incident Information", null, 0, ClaimData::getIncidentInformation),
+    INCIDENT_DATE("Incident Date", INCIDENT_INFORMATION, 2, c -> c.getIncidentInformation().getDate()),
+    INCIDENT_LOCATION("Incident Location", INCIDENT_INFORMATION, 1, c -> c.getIncidentInformation().getLocation()),
+    INCIDENT_DESCRIPTION("Incident Description", INCIDENT_INFORMATION, 2, c -> c.getIncidentInformation().getDescription()),
+
+    ASSET_DETAILS("Asset Details", null, 0, ClaimData::getAssetDetails),
+    ASSET_TYPE("Asset Type", ASSET_DETAILS, 1, c -> c.getAssetDetails().getAssetType()),
+    ESTIMATED_DAMAGE("Estimated Damage", ASSET_DETAILS, 2, c -> c.getAssetDetails().getEstimatedDamage()),
+
+    OTHER_MANDATORY_FIELDS("Other Mandatory Fields", null, 0, ClaimData::getOtherMandatoryFields),
+    CLAIM_TYPE("Claim Type", OTHER_MANDATORY_FIELDS, 2, c -> c.getOtherMandatoryFields().getClaimType()),
+    INITIAL_ESTIMATE("Initial Estimate", OTHER_MANDATORY_FIELDS, 1, c -> c.getOtherMandatoryFields().getInitialEstimate());
+
+    private static final MandatoryField[] VALUES = values();
+    /** Weight lost when the entry is missing: its own, or all of its fields' for a section */
+    private static final int[] MISSING_WEIGHTS = new int[VALUES.length];
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (MandatoryField field : VALUES) {
+            MISSING_WEIGHTS[field.ordinal()] += field.weight;
+            if (field.section != null) {
+                MISSING_WEIGHTS[field.section.ordinal()] += field.weight;
+            }
+            total += field.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final String displayName;
+    private final MandatoryField section;
+    private final int weight;
+    /** Reads the value; for a field, only called once its section is known to be present */
+    private final Function<ClaimData, Object> accessor;
+
+    MandatoryField(String displayName, MandatoryField section, int weight, Function<ClaimData, Object> accessor) {
+        this.displayName = displayName;
+        this.section = section;
+        this.weight = weight;
+        this.accessor = accessor;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Bit set of every missing section and every blank field of a present section
+     */
+    public static long findMissing(ClaimData claimData) {
+        long missing = 0;
+        MandatoryField section = null;
+        boolean sectionPresent = false;
+        for (MandatoryField field : VALUES) {
+            if (field.section == null) {
+                section = field;
+                sectionPresent = field.accessor.apply(claimData) != null;
+                if (!sectionPresent) {
+                    missing |= field.bit();
+                }
+            } else if (field.section == section && sectionPresent && isBlank(field.accessor.apply(claimData))) {
+                missing |= field.bit();
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Display names of the missing entries, in schema order
+     */
+    public static List<String> names(long missing) {
+        if (missing == 0) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(Long.bitCount(missing));
+        for (long bits = missing; bits != 0; bits &= bits - 1) {
+            names.add(VALUES[Long.numberOfTrailingZeros(bits)].displayName);
+        }
+        return names;
+    }
+
+    /**
+     * Share of the schema's total weight that is present, as a percentage
+     */
+    public static int confidenceScore(long missing) {
+        int missingWeight = 0;
+        for (long bits = missing; bits != 0; bits &= bits - 1) {
+            missingWeight += MISSING_WEIGHTS[Long.numberOfTrailingZeros(bits)];
+        }
+        return (int) ((TOTAL_WEIGHT - missingWeight) * 100L / TOTAL_WEIGHT);
+    }
+
+    /**
+     * Same test as {@code value.trim().isEmpty()} without creating the trimmed copy
+     */
+    private static boolean isBlank(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (!(value instanceof CharSequence text)) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
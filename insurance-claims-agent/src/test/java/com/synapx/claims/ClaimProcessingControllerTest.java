@@ -1,5 +1,8 @@
 package com.synapx.claims;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.support.SyntheticFnolDocuments;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -7,12 +10,25 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "claims.batch.max-request-size=4MB")
 @AutoConfigureMockMvc
 class ClaimProcessingControllerTest {
 
@@ -28,12 +44,11 @@ class ClaimProcessingControllerTest {
 
     @Test
     void testProcessClaim_WithValidPdf() throws Exception {
-        // Create a simple PDF mock file
         MockMultipartFile file = new MockMultipartFile(
                 "file",
                 "test-claim.pdf",
                 "application/pdf",
-                "PDF content".getBytes()
+                SyntheticFnolDocuments.pdf(1, 1001, false)
         );
 
         mockMvc.perform(multipart("/api/v1/claims/process")
@@ -72,4 +87,174 @@ class ClaimProcessingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Only PDF files are supported"));
     }
+
+    @Test
+    void testProcessClaim_ResubmissionServedFromCache() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "resubmitted.pdf",
+                "application/pdf",
+                SyntheticFnolDocuments.pdf(1, 1007, false)
+        );
+
+        mockMvc.perform(multipart("/api/v1/claims/process")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Claim-Cache", "MISS"))
+                .andExpect(jsonPath("$.metadata.cacheHit").value(false))
+                .andExpect(jsonPath("$.metadata.stageTimingsMillis.pdf_extraction").exists())
+                .andExpect(jsonPath("$.metadata.stageTimingsMillis.routing").exists())
+                .andExpect(jsonPath("$.metadata.stageTimingsMillis.total").exists());
+
+        mockMvc.perform(multipart("/api/v1/claims/process")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Claim-Cache", "HIT"))
+                .andExpect(jsonPath("$.metadata.cacheHit").value(true))
+                .andExpect(jsonPath("$.metadata.stageTimingsMillis.cache_lookup").exists())
+                .andExpect(jsonPath("$.metadata.stageTimingsMillis.pdf_extraction").doesNotExist())
+                .andExpect(jsonPath("$.recommendedRoute").exists());
+    }
+
+    @Test
+    void testProcessClaim_PrettyAndCompactOutput() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "formatted.pdf",
+                "application/pdf",
+                SyntheticFnolDocuments.pdf(1, 3003, false)
+        );
+
+        String compact = mockMvc.perform(multipart("/api/v1/claims/process")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.extractedFields.policyInformation.policyNumber").value("AUTO-00003003"))
+                .andReturn().getResponse().getContentAsString();
+        String pretty = mockMvc.perform(multipart("/api/v1/claims/process")
+                        .file(file)
+                        .param("pretty", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertFalse(compact.contains("\n"));
+        assertTrue(pretty.contains("\n"));
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode compactTree = mapper.readTree(compact);
+        JsonNode prettyTree = mapper.readTree(pretty);
+        assertEquals(compactTree.get("extractedFields"), prettyTree.get("extractedFields"));
+        assertEquals(compactTree.get("recommendedRoute"), prettyTree.get("recommendedRoute"));
+    }
+
+    @Test
+    void testSubmitJob_LongPollReturnsResult() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "async-claim.pdf",
+                "application/pdf",
+                SyntheticFnolDocuments.pdf(3, 2024, false)
+        );
+
+        MvcResult submitted = mockMvc.perform(multipart("/api/v1/claims/jobs")
+                        .file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn();
+        String location = submitted.getResponse().getHeader("Location");
+
+        MvcResult polled = mockMvc.perform(get(location).param("wait", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(polled))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.result.recommendedRoute").exists());
+    }
+
+    @Test
+    void testJobStatus_UnknownJob() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/claims/jobs/does-not-exist"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testProcessBatch_ZipStreamsOneLinePerDocument() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            for (int seed = 1; seed <= 3; seed++) {
+                zip.putNextEntry(new ZipEntry("claim-" + seed + ".pdf"));
+                zip.write(SyntheticFnolDocuments.pdf(2, seed, false));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("notes.txt"));
+            zip.write("Text content".getBytes());
+            zip.closeEntry();
+        }
+        String boundary = "claims-batch-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"batch.zip\"\r\n"
+                + "Content-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(archive.toByteArray());
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/claims/batch")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toByteArray()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(3, countContaining(lines, "\"status\":\"PROCESSED\""));
+        assertEquals(1, countContaining(lines, "\"status\":\"SKIPPED\""));
+        assertEquals(3, countContaining(lines, "\"recommendedRoute\""));
+    }
+
+    @Test
+    void testProcessBatchStream_ReadsRawMultipartBody() throws Exception {
+        String boundary = "claims-stream-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int seed = 1; seed <= 2; seed++) {
+            body.writeBytes(("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"files\"; filename=\"claim-" + seed + ".pdf\"\r\n"
+                    + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            body.writeBytes(SyntheticFnolDocuments.pdf(2, seed, false));
+            body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"notes.txt\"\r\n\r\n"
+                + "Text content\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/claims/batch/stream")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toByteArray()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(2, countContaining(lines, "\"status\":\"PROCESSED\""));
+        assertEquals(1, countContaining(lines, "\"status\":\"SKIPPED\""));
+    }
+
+    @Test
+    void testProcessBatch_RejectsUploadOverRequestLimit() throws Exception {
+        mockMvc.perform(post("/api/v1/claims/batch")
+                        .contentType("multipart/form-data; boundary=claims-batch-boundary")
+                        .content(new byte[(int) DataSize.ofMegabytes(4).toBytes() + 1]))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private static long countContaining(String[] lines, String fragment) {
+        return Arrays.stream(lines).filter(line -> line.contains(fragment)).count();
+    }
 }
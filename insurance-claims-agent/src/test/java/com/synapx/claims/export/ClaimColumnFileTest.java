@@ -0,0 +1,90 @@
+package com.synapx.claims.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimColumnFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip_SkipsTruncatedRowGroup() throws IOException {
+        List<ClaimExportRecord> first = List.of(
+                claim(1, "POL-1", "IL", 12_500.0, "FAST_TRACK", 0),
+                claim(2, null, "IL", Double.NaN, "MANUAL_REVIEW", 0b1001));
+        List<ClaimExportRecord> second = List.of(claim(3, "POL-3", "CA", 40_000.5, "STANDARD_PROCESSING", 0));
+
+        Path file;
+        try (ClaimColumnWriter writer = new ClaimColumnWriter(tempDir, 1 << 20, Duration.ofHours(1))) {
+            writer.write(first);
+            writer.write(second);
+            file = writer.getCurrentFile();
+        }
+        // A row group cut short by a crash
+        Files.write(file, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        List<ClaimExportRecord> read = new ArrayList<>();
+        ClaimColumnReader.scan(file, rowGroup -> {
+            for (int row = 0; row < rowGroup.rows(); row++) {
+                read.add(rowGroup.record(row));
+            }
+        });
+
+        List<ClaimExportRecord> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void testWriter_RollsAtSizeLimit() throws IOException {
+        try (ClaimColumnWriter writer = new ClaimColumnWriter(tempDir, 256, Duration.ofHours(1))) {
+            for (int i = 0; i < 5; i++) {
+                writer.write(List.of(claim(i, "POL-" + i, "TX", i * 1000.0, "FAST_TRACK", 0)));
+            }
+        }
+
+        List<Path> files = ClaimColumnReader.files(tempDir);
+        assertTrue(files.size() > 1, "expected the export to roll over, got " + files);
+        int[] rows = new int[1];
+        for (Path file : files) {
+            ClaimColumnReader.scan(file, rowGroup -> rows[0] += rowGroup.rows());
+        }
+        assertEquals(5, rows[0]);
+    }
+
+    @Test
+    void testWriter_DoesNotOverwriteEarlierWritersFiles() throws IOException {
+        // Same directory, same second: a restarted writer must start a file of its own
+        for (int run = 0; run < 3; run++) {
+            try (ClaimColumnWriter writer = new ClaimColumnWriter(tempDir, 1 << 20, Duration.ofHours(1))) {
+                writer.write(List.of(claim(run, "POL-" + run, "TX", 1000.0, "FAST_TRACK", 0)));
+            }
+        }
+
+        List<Path> files = ClaimColumnReader.files(tempDir);
+        assertEquals(3, files.size());
+        int[] rows = new int[1];
+        for (Path file : files) {
+            ClaimColumnReader.scan(file, rowGroup -> rows[0] += rowGroup.rows());
+        }
+        assertEquals(3, rows[0]);
+    }
+
+    private static ClaimExportRecord claim(long processedAt, String policyNumber, String state,
+                                           double damage, String route, long missing) {
+        return new ClaimExportRecord(processedAt, policyNumber, "Jane Doe", "01/15/2024", state,
+                "AUTOMOBILE", "Vehicle", null, damage, route, missing);
+    }
+}
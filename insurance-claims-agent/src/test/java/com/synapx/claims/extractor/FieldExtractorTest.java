@@ -0,0 +1,119 @@
+package com.synapx.claims.extractor;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldExtractorTest {
+
+    private final FieldPatternRegistry registry = new FieldPatternRegistry();
+
+    @Test
+    void testExtractFields_FormPage() {
+        ClaimData claimData = extractor(ClaimsProperties.Extraction.Engine.REGEX)
+                .extractFields(SyntheticFnolDocuments.text(1, 42));
+
+        assertEquals("AUTO-00000042", claimData.getPolicyInformation().getPolicyNumber());
+        assertEquals("01/15/2024", claimData.getIncidentInformation().getDate());
+        assertEquals("2:30 PM", claimData.getIncidentInformation().getTime());
+        assertEquals("IL", claimData.getIncidentInformation().getLocation().getState());
+        assertEquals("1HGBH41JXMN000042", claimData.getAssetDetails().getAssetId());
+        assertEquals("ABC42", claimData.getAssetDetails().getVehicleDetails().getPlateNumber());
+        assertEquals("555-123-4567",
+                claimData.getInvolvedParties().getClaimant().getContactDetails().getPrimaryPhone());
+        assertEquals("jane.smith@example.com",
+                claimData.getInvolvedParties().getClaimant().getContactDetails().getPrimaryEmail());
+        assertEquals(claimData.getAssetDetails().getEstimatedDamage(),
+                claimData.getOtherMandatoryFields().getInitialEstimate());
+    }
+
+    @Test
+    void testExtractFormFields_MatchesTextExtraction() throws Exception {
+        FieldExtractor extractor = extractor(ClaimsProperties.Extraction.Engine.REGEX);
+        PdfContent form = new PdfExtractor(new ClaimsProperties(), new SimpleMeterRegistry())
+                .extract(PdfSource.of(SyntheticFnolDocuments.fillablePdf(1, 42, false), "acord2.pdf"));
+
+        ClaimData fromForm = extractor.extractFormFields(form.formFields());
+        ClaimData fromText = extractor.extractFields(SyntheticFnolDocuments.text(1, 42));
+
+        assertEquals(fromText.getPolicyInformation(), fromForm.getPolicyInformation());
+        assertEquals(fromText.getIncidentInformation().getDate(), fromForm.getIncidentInformation().getDate());
+        assertEquals(fromText.getIncidentInformation().getLocation(), fromForm.getIncidentInformation().getLocation());
+        assertEquals(fromText.getAssetDetails().getAssetId(), fromForm.getAssetDetails().getAssetId());
+        assertEquals(fromText.getAssetDetails().getEstimatedDamage(), fromForm.getAssetDetails().getEstimatedDamage());
+        assertEquals(fromText.getInvolvedParties(), fromForm.getInvolvedParties());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void testAnchorEngine_MatchesRegexEngine(int pages) {
+        FieldExtractor regex = extractor(ClaimsProperties.Extraction.Engine.REGEX);
+        FieldExtractor anchor = extractor(ClaimsProperties.Extraction.Engine.ANCHOR);
+
+        for (int seed = 0; seed < 10; seed++) {
+            String text = SyntheticFnolDocuments.text(pages, seed);
+            assertEquals(regex.extractFields(text), anchor.extractFields(text));
+        }
+    }
+
+    @Test
+    void testAnchorEngine_MissingLabel() {
+        String text = SyntheticFnolDocuments.text(3, 7).replace("V.I.N.", "SERIAL");
+
+        ClaimData claimData = extractor(ClaimsProperties.Extraction.Engine.ANCHOR).extractFields(text);
+
+        assertNull(claimData.getAssetDetails().getAssetId());
+        assertEquals(extractor(ClaimsProperties.Extraction.Engine.REGEX).extractFields(text), claimData);
+    }
+
+    @Test
+    void testAnchorEngine_ReadsLongDescriptionsInFull() {
+        String accident = "Rear-ended at a traffic light while stopped. ".repeat(20) + "Other driver admitted fault.";
+        String damage = "Rear bumper, trunk lid, tail lights and exhaust damaged; ".repeat(12) + "frame to be inspected.";
+        String text = SyntheticFnolDocuments.text(2, 11)
+                .replace("Rear-ended at a traffic light while stopped. Other driver admitted fault.", accident)
+                .replace("Rear bumper and trunk damage", damage);
+
+        ClaimData claimData = extractor(ClaimsProperties.Extraction.Engine.ANCHOR).extractFields(text);
+
+        assertTrue(accident.length() > 512);
+        assertTrue(claimData.getIncidentInformation().getDescription().startsWith(accident));
+        assertTrue(claimData.getAssetDetails().getDamageDescription().startsWith(damage));
+        assertEquals(extractor(ClaimsProperties.Extraction.Engine.REGEX).extractFields(text), claimData);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"REGEX", "ANCHOR"})
+    void testNormalizedText_MatchesCleanTextDespiteIrregularWhitespace(String engine) {
+        FieldExtractor extractor = extractor(ClaimsProperties.Extraction.Engine.valueOf(engine));
+        ClaimData expected = extractor(ClaimsProperties.Extraction.Engine.valueOf(engine), false)
+                .extractFields(SyntheticFnolDocuments.text(5, 42));
+
+        String irregular = SyntheticFnolDocuments.text(5, 42)
+                .replace("NUMBER: ", "NUMBER:\u00A0")
+                .replace("   ", " \t  ")
+                .replace("\n", " \r\n");
+
+        assertEquals(expected, extractor.extractFields(irregular));
+        assertEquals("AUTO-00000042", expected.getPolicyInformation().getPolicyNumber());
+    }
+
+    private FieldExtractor extractor(ClaimsProperties.Extraction.Engine engine) {
+        return extractor(engine, true);
+    }
+
+    private FieldExtractor extractor(ClaimsProperties.Extraction.Engine engine, boolean normalizeText) {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getExtraction().setEngine(engine);
+        properties.getExtraction().setNormalizeText(normalizeText);
+        return new FieldExtractor(registry, new KeywordLexicon(properties), properties);
+    }
+}
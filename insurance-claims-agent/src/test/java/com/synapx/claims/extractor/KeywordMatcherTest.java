@@ -0,0 +1,77 @@
+package com.synapx.claims.extractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeywordMatcherTest {
+
+    private static final int FRAUD = KeywordCategory.FRAUD.mask();
+    private static final int INJURY = KeywordCategory.INJURY.mask();
+
+    @Test
+    void testScan_OverlappingKeywordsWithOffsets() {
+        KeywordMatcher matcher = new KeywordMatcher(Map.of("injury", INJURY, "injured", INJURY, "jure", FRAUD));
+        List<String> found = new ArrayList<>();
+
+        matcher.scan("Driver INJURED, no injury", FRAUD | INJURY,
+                (keyword, start, end) -> found.add(matcher.keyword(keyword) + "@" + start + "-" + end));
+
+        assertEquals(List.of("jure@9-13", "injured@7-14", "injury@19-25"), found);
+        assertEquals(FRAUD | INJURY, matcher.categories("Driver INJURED"));
+        assertTrue(matcher.containsAny("was Injured", INJURY));
+        assertFalse(matcher.containsAny("injury", FRAUD));
+    }
+
+    @Test
+    void testScan_MatchesStringContains() {
+        String alphabet = "abcdeFG ";
+        Random random = new Random(7);
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            keywords.put(randomString(random, alphabet, 1 + random.nextInt(4)).trim() + "x".repeat(i % 2),
+                    1 << random.nextInt(3));
+        }
+        keywords.remove("");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        for (int run = 0; run < 500; run++) {
+            String text = randomString(random, alphabet + "x", random.nextInt(60));
+            String lower = text.toLowerCase(Locale.ROOT);
+            int expectedMask = 0;
+            int expectedMatches = 0;
+            for (Map.Entry<String, Integer> keyword : keywords.entrySet()) {
+                String term = keyword.getKey().toLowerCase(Locale.ROOT);
+                for (int at = lower.indexOf(term); at >= 0; at = lower.indexOf(term, at + 1)) {
+                    expectedMask |= keyword.getValue();
+                    expectedMatches++;
+                }
+            }
+            int[] matches = new int[1];
+            matcher.scan(text, -1, (keyword, start, end) -> {
+                assertEquals(matcher.keyword(keyword), lower.substring(start, end));
+                matches[0]++;
+            });
+
+            assertEquals(expectedMask, matcher.categories(text), text);
+            assertEquals(expectedMatches, matches[0], text);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
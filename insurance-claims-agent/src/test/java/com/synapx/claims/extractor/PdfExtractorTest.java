@@ -0,0 +1,125 @@
+package com.synapx.claims.extractor;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfExtractorTest {
+
+    private static final byte[] PACKET = SyntheticFnolDocuments.pdf(20, 42, false);
+
+    @Test
+    void testExtractText_StopsAtFormPageLimit() throws Exception {
+        String text = new PdfExtractor(new ClaimsProperties(), new SimpleMeterRegistry()).extractTextFromPdf(PACKET);
+
+        assertTrue(text.contains("POLICY NUMBER"));
+        assertTrue(text.contains("SUPPLEMENTAL REPORT - PAGE 4"));
+        assertFalse(text.contains("SUPPLEMENTAL REPORT - PAGE 5"));
+    }
+
+    @Test
+    void testExtractText_PageParallelMatchesSequential() throws Exception {
+        ClaimsProperties sequential = new ClaimsProperties();
+        sequential.getPdf().setFormPageLimit(0);
+
+        ClaimsProperties parallel = new ClaimsProperties();
+        parallel.getPdf().setFormPageLimit(0);
+        parallel.getPdf().getPageParallel().setEnabled(true);
+        parallel.getPdf().getPageParallel().setMinPages(2);
+        parallel.getPdf().getPageParallel().setPagesPerTask(3);
+        parallel.getPdf().getPageParallel().setThreads(2);
+
+        PdfExtractor parallelExtractor = new PdfExtractor(parallel, new SimpleMeterRegistry());
+        try {
+            String expected = new PdfExtractor(sequential, new SimpleMeterRegistry()).extractTextFromPdf(PACKET);
+            String actual = parallelExtractor.extractTextFromPdf(PACKET);
+
+            assertTrue(expected.contains("SUPPLEMENTAL REPORT - PAGE 20"));
+            assertEquals(expected, actual);
+        } finally {
+            parallelExtractor.shutdown();
+        }
+    }
+
+    @Test
+    void testExtract_ReadsFillableFormWithoutText() throws Exception {
+        PdfContent content = new PdfExtractor(new ClaimsProperties(), new SimpleMeterRegistry())
+                .extract(PdfSource.of(SyntheticFnolDocuments.fillablePdf(3, 42, false), "acord2.pdf"));
+
+        assertTrue(content.isForm());
+        assertNull(content.text());
+        Map<FieldKey, String> fields = content.formFields();
+        assertEquals("AUTO-00000042", fields.get(FieldKey.POLICY_NUMBER));
+        assertEquals("01/01/2024 to 01/01/2025", fields.get(FieldKey.EFFECTIVE_DATES));
+        assertEquals("1HGBH41JXMN000042", fields.get(FieldKey.VIN));
+        assertEquals("Y", fields.get(FieldKey.POLICE_OR_FIRE_CONTACTED));
+        assertFalse(fields.get(FieldKey.ESTIMATE_AMOUNT).startsWith("$"));
+        assertEquals(FieldKey.values().length, fields.size());
+    }
+
+    @Test
+    void testExtract_FallsBackToTextForFlattenedAndTextOnlyPdfs() throws Exception {
+        PdfExtractor extractor = new PdfExtractor(new ClaimsProperties(), new SimpleMeterRegistry());
+
+        PdfContent flattened = extractor.extract(PdfSource.of(SyntheticFnolDocuments.fillablePdf(3, 42, true), "flat.pdf"));
+        PdfContent textOnly = extractor.extract(PdfSource.of(PACKET, "scan.pdf"));
+
+        assertFalse(flattened.isForm());
+        assertTrue(flattened.text().contains("POLICY NUMBER: AUTO-00000042"));
+        assertFalse(textOnly.isForm());
+        assertTrue(textOnly.text().contains("POLICY NUMBER"));
+    }
+
+    @Test
+    void testExtract_AcroFormDisabled() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getPdf().getAcroForm().setEnabled(false);
+
+        PdfContent content = new PdfExtractor(properties, new SimpleMeterRegistry())
+                .extract(PdfSource.of(SyntheticFnolDocuments.fillablePdf(3, 42, false), "acord2.pdf"));
+
+        assertFalse(content.isForm());
+        assertTrue(content.text().contains("POLICY NUMBER"));
+    }
+
+    @Test
+    void testExtractText_RefusesDocumentOverPageLimit() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getPdf().getLimits().setMaxPages(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        PdfLimitExceededException e = assertThrows(PdfLimitExceededException.class,
+                () -> new PdfExtractor(properties, registry).extractText(PdfSource.of(PACKET, "packet.pdf")));
+
+        assertEquals(PdfLimitExceededException.Limit.PAGES, e.getLimit());
+        assertTrue(e.getMessage().contains("packet.pdf has 20 pages"));
+        assertEquals(1.0, registry.get("claims.pdf.aborted").tag("limit", "pages").counter().count());
+    }
+
+    @Test
+    void testExtractText_AbandonsDocumentOverOperatorLimit() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getPdf().getLimits().setMaxContentOperators(100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PdfExtractor extractor = new PdfExtractor(properties, registry);
+
+        PdfLimitExceededException e = assertThrows(PdfLimitExceededException.class,
+                () -> extractor.extractText(PdfSource.of(PACKET, "packet.pdf")));
+
+        assertEquals(PdfLimitExceededException.Limit.OPERATORS, e.getLimit());
+        assertEquals(1.0, registry.get("claims.pdf.aborted").tag("limit", "operators").counter().count());
+
+        // The stripper that was abandoned mid-document is not reused
+        properties.getPdf().getLimits().setMaxContentOperators(0);
+        assertTrue(extractor.extractText(PdfSource.of(PACKET, "packet.pdf")).contains("POLICY NUMBER"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.synapx.claims.extractor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TextNormalizerTest {
+
+    @Test
+    void testNormalize_CollapsesWhitespaceAndFoldsCase() {
+        TextNormalizer normalizer = new TextNormalizer(1);
+
+        try (NormalizedText text = normalizer.normalize("POLICY\tNUMBER: AUTO-1   \r\nEFFECTIVE     DATES\u00AD \r01/01/2024")) {
+            assertEquals("POLICY NUMBER: AUTO-1\nEFFECTIVE  DATES\n01/01/2024", text.toString());
+            assertEquals(text.length(), text.toString().length());
+            assertEquals('p', text.foldedCharAt(0));
+            assertEquals('e', text.foldedCharAt(text.toString().indexOf("EFFECTIVE")));
+            assertEquals("AUTO-1", text.subSequence(15, 21));
+        }
+    }
+
+    @Test
+    void testNormalize_ReusesReleasedBuffers() {
+        TextNormalizer normalizer = new TextNormalizer(1);
+
+        NormalizedText first = normalizer.normalize("first document");
+        NormalizedText concurrent = normalizer.normalize("second document");
+        assertNotSame(first, concurrent);
+        first.close();
+        first.close();
+        concurrent.close();
+
+        try (NormalizedText reused = normalizer.normalize("third")) {
+            assertSame(first, reused);
+            assertEquals("third", reused.toString());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.synapx.claims.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.BatchClaimResult;
+import com.synapx.claims.export.ClaimColumnReader;
+import com.synapx.claims.support.ClaimPipelines;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkIngestionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRun_ResumesFromCheckpoint() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getCache().setEnabled(false);
+        properties.getPdf().getLimits().setMaxPages(2);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ClaimResponseWriter responseWriter = new ClaimResponseWriter(objectMapper, properties);
+        ClaimProcessingService processingService = ClaimPipelines.processingService(properties);
+
+        Path input = Files.createDirectories(tempDir.resolve("fnol/2023/q4"));
+        Files.write(tempDir.resolve("fnol/claim-1.pdf"), SyntheticFnolDocuments.pdf(1, 1, false));
+        Files.write(input.resolve("claim-2.pdf"), SyntheticFnolDocuments.pdf(1, 2, false));
+        Files.write(input.resolve("oversized.pdf"), SyntheticFnolDocuments.pdf(3, 3, false));
+        Files.writeString(input.resolve("notes.txt"), "not a claim");
+        BulkIngestion.Options options = new BulkIngestion.Options(tempDir.resolve("fnol"),
+                tempDir.resolve("out/claims.ndjson"), tempDir.resolve("columns"),
+                tempDir.resolve("out/claims.ndjson.done"), 2, false, Duration.ofMinutes(1));
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        BulkIngestion.Summary first = new BulkIngestion(processingService, responseWriter, properties,
+                options, new PrintStream(report, true)).run();
+
+        assertEquals(2, first.processed());
+        assertEquals(1, first.failed());
+        assertEquals(Set.of("claim-1.pdf", "2023/q4/claim-2.pdf", "2023/q4/oversized.pdf"),
+                Set.copyOf(Files.readAllLines(options.checkpoint())));
+        assertEquals(2, columnarRows(options.columnar()));
+
+        // A rerun only processes what the checkpoint does not list
+        Files.write(input.resolve("claim-4.pdf"), SyntheticFnolDocuments.pdf(1, 4, false));
+        BulkIngestion.Summary second = new BulkIngestion(processingService, responseWriter, properties,
+                options, new PrintStream(report, true)).run();
+
+        assertEquals(1, second.processed());
+        assertEquals(0, second.failed());
+        assertEquals(3, second.skipped());
+        List<BatchClaimResult> results = Files.readAllLines(options.output()).stream()
+                .map(line -> read(objectMapper, line))
+                .toList();
+        assertEquals(4, results.size());
+        assertEquals(Set.of("claim-1.pdf", "2023/q4/claim-2.pdf", "2023/q4/oversized.pdf", "2023/q4/claim-4.pdf"),
+                results.stream().map(BatchClaimResult::getFilename).collect(Collectors.toSet()));
+        assertEquals(1, results.stream().filter(result -> result.getStatus() == BatchClaimResult.Status.FAILED).count());
+        // Resumed within the same second: the rerun starts a columnar file next to the first one
+        assertEquals(2, ClaimColumnReader.files(options.columnar()).size());
+        assertEquals(3, columnarRows(options.columnar()));
+        assertEquals(4, Files.readAllLines(options.checkpoint()).size());
+    }
+
+    private static BatchClaimResult read(ObjectMapper objectMapper, String line) {
+        try {
+            return objectMapper.readValue(line, BatchClaimResult.class);
+        } catch (Exception e) {
+            throw new AssertionError("Not a result line: " + line, e);
+        }
+    }
+
+    private static long columnarRows(Path directory) throws Exception {
+        AtomicLong rows = new AtomicLong();
+        for (Path file : ClaimColumnReader.files(directory)) {
+            ClaimColumnReader.scan(file, rowGroup -> rows.addAndGet(rowGroup.rows()));
+        }
+        return rows.get();
+    }
+}
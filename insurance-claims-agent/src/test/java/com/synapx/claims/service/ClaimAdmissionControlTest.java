@@ -0,0 +1,72 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClaimAdmissionControlTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testTryAcquire_ShedsBeyondLimitAndByteBudget() {
+        ClaimAdmissionControl admission = admission(2);
+
+        ClaimAdmissionControl.Permit large = admission.tryAcquire(DataSize.ofMegabytes(15).toBytes());
+        assertNotNull(large);
+        assertNull(admission.tryAcquire(DataSize.ofMegabytes(6).toBytes()));
+        ClaimAdmissionControl.Permit small = admission.tryAcquire(DataSize.ofMegabytes(1).toBytes());
+        assertNotNull(small);
+        assertNull(admission.tryAcquire(1));
+
+        assertEquals(1.0, registry.get("claims.admission.shed").tag("reason", "bytes").counter().count());
+        assertEquals(1.0, registry.get("claims.admission.shed").tag("reason", "concurrency").counter().count());
+        large.close();
+        small.close();
+        small.close();
+        assertEquals(0, admission.getInFlight());
+        assertEquals(0, admission.getInFlightBytes());
+        // Nothing in flight: even an upload over the byte budget is admitted
+        assertNotNull(admission.tryAcquire(DataSize.ofMegabytes(40).toBytes()));
+    }
+
+    @Test
+    void testLimit_DecreasesOnSlowClaimsAndGrowsWhenBusyAndFast() {
+        ClaimAdmissionControl admission = admission(4);
+
+        for (int i = 0; i < 3; i++) {
+            ClaimAdmissionControl.Permit permit = admission.tryAcquire(1);
+            clock.addAndGet(Duration.ofSeconds(6).toNanos());
+            permit.close();
+        }
+        assertEquals(2, admission.getLimit());
+
+        ClaimAdmissionControl.Permit first = admission.tryAcquire(1);
+        ClaimAdmissionControl.Permit second = admission.tryAcquire(1);
+        assertNull(admission.tryAcquire(1));
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+        second.close();
+        first.close();
+        assertEquals(3, admission.getLimit());
+    }
+
+    private ClaimAdmissionControl admission(int initialLimit) {
+        ClaimsProperties properties = new ClaimsProperties();
+        ClaimsProperties.Admission config = properties.getAdmission();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(1);
+        config.setMaxLimit(8);
+        config.setTargetLatency(Duration.ofSeconds(5));
+        config.setMaxInFlightBytes(DataSize.ofMegabytes(20));
+        return new ClaimAdmissionControl(properties, registry, clock::get);
+    }
+}
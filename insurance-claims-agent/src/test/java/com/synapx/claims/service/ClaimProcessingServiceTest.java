@@ -0,0 +1,40 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.PdfSource;
+import com.synapx.claims.support.ClaimPipelines;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ClaimProcessingServiceTest {
+
+    @Test
+    void testProcessClaim_ResubmissionAfterCacheInvalidationIsNotItsOwnDuplicate() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getDuplicates().setEnabled(true);
+        ClaimPipelines.Pipeline pipeline = ClaimPipelines.create(properties);
+        ClaimProcessingService service = pipeline.service();
+        byte[] document = SyntheticFnolDocuments.pdf(1, 42, false);
+
+        ClaimProcessingResponse first = service.processClaim(PdfSource.of(document, "claim.pdf"));
+        assertNotEquals("INVESTIGATION_FLAG", first.getRecommendedRoute());
+
+        // A rules or lexicon reload drops the cached result; the broker then retries the same bytes
+        pipeline.resultCache().invalidateAll();
+        ClaimProcessingResponse retried = service.processClaim(PdfSource.of(document, "claim.pdf"));
+
+        assertFalse(retried.getMetadata().getCacheHit());
+        assertEquals(first.getRecommendedRoute(), retried.getRecommendedRoute());
+        assertEquals(first.getReasoning(), retried.getReasoning());
+
+        // The same claim in a different document is still a possible duplicate
+        ClaimProcessingResponse resent = service.processClaim(
+                PdfSource.of(SyntheticFnolDocuments.pdf(2, 42, false), "claim-with-appendix.pdf"));
+        assertEquals("INVESTIGATION_FLAG", resent.getRecommendedRoute());
+    }
+}
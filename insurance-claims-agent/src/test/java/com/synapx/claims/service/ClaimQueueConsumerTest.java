@@ -0,0 +1,87 @@
+package com.synapx.claims.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimDecision;
+import com.synapx.claims.queue.ClaimDecisionQueue;
+import com.synapx.claims.queue.DirectoryClaimQueue;
+import com.synapx.claims.queue.DirectoryDecisionQueue;
+import com.synapx.claims.support.ClaimPipelines;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimQueueConsumerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConsumeBatch_CommitsOnlyAfterDecisionsArePublished() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getCache().setEnabled(false);
+        properties.getQueue().setBatchSize(10);
+        properties.getPdf().getLimits().setMaxPages(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirectoryClaimQueue input = new DirectoryClaimQueue(tempDir, 2, false);
+        DirectoryDecisionQueue decisions = new DirectoryDecisionQueue(tempDir, new ObjectMapper());
+        AtomicBoolean outputDown = new AtomicBoolean(true);
+        ClaimDecisionQueue output = (partition, batch) -> {
+            if (outputDown.get()) {
+                throw new IOException("decision queue unavailable");
+            }
+            decisions.publish(partition, batch);
+        };
+        ClaimQueueConsumer consumer = new ClaimQueueConsumer(input, output,
+                ClaimPipelines.processingService(properties), properties, meterRegistry);
+
+        Path inbox = DirectoryClaimQueue.partitionDirectory(tempDir, 0);
+        for (int seed = 1; seed <= 3; seed++) {
+            Files.write(inbox.resolve("claim-" + seed + ".pdf"), SyntheticFnolDocuments.pdf(1, seed, false));
+        }
+        Files.write(DirectoryClaimQueue.partitionDirectory(tempDir, 1).resolve("oversized.pdf"),
+                SyntheticFnolDocuments.pdf(3, 4, false));
+
+        // Nothing is committed while the decisions cannot be published; the batch is delivered again
+        assertThrows(IOException.class, () -> consumer.consumeBatch(0));
+        input.rewind(0);
+        assertEquals(3, pdfs(inbox).size());
+
+        outputDown.set(false);
+        assertEquals(3, consumer.consumeBatch(0));
+        assertEquals(0, consumer.consumeBatch(0));
+        assertEquals(0, pdfs(inbox).size());
+        assertEquals(3, pdfs(inbox.resolve("committed")).size());
+        List<String> lines = Files.readAllLines(decisions.log(0));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"key\":\"claim-1.pdf\""));
+        assertTrue(lines.stream().allMatch(line -> line.contains("\"status\":\"PROCESSED\"")
+                && line.contains("\"recommendedRoute\"")));
+
+        // A document that cannot be processed is decided FAILED and committed, not retried forever
+        assertEquals(1, consumer.consumeBatch(1));
+        ClaimDecision failed = new ObjectMapper().readValue(Files.readString(decisions.log(1)), ClaimDecision.class);
+        assertEquals("oversized.pdf", failed.getKey());
+        assertTrue(failed.getError().contains("has 3 pages"));
+        assertEquals(3.0, meterRegistry.get("claims.queue.consumed").tag("status", "processed").counter().count());
+        assertEquals(1.0, meterRegistry.get("claims.queue.consumed").tag("status", "failed").counter().count());
+    }
+
+    private static List<Path> pdfs(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".pdf")).toList();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClaimResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPut_DropsResultBuiltBeforeRulesReload() throws Exception {
+        Path rules = tempDir.resolve("routing-rules.json");
+        Files.writeString(rules, rulesWithThreshold(25000));
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getRouting().setRulesLocation(rules.toUri().toString());
+        properties.getRouting().setReloadInterval(Duration.ZERO);
+        FieldPatternRegistry registry = new FieldPatternRegistry();
+        KeywordLexicon lexicon = new KeywordLexicon(properties);
+        ClaimRoutingService routing = new ClaimRoutingService(properties);
+        ClaimResultCache cache = new ClaimResultCache(properties, registry, lexicon, routing);
+        ClaimProcessingResponse response = ClaimProcessingResponse.builder().recommendedRoute("FAST_TRACK").build();
+
+        // The rules change while the document is being extracted
+        String builtWith = cache.fingerprint();
+        assertNull(cache.get("a"));
+        Files.writeString(rules, rulesWithThreshold(10000));
+        routing.reload();
+        cache.put("a", response, builtWith);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().size());
+
+        cache.put("a", response, cache.fingerprint());
+        assertEquals("FAST_TRACK", cache.get("a").getRecommendedRoute());
+    }
+
+    private static String rulesWithThreshold(int threshold) {
+        return """
+                {"rules": [
+                  {"name": "fast-track", "route": "FAST_TRACK", "damageAbove": 0, "damageBelow": %d,
+                   "reason": "Estimated damage (${damage}) is below (${damageBelow})"},
+                  {"name": "standard", "route": "STANDARD_PROCESSING", "reason": "Standard"}
+                ]}
+                """.formatted(threshold);
+    }
+}
@@ -0,0 +1,160 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.KeywordCategory;
+import com.synapx.claims.extractor.KeywordMatch;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.DuplicateMatch;
+import com.synapx.claims.validator.ClaimIndicators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimRoutingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDefaultRules_MatchOriginalRouting() {
+        ClaimRoutingService routing = service("classpath:routing-rules.json");
+
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of("Policy Number", "Incident Date"), true, true),
+                "MANUAL_REVIEW", "Missing mandatory fields: Policy Number, Incident Date");
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of(), true, true),
+                "INVESTIGATION_FLAG", "Fraud indicators detected in claim description");
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of(), false, true),
+                "SPECIALIST_QUEUE", "Injury claim requires specialist review");
+        assertDecision(routing.determineRouting(claim("$12,500.00", "IL"), List.of(), false, false),
+                "FAST_TRACK", "Estimated damage ($12500.00) is below fast-track threshold ($25000.00)");
+        assertDecision(routing.determineRouting(claim("40,000.5", "IL"), List.of(), false, false),
+                "STANDARD_PROCESSING", "Estimated damage ($40000.50) exceeds fast-track threshold");
+        assertDecision(routing.determineRouting(claim(null, "IL"), List.of(), false, false),
+                "STANDARD_PROCESSING", "Standard claim processing - all validation checks passed");
+        assertDecision(routing.determineRouting(claim("1.2.3", "IL"), List.of(), false, false),
+                "STANDARD_PROCESSING", "Standard claim processing - all validation checks passed");
+    }
+
+    @Test
+    void testDefaultRules_CiteMatchedKeywords() {
+        ClaimRoutingService routing = service("classpath:routing-rules.json");
+        ClaimIndicators indicators = new ClaimIndicators(true, true,
+                List.of(new KeywordMatch("staged", KeywordCategory.FRAUD, 14, 20),
+                        new KeywordMatch("fake", KeywordCategory.FRAUD, 31, 35)),
+                List.of(new KeywordMatch("hurt", KeywordCategory.INJURY, 3, 7)));
+
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of(), indicators),
+                "INVESTIGATION_FLAG", "Fraud indicators detected in claim description (\"staged\" at 14, \"fake\" at 31)");
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of(),
+                        new ClaimIndicators(false, true, List.of(), indicators.injuryMatches())),
+                "SPECIALIST_QUEUE", "Injury claim requires specialist review (\"hurt\" at 3)");
+    }
+
+    @Test
+    void testDefaultRules_CiteDuplicateClaims() {
+        ClaimRoutingService routing = service("classpath:routing-rules.json");
+        ClaimIndicators indicators = new ClaimIndicators(false, false, List.of(), List.of(),
+                List.of(new DuplicateMatch(4096, 0.93, false, true), new DuplicateMatch(-1, 0.85, false, false)));
+
+        assertDecision(routing.determineRouting(claim("5000", "IL"), List.of(), indicators),
+                "INVESTIGATION_FLAG", "Possible duplicate of a previously processed claim"
+                        + " (claim 4096: same VIN and date of loss, 93% similar description; earlier claim: 85% similar description)");
+        assertEquals("MANUAL_REVIEW",
+                routing.determineRouting(claim("5000", "IL"), List.of("Policy Number"), indicators).getRoute());
+    }
+
+    @Test
+    void testReload_SwapsRulesAndFingerprint() throws IOException {
+        Path rules = tempDir.resolve("routing-rules.json");
+        Files.writeString(rules, rulesWithThreshold(25000));
+        ClaimRoutingService routing = service(rules.toUri().toString());
+        String before = routing.getFingerprint();
+
+        assertEquals("STANDARD_PROCESSING",
+                routing.determineRouting(claim("30000", "IL"), List.of(), false, false).getRoute());
+        assertFalse(routing.reload());
+
+        Files.writeString(rules, rulesWithThreshold(50000));
+        assertTrue(routing.reload());
+
+        assertNotEquals(before, routing.getFingerprint());
+        assertDecision(routing.determineRouting(claim("30000", "IL"), List.of(), false, false),
+                "FAST_TRACK", "Estimated damage ($30000.00) is below ($50000.00)");
+    }
+
+    @Test
+    void testReload_InvalidRulesKeepCurrentTable() throws IOException {
+        Path rules = tempDir.resolve("routing-rules.json");
+        Files.writeString(rules, rulesWithThreshold(25000));
+        ClaimRoutingService routing = service(rules.toUri().toString());
+        String before = routing.getFingerprint();
+
+        Files.writeString(rules, "{\"rules\":[{\"name\":\"broken\",\"reason\":\"{unknown}\",\"route\":\"X\"}]}");
+        assertThrows(IllegalArgumentException.class, routing::reload);
+
+        assertEquals(before, routing.getFingerprint());
+        assertEquals("FAST_TRACK",
+                routing.determineRouting(claim("100", "IL"), List.of(), false, false).getRoute());
+    }
+
+    @Test
+    void testStateCondition() throws IOException {
+        Path rules = tempDir.resolve("routing-rules.json");
+        Files.writeString(rules, """
+                {"rules": [
+                  {"name": "catastrophe-states", "route": "SPECIALIST_QUEUE", "states": ["fl", "LA"],
+                   "reason": "Loss in {state} is handled by the catastrophe team"},
+                  {"name": "default", "route": "STANDARD_PROCESSING", "reason": "Standard"}
+                ]}
+                """);
+        ClaimRoutingService routing = service(rules.toUri().toString());
+
+        assertDecision(routing.determineRouting(claim("100", "FL"), List.of(), false, false),
+                "SPECIALIST_QUEUE", "Loss in FL is handled by the catastrophe team");
+        assertEquals("STANDARD_PROCESSING",
+                routing.determineRouting(claim("100", "IL"), List.of(), false, false).getRoute());
+    }
+
+    private static ClaimRoutingService service(String location) {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getRouting().setRulesLocation(location);
+        properties.getRouting().setReloadInterval(Duration.ZERO);
+        return new ClaimRoutingService(properties);
+    }
+
+    private static String rulesWithThreshold(int threshold) {
+        return """
+                {"rules": [
+                  {"name": "fast-track", "route": "FAST_TRACK", "damageAbove": 0, "damageBelow": %d,
+                   "reason": "Estimated damage (${damage}) is below (${damageBelow})"},
+                  {"name": "standard", "route": "STANDARD_PROCESSING", "reason": "Standard"}
+                ]}
+                """.formatted(threshold);
+    }
+
+    private static ClaimData claim(String estimatedDamage, String state) {
+        return ClaimData.builder()
+                .incidentInformation(ClaimData.IncidentInformation.builder()
+                        .location(ClaimData.IncidentInformation.Location.builder().state(state).build())
+                        .build())
+                .assetDetails(ClaimData.AssetDetails.builder().estimatedDamage(estimatedDamage).build())
+                .otherMandatoryFields(ClaimData.OtherMandatoryFields.builder().claimType("AUTOMOBILE").build())
+                .build();
+    }
+
+    private static void assertDecision(ClaimRoutingService.RoutingDecision decision, String route, String reasoning) {
+        assertEquals(route, decision.getRoute());
+        assertEquals(reasoning, decision.getReasoning());
+    }
+}
@@ -0,0 +1,128 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----claims7MA4YWxkTrZu0gW";
+
+    @Test
+    void testNext_ReadsPartsAcrossShortReads() throws IOException {
+        byte[] first = SyntheticFnolDocuments.pdf(2, 1, false);
+        // Ends like a delimiter without being one
+        byte[] second = ("body\r\n--" + BOUNDARY.substring(0, 10) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new Body()
+                .field("batch", "nightly")
+                .file("claim-1.pdf", first)
+                .file("claim-2.pdf", second)
+                .close();
+
+        MultipartStreamReader reader = new MultipartStreamReader(new Trickle(body, 7), BOUNDARY);
+
+        MultipartStreamReader.Part field = reader.next();
+        assertEquals("batch", field.name());
+        assertNull(field.filename());
+        MultipartStreamReader.Part part = reader.next();
+        assertEquals("claim-1.pdf", part.filename());
+        assertEquals("application/pdf", part.contentType());
+        assertArrayEquals(first, part.body().readAllBytes());
+        assertArrayEquals(second, reader.next().body().readAllBytes());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_SkipsUnreadRestOfPart() throws IOException {
+        byte[] body = new Body()
+                .file("skipped.pdf", SyntheticFnolDocuments.pdf(4, 2, false))
+                .file("claim.pdf", "%PDF-1.7".getBytes(StandardCharsets.US_ASCII))
+                .close();
+
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+
+        reader.next().body().read(new byte[100]);
+        MultipartStreamReader.Part part = reader.next();
+        assertEquals("claim.pdf", part.filename());
+        assertEquals("%PDF-1.7", new String(part.body().readAllBytes(), StandardCharsets.US_ASCII));
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_TruncatedBodyFails() throws IOException {
+        byte[] body = new Body().file("claim.pdf", new byte[1000]).close();
+        byte[] truncated = Arrays.copyOf(body, body.length - BOUNDARY.length() - 10);
+
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(truncated), BOUNDARY);
+
+        InputStream part = reader.next().body();
+        assertThrows(IOException.class, part::readAllBytes);
+    }
+
+    private static final class Body {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Body field(String name, String value) {
+            return part("Content-Disposition: form-data; name=\"" + name + "\"\r\n",
+                    value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Body file(String filename, byte[] content) {
+            return part("Content-Disposition: form-data; name=\"files\"; filename=\"" + filename + "\"\r\n"
+                    + "Content-Type: application/pdf\r\n", content);
+        }
+
+        private Body part(String headers, byte[] content) {
+            out.writeBytes(("--" + BOUNDARY + "\r\n" + headers + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(content);
+            out.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+
+        byte[] close() {
+            out.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Hands out at most a few bytes per read, like a slow upload
+     */
+    private static final class Trickle extends InputStream {
+        private final byte[] bytes;
+        private final int chunk;
+        private int pos;
+
+        Trickle(byte[] bytes, int chunk) {
+            this.bytes = bytes;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return pos < bytes.length ? bytes[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (pos >= bytes.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, chunk), bytes.length - pos);
+            System.arraycopy(bytes, pos, target, offset, count);
+            pos += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.synapx.claims.service;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ReextractionReport;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.model.ClaimData;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.ClaimStore;
+import com.synapx.claims.store.ExtractedTextCache;
+import com.synapx.claims.support.SyntheticFnolDocuments;
+import com.synapx.claims.validator.ClaimValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReextractionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReextract_ReportsOnlyClaimsWhoseRouteChanged() throws Exception {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getTextCache().setEnabled(true);
+        properties.getTextCache().setDirectory(tempDir);
+        properties.getRouting().setReloadInterval(Duration.ZERO);
+        FieldPatternRegistry registry = new FieldPatternRegistry();
+        KeywordLexicon lexicon = new KeywordLexicon(properties);
+        FieldExtractor fieldExtractor = new FieldExtractor(registry, lexicon, properties);
+        ClaimValidator validator = new ClaimValidator(lexicon,
+                new ClaimSimilarityIndex(properties, new ClaimStore(properties)));
+        ClaimRoutingService routing = new ClaimRoutingService(properties);
+        ExtractedTextCache cache = new ExtractedTextCache(properties);
+        ReextractionService service = new ReextractionService(cache, fieldExtractor, validator, routing,
+                registry, lexicon, properties);
+
+        String text = SyntheticFnolDocuments.text(1, 42);
+        ClaimData claim = fieldExtractor.extractFields(text);
+        String route = routing.determineRouting(claim, validator.validateAndFindMissingFields(claim),
+                validator.scanKeywords(claim)).getRoute();
+        String same = "a".repeat(64);
+        String changed = "b".repeat(64);
+        cache.put(same, "same.pdf", text, route, List.of());
+        cache.put(changed, "changed.pdf", text, "LEGACY_QUEUE", List.of());
+
+        ReextractionReport report = service.reextract(10);
+
+        assertEquals(2, report.getDocuments());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(1, report.getChanged());
+        assertEquals(0, report.getFailed());
+        assertEquals(Map.of("LEGACY_QUEUE -> " + route, 1), report.getTransitions());
+        ReextractionReport.RouteChange change = report.getChanges().get(0);
+        assertEquals(changed, change.getDocumentHash());
+        assertEquals("changed.pdf", change.getFilename());
+        assertEquals(route, change.getRoute());
+        assertEquals(0, service.reextract(0).getChanges().size());
+        assertEquals(1, service.reextract(0).getChanged());
+    }
+}
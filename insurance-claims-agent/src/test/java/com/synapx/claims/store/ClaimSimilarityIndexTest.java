@@ -0,0 +1,70 @@
+package com.synapx.claims.store;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.model.ClaimData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimSimilarityIndexTest {
+
+    private static final String DESCRIPTION =
+            "Insured vehicle was rear-ended while stopped at a red light on Main Street; other driver fled the scene.";
+
+    @Test
+    void testFindDuplicates_RewordedDescriptionUnderAnotherPolicy() {
+        ClaimSimilarityIndex index = index(true);
+        index.add(claim("AUTO-001", "1HGBH41JXMN000001", "01/15/2024", DESCRIPTION), 100);
+
+        List<DuplicateMatch> matches = index.findDuplicates(claim("AUTO-002", "1HGBH41JXMN000002", "02/01/2024",
+                "insured vehicle was rear ended while stopped at the red light on Main St, other driver fled the scene"));
+
+        assertEquals(1, matches.size());
+        assertEquals(100, matches.get(0).claimId());
+        assertFalse(matches.get(0).sameKey());
+        assertTrue(matches.get(0).similarity() >= 0.8);
+        assertTrue(index.findDuplicates(claim("AUTO-002", "1HGBH41JXMN000002", "02/01/2024",
+                "Hail storm cracked the windshield and dented the hood while parked in the office lot")).isEmpty());
+    }
+
+    @Test
+    void testFindDuplicates_SamePolicyOrVinOnSameDateOfLoss() {
+        ClaimSimilarityIndex index = index(true);
+        index.add(claim("AUTO-001", "1HGBH41JXMN000001", "01/15/2024", "Rear-ended"), 7);
+        index.add(claim("AUTO-003", "1HGBH41JXMN000003", "01/15/2024", "Rear-ended"), -1);
+
+        DuplicateMatch vin = index.findDuplicates(claim("AUTO-002", "1hgbh41jxmn000001", "2024-01-15", "Hit")).get(0);
+        assertEquals(new DuplicateMatch(7, Double.NaN, false, true), vin);
+        DuplicateMatch policy = index.findDuplicates(claim(" auto-003", null, "1-15-2024", null)).get(0);
+        assertEquals(new DuplicateMatch(-1, Double.NaN, true, false), policy);
+        assertTrue(index.findDuplicates(claim("AUTO-001", "1HGBH41JXMN000001", "01/16/2024", "Rear-ended")).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testDisabled_IndexesNothing() {
+        ClaimSimilarityIndex index = index(false);
+        index.add(claim("AUTO-001", "1HGBH41JXMN000001", "01/15/2024", DESCRIPTION), 1);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findDuplicates(claim("AUTO-001", "1HGBH41JXMN000001", "01/15/2024", DESCRIPTION)).isEmpty());
+    }
+
+    private static ClaimSimilarityIndex index(boolean enabled) {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getDuplicates().setEnabled(enabled);
+        return new ClaimSimilarityIndex(properties, new ClaimStore(properties));
+    }
+
+    private static ClaimData claim(String policyNumber, String vin, String date, String description) {
+        return ClaimData.builder()
+                .policyInformation(ClaimData.PolicyInformation.builder().policyNumber(policyNumber).build())
+                .incidentInformation(ClaimData.IncidentInformation.builder().date(date).description(description).build())
+                .assetDetails(ClaimData.AssetDetails.builder().assetId(vin).build())
+                .build();
+    }
+}
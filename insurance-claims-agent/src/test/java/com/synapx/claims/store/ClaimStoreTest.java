@@ -0,0 +1,88 @@
+package com.synapx.claims.store;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.dto.ClaimProcessingResponse;
+import com.synapx.claims.dto.StoredClaim;
+import com.synapx.claims.model.ClaimData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFind_ByEachIndexedKey() throws IOException {
+        ClaimStore store = store();
+        StoredClaim first = store.append(response("AUTO-001", "1HGBH41JXMN000001", "ABC 123", "01/15/2024"), "a.pdf");
+        store.append(response("AUTO-002", "1HGBH41JXMN000002", "XYZ999", "01/15/2024"), "b.pdf");
+        StoredClaim third = store.append(response("AUTO-001", "1HGBH41JXMN000003", null, "02/01/2024"), "c.pdf");
+
+        assertEquals(List.of(first.getId(), third.getId()), ids(store.find(ClaimStore.Key.POLICY_NUMBER, " auto-001", 10)));
+        assertEquals(List.of(first.getId()), ids(store.find(ClaimStore.Key.POLICY_NUMBER, "AUTO-001", 1)));
+        assertEquals("b.pdf", store.find(ClaimStore.Key.VIN, "1hgbh41jxmn000002", 10).get(0).getFilename());
+        assertEquals("a.pdf", store.find(ClaimStore.Key.PLATE_NUMBER, "abc123", 10).get(0).getFilename());
+        assertEquals(2, store.find(ClaimStore.Key.INCIDENT_DATE, "2024-01-15", 10).size());
+        assertTrue(store.find(ClaimStore.Key.VIN, "UNKNOWN", 10).isEmpty());
+        assertEquals(third, store.get(third.getId()).orElseThrow());
+        assertTrue(store.get(third.getId() + 1).isEmpty());
+        store.close();
+    }
+
+    @Test
+    void testReopen_ReplaysLogAndDropsTornRecord() throws IOException {
+        ClaimStore store = store();
+        StoredClaim stored = store.append(response("AUTO-010", "1HGBH41JXMN000010", "PLT10", "03/03/2024"), "d.pdf");
+        store.close();
+        Path log = tempDir.resolve("claims.log");
+        long size = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 99, 1, 2}, StandardOpenOption.APPEND);
+
+        ClaimStore reopened = store();
+
+        assertEquals(size, Files.size(log));
+        assertEquals(1, reopened.getStats().claims());
+        assertEquals(List.of(stored), reopened.find(ClaimStore.Key.POLICY_NUMBER, "AUTO-010", 10));
+        StoredClaim next = reopened.append(response("AUTO-011", null, null, null), "e.pdf");
+        assertEquals(size, next.getId());
+        reopened.close();
+    }
+
+    private ClaimStore store() {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getStore().setEnabled(true);
+        properties.getStore().setDirectory(tempDir);
+        return new ClaimStore(properties);
+    }
+
+    private static List<Long> ids(List<StoredClaim> claims) {
+        return claims.stream().map(StoredClaim::getId).toList();
+    }
+
+    private static ClaimProcessingResponse response(String policyNumber, String vin, String plate, String date) {
+        ClaimData claim = ClaimData.builder()
+                .policyInformation(ClaimData.PolicyInformation.builder().policyNumber(policyNumber).build())
+                .incidentInformation(ClaimData.IncidentInformation.builder().date(date).build())
+                .assetDetails(ClaimData.AssetDetails.builder()
+                        .assetId(vin)
+                        .vehicleDetails(ClaimData.AssetDetails.VehicleDetails.builder().plateNumber(plate).build())
+                        .build())
+                .build();
+        return ClaimProcessingResponse.builder()
+                .extractedFields(claim)
+                .missingFields(List.of())
+                .recommendedRoute("FAST_TRACK")
+                .reasoning("test")
+                .build();
+    }
+}
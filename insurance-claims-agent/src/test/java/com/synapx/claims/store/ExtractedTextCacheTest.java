@@ -0,0 +1,55 @@
+package com.synapx.claims.store;
+
+import com.synapx.claims.config.ClaimsProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExtractedTextCacheTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPutAndGet_RoundTripsTextAndFirstDecision() throws IOException {
+        ExtractedTextCache cache = cache(true);
+        String text = "POLICY NUMBER: AUTO-001\nDESCRIPTION OF ACCIDENT: Rear-ended at a light – café parking lot";
+        List<DuplicateMatch> duplicates = List.of(new DuplicateMatch(4096, 0.93, false, true));
+
+        cache.put(HASH, "claim.pdf", text, "INVESTIGATION_FLAG", duplicates);
+        cache.put(HASH, "resubmitted.pdf", "other text", "FAST_TRACK", List.of());
+
+        ExtractedTextCache.Entry entry = cache.get(HASH).orElseThrow();
+        assertEquals(HASH, entry.documentHash());
+        assertEquals("claim.pdf", entry.filename());
+        assertEquals("INVESTIGATION_FLAG", entry.route());
+        assertEquals(duplicates, entry.duplicates());
+        assertEquals(text, entry.text());
+        assertEquals(List.of(HASH), cache.documentHashes());
+        assertTrue(cache.get("00" + HASH.substring(2)).isEmpty());
+    }
+
+    @Test
+    void testDisabled_CachesNothing() throws IOException {
+        ExtractedTextCache cache = cache(false);
+        cache.put(HASH, "claim.pdf", "text", "FAST_TRACK", List.of());
+
+        assertTrue(cache.get(HASH).isEmpty());
+        assertTrue(cache.documentHashes().isEmpty());
+    }
+
+    private ExtractedTextCache cache(boolean enabled) {
+        ClaimsProperties properties = new ClaimsProperties();
+        properties.getTextCache().setEnabled(enabled);
+        properties.getTextCache().setDirectory(tempDir);
+        return new ExtractedTextCache(properties);
+    }
+}
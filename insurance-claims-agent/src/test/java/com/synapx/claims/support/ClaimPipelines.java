@@ -0,0 +1,53 @@
+package com.synapx.claims.support;
+
+import com.synapx.claims.config.ClaimsProperties;
+import com.synapx.claims.extractor.FieldExtractor;
+import com.synapx.claims.extractor.FieldPatternRegistry;
+import com.synapx.claims.extractor.KeywordLexicon;
+import com.synapx.claims.extractor.PdfExtractor;
+import com.synapx.claims.service.ClaimExportService;
+import com.synapx.claims.service.ClaimPipelineMetrics;
+import com.synapx.claims.service.ClaimProcessingService;
+import com.synapx.claims.service.ClaimResultCache;
+import com.synapx.claims.service.ClaimRoutingService;
+import com.synapx.claims.store.ClaimSimilarityIndex;
+import com.synapx.claims.store.ClaimStore;
+import com.synapx.claims.store.ExtractedTextCache;
+import com.synapx.claims.validator.ClaimValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The claim pipeline wired by hand from one {@link ClaimsProperties}, as Spring would wire
+ * it, for tests that drive {@link ClaimProcessingService} without an application context.
+ */
+public final class ClaimPipelines {
+
+    private ClaimPipelines() {
+    }
+
+    public static ClaimProcessingService processingService(ClaimsProperties properties) {
+        return create(properties).service();
+    }
+
+    public static Pipeline create(ClaimsProperties properties) {
+        FieldPatternRegistry registry = new FieldPatternRegistry();
+        KeywordLexicon lexicon = new KeywordLexicon(properties);
+        ClaimStore claimStore = new ClaimStore(properties);
+        ClaimSimilarityIndex similarityIndex = new ClaimSimilarityIndex(properties, claimStore);
+        ClaimRoutingService routing = new ClaimRoutingService(properties);
+        ClaimResultCache resultCache = new ClaimResultCache(properties, registry, lexicon, routing);
+        ClaimProcessingService service = new ClaimProcessingService(
+                new PdfExtractor(properties, new SimpleMeterRegistry()),
+                new FieldExtractor(registry, lexicon, properties),
+                new ClaimValidator(lexicon, similarityIndex), routing, resultCache,
+                new ClaimExportService(properties, new SimpleMeterRegistry()), claimStore, similarityIndex,
+                new ExtractedTextCache(properties),
+                new ClaimPipelineMetrics(new SimpleMeterRegistry()));
+        return new Pipeline(service, resultCache);
+    }
+
+    /**
+     * The service plus the parts a test needs to reach behind it
+     */
+    public record Pipeline(ClaimProcessingService service, ClaimResultCache resultCache) {}
+}
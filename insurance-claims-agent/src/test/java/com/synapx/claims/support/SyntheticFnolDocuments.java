@@ -0,0 +1,236 @@
+package com.synapx.claims.support;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic ACORD FNOL documents for tests and benchmarks.
+ * Page 1 carries the ACORD form labels; further pages simulate attached police
+ * reports and photo appendices so multi-page behaviour can be measured.
+ */
+public final class SyntheticFnolDocuments {
+
+    private static final String[] NARRATIVE_WORDS = {
+        "officer", "responded", "to", "the", "scene", "at", "approximately", "hours", "and", "observed",
+        "two", "vehicles", "in", "the", "northbound", "lane", "driver", "stated", "that", "traffic",
+        "signal", "was", "green", "witness", "statement", "attached", "photo", "appendix", "shows",
+        "rear", "bumper", "trunk", "lid", "headlamp", "weather", "clear", "road", "surface", "dry"
+    };
+
+    private static final String[] MAKES = {"Toyota", "Honda", "Ford", "Subaru", "Mazda"};
+    private static final String[] MODELS = {"Camry", "Civic", "Focus", "Outback", "Miata"};
+
+    private SyntheticFnolDocuments() {
+    }
+
+    /**
+     * Text as PDFTextStripper would return it, one string per page
+     */
+    public static List<String> pages(int pageCount, int seed) {
+        List<String> pages = new ArrayList<>(pageCount);
+        pages.add(formPage(seed));
+        Random random = new Random(seed);
+        for (int page = 2; page <= pageCount; page++) {
+            pages.add(appendixPage(page, random));
+        }
+        return pages;
+    }
+
+    public static String text(int pageCount, int seed) {
+        return String.join("\n", pages(pageCount, seed));
+    }
+
+    /**
+     * Render the synthetic pages as a PDF. With {@code photos}, every appendix page also
+     * carries a noise image so file size tracks the photo-heavy packets seen in production.
+     */
+    public static byte[] pdf(int pageCount, int seed, boolean photos) {
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        Random random = new Random(seed);
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            List<String> pages = pages(pageCount, seed);
+            for (int index = 0; index < pages.size(); index++) {
+                PDPage page = new PDPage(PDRectangle.LETTER);
+                document.addPage(page);
+                PDImageXObject photo = photos && index > 0 ? noiseImage(document, random) : null;
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    if (photo != null) {
+                        content.drawImage(photo, 72, 72, 240, 180);
+                    }
+                    content.beginText();
+                    content.setFont(font, 8);
+                    content.setLeading(10);
+                    content.newLineAtOffset(36, 756);
+                    for (String line : pages.get(index).split("\n")) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render the synthetic pages as a born-digital ACORD form: page 1 also carries AcroForm
+     * fields filled with the same values its text shows. With {@code flattened}, the fields
+     * are burnt into the page content and removed, as a print-to-PDF of a filled form would.
+     */
+    public static byte[] fillablePdf(int pageCount, int seed, boolean flattened) {
+        try (PDDocument document = Loader.loadPDF(pdf(pageCount, seed, false));
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDResources resources = new PDResources();
+            resources.put(COSName.HELV, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+            PDAcroForm form = new PDAcroForm(document);
+            form.setDefaultResources(resources);
+            form.setDefaultAppearance("/Helv 8 Tf 0 g");
+            document.getDocumentCatalog().setAcroForm(form);
+
+            PDPage page = document.getPage(0);
+            List<PDAnnotation> widgets = new ArrayList<>();
+            float y = 460;
+            for (Map.Entry<String, String> entry : formFields(seed).entrySet()) {
+                PDTextField field = new PDTextField(form);
+                field.setPartialName(entry.getKey());
+                PDAnnotationWidget widget = field.getWidgets().get(0);
+                widget.setRectangle(new PDRectangle(320, y, 250, 10));
+                widget.setPage(page);
+                widgets.add(widget);
+                form.getFields().add(field);
+                field.setValue(entry.getValue());
+                y -= 12;
+            }
+            page.setAnnotations(widgets);
+            if (flattened) {
+                form.flatten();
+            }
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * ACORD 2 field names and the values {@link #pages} prints on the form page for the same seed
+     */
+    public static Map<String, String> formFields(int seed) {
+        int variant = Math.floorMod(seed, MAKES.length);
+        int estimate = 1_500 + Math.floorMod(seed * 7919, 40_000);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("Policy_PolicyNumberIdentifier_A", "AUTO-" + String.format("%08d", Math.floorMod(seed, 100_000_000)));
+        fields.put("NamedInsured_FullName_A", "John A Smith");
+        fields.put("Policy_EffectiveDate_A", "01/01/2024");
+        fields.put("Policy_ExpirationDate_A", "01/01/2025");
+        fields.put("Insurer_NAICCode_A", "12345");
+        fields.put("Loss_IncidentDate_A", "01/15/2024");
+        fields.put("Loss_IncidentTime_A", "2:30 PM");
+        fields.put("Loss_IncidentDescription_A", "Rear-ended at a traffic light while stopped. Other driver admitted fault.");
+        fields.put("LossLocation_PhysicalAddress_LineOne_A", "123 Main Street");
+        fields.put("LossLocation_PhysicalAddress_CityName_A", "Springfield");
+        fields.put("LossLocation_PhysicalAddress_StateOrProvinceCode_A", "IL");
+        fields.put("LossLocation_PhysicalAddress_PostalCode_A", "62701");
+        fields.put("LossLocation_PhysicalAddress_CountryCode_A", "United States");
+        fields.put("LossLocation_LocationDescription_A", "Parking lot of Springfield Mall");
+        fields.put("Contact_FullName_A", "Jane Smith");
+        fields.put("Contact_PrimaryPhoneNumber_A", "555-123-4567");
+        fields.put("Contact_PrimaryEmailAddress_A", "jane.smith@example.com");
+        fields.put("Vehicle_ModelYear_A", "2020");
+        fields.put("Vehicle_ManufacturersName_A", MAKES[variant]);
+        fields.put("Vehicle_ModelName_A", MODELS[variant]);
+        fields.put("Vehicle_BodyCode_A", "Sedan");
+        fields.put("Vehicle_Registration_LicensePlateIdentifier_A", "ABC" + Math.floorMod(seed, 10_000));
+        fields.put("Vehicle_Registration_StateOrProvinceCode_A", "IL");
+        fields.put("Vehicle_VINIdentifier_A", "1HGBH41JXMN" + String.format("%06d", Math.floorMod(seed, 1_000_000)));
+        fields.put("Vehicle_DamageDescription_A", "Rear bumper and trunk damage");
+        fields.put("Vehicle_EstimatedDamageAmount_A", "$" + String.format("%,d", estimate) + ".00");
+        fields.put("Loss_ReportNumberIdentifier_A", "PR-2024-5678");
+        fields.put("Loss_AuthorityContactedIndicator_A", "Y");
+        return fields;
+    }
+
+    private static PDImageXObject noiseImage(PDDocument document, Random random) throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return LosslessFactory.createFromImage(document, image);
+    }
+
+    private static String formPage(int seed) {
+        int variant = Math.floorMod(seed, MAKES.length);
+        int estimate = 1_500 + Math.floorMod(seed * 7919, 40_000);
+        return String.join("\n",
+            "AUTOMOBILE LOSS NOTICE",
+            "CARRIER NAIC CODE: 12345   POLICY NUMBER: AUTO-" + String.format("%08d", Math.floorMod(seed, 100_000_000)) + "   ",
+            "EFFECTIVE DATES: 01/01/2024 to 01/01/2025",
+            "NAME OF INSURED (First, Middle, Last)",
+            "INSURED'S MAILING ADDRESS",
+            "John A Smith   ",
+            "DATE OF LOSS AND TIME   01/15/2024   TIME: 2:30 PM",
+            "STREET: 123 Main Street   ",
+            "CITY, Springfield,  STATE: IL  ZIP: 62701",
+            "COUNTRY: United States   ",
+            "DESCRIBE LOCATION OF LOSS IF NOT AT SPECIFIC STREET ADDRESS",
+            "Parking lot of Springfield Mall",
+            "DESCRIPTION OF ACCIDENT (ACORD 101, Additional Remarks Schedule, may be attached)",
+            "Rear-ended at a traffic light while stopped. Other driver admitted fault.",
+            "NAME OF CONTACT   ",
+            "Jane Smith   ",
+            "PHONE (A/C, No, Ext) PRIMARY: 555-123-4567",
+            "PRIMARY E-MAIL ADDRESS: jane.smith@example.com",
+            "YEAR: 2020   MAKE: " + MAKES[variant] + "   MODEL: " + MODELS[variant] + "   BODY: Sedan   TYPE",
+            "V.I.N.: 1HGBH41JXMN" + String.format("%06d", Math.floorMod(seed, 1_000_000)),
+            "PLATE NUMBER: ABC" + Math.floorMod(seed, 10_000) + "   STATE: IL",
+            "DESCRIBE DAMAGE",
+            "Rear bumper and trunk damage",
+            "ESTIMATE AMOUNT: $" + String.format("%,d", estimate) + ".00",
+            "REPORT NUMBER: PR-2024-5678",
+            "POLICE OR FIRE DEPARTMENT CONTACTED: Y",
+            "");
+    }
+
+    private static String appendixPage(int page, Random random) {
+        StringBuilder text = new StringBuilder("SUPPLEMENTAL REPORT - PAGE ").append(page).append('\n');
+        for (int line = 0; line < 45; line++) {
+            for (int word = 0; word < 12; word++) {
+                if (word > 0) {
+                    text.append(' ');
+                }
+                text.append(NARRATIVE_WORDS[random.nextInt(NARRATIVE_WORDS.length)]);
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+}
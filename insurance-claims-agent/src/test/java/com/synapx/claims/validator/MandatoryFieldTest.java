@@ -0,0 +1,45 @@
+package com.synapx.claims.validator;
+
+import com.synapx.claims.model.ClaimData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MandatoryFieldTest {
+
+    @Test
+    void testFindMissing_SectionsAndBlankFields() {
+        ClaimData claimData = ClaimData.builder()
+                .policyInformation(ClaimData.PolicyInformation.builder().policyNumber("POL-1").policyholderName(" \t").build())
+                .incidentInformation(ClaimData.IncidentInformation.builder().date("01/15/2024").description("Rear-ended").build())
+                .otherMandatoryFields(ClaimData.OtherMandatoryFields.builder().claimType("AUTOMOBILE").initialEstimate("").build())
+                .build();
+
+        long missing = MandatoryField.findMissing(claimData);
+
+        assertEquals(List.of("Policyholder Name", "Incident Location", "Asset Details", "Initial Estimate"),
+                MandatoryField.names(missing));
+        assertEquals(56, MandatoryField.confidenceScore(missing));
+    }
+
+    @Test
+    void testFindMissing_CompleteClaim() {
+        ClaimData claimData = ClaimData.builder()
+                .policyInformation(ClaimData.PolicyInformation.builder().policyNumber("POL-1").policyholderName("Jane Doe").build())
+                .incidentInformation(ClaimData.IncidentInformation.builder()
+                        .date("01/15/2024")
+                        .location(ClaimData.IncidentInformation.Location.builder().state("IL").build())
+                        .description("Rear-ended")
+                        .build())
+                .assetDetails(ClaimData.AssetDetails.builder().assetType("Vehicle").estimatedDamage("$5,000").build())
+                .otherMandatoryFields(ClaimData.OtherMandatoryFields.builder().claimType("AUTOMOBILE").initialEstimate("$5,000").build())
+                .build();
+
+        assertEquals(0, MandatoryField.findMissing(claimData));
+        assertEquals(List.of(), MandatoryField.names(0));
+        assertEquals(100, MandatoryField.confidenceScore(0));
+        assertEquals(0, MandatoryField.confidenceScore(MandatoryField.findMissing(new ClaimData())));
+    }
+}